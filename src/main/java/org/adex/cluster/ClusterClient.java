@@ -0,0 +1,119 @@
+package org.adex.cluster;
+
+import org.adex.server.CacheEntry;
+import org.adex.server.MemcachedClient;
+
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+public class ClusterClient implements AutoCloseable {
+
+    public static final int DEFAULT_VIRTUAL_NODES = 160;
+
+    private final HashRing<InetSocketAddress> ring;
+    private final Map<InetSocketAddress, MemcachedClient> clients = new ConcurrentHashMap<>();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public ClusterClient(Collection<InetSocketAddress> nodes) {
+        this(nodes, DEFAULT_VIRTUAL_NODES);
+    }
+
+    public ClusterClient(Collection<InetSocketAddress> nodes, int virtualNodes) {
+        Objects.requireNonNull(nodes, "Nodes cannot be null");
+        this.ring = new HashRing<>(virtualNodes);
+        nodes.forEach(ring::add);
+    }
+
+    public void addNode(InetSocketAddress node) {
+        ring.add(node);
+    }
+
+    public void removeNode(InetSocketAddress node) {
+        if (ring.remove(node)) {
+            MemcachedClient client = clients.remove(node);
+            if (client != null) {
+                client.close();
+            }
+        }
+    }
+
+    public Set<InetSocketAddress> nodes() {
+        return ring.nodes();
+    }
+
+    public InetSocketAddress nodeFor(String key) {
+        return ring.nodeFor(key);
+    }
+
+    public CacheEntry get(String key) {
+        return call(ring.nodeFor(key), client -> client.get(key));
+    }
+
+    public Map<String, CacheEntry> getAll(Collection<String> keys) {
+        Objects.requireNonNull(keys, "Keys cannot be null");
+        Map<InetSocketAddress, List<String>> partitions = ring.partition(keys);
+        if (partitions.size() == 1) {
+            Map.Entry<InetSocketAddress, List<String>> only = partitions.entrySet().iterator().next();
+            return call(only.getKey(), client -> client.getAll(only.getValue()));
+        }
+
+        List<CompletableFuture<Map<String, CacheEntry>>> futures = new ArrayList<>(partitions.size());
+        partitions.forEach((node, nodeKeys) -> futures.add(
+                CompletableFuture.supplyAsync(() -> call(node, client -> client.getAll(nodeKeys)), executor)));
+
+        Map<String, CacheEntry> entries = new HashMap<>();
+        try {
+            for (CompletableFuture<Map<String, CacheEntry>> future : futures) {
+                entries.putAll(future.join());
+            }
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        return entries;
+    }
+
+    public void set(CacheEntry entry) {
+        Objects.requireNonNull(entry, "Entry cannot be null");
+        call(ring.nodeFor(entry.key()), client -> {
+            client.set(entry);
+            return null;
+        });
+    }
+
+    public boolean delete(String key) {
+        return call(ring.nodeFor(key), client -> client.delete(key));
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+        clients.values().forEach(MemcachedClient::close);
+        clients.clear();
+    }
+
+    private <R> R call(InetSocketAddress node, Function<MemcachedClient, R> request) {
+        MemcachedClient client = clients.computeIfAbsent(node, MemcachedClient::new);
+        try {
+            return request.apply(client);
+        } catch (UncheckedIOException e) {
+            if (clients.remove(node, client)) {
+                try {
+                    client.close();
+                } catch (UncheckedIOException suppressed) {
+                    e.addSuppressed(suppressed);
+                }
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package org.adex.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+public class HashRing<N> {
+
+    private final int virtualNodes;
+    private volatile NavigableMap<Long, N> ring = Collections.emptyNavigableMap();
+    private volatile Set<N> nodes = Set.of();
+
+    public HashRing(int virtualNodes) {
+        if (virtualNodes <= 0) {
+            throw new IllegalArgumentException("Virtual nodes must be positive");
+        }
+        this.virtualNodes = virtualNodes;
+    }
+
+    public synchronized boolean add(N node) {
+        Objects.requireNonNull(node, "Node cannot be null");
+        if (nodes.contains(node)) {
+            return false;
+        }
+        TreeMap<Long, N> updated = new TreeMap<>(ring);
+        for (int i = 0; i < virtualNodes; i++) {
+            updated.putIfAbsent(hash(node + "#" + i), node);
+        }
+        publish(updated);
+        return true;
+    }
+
+    public synchronized boolean remove(N node) {
+        Objects.requireNonNull(node, "Node cannot be null");
+        if (!nodes.contains(node)) {
+            return false;
+        }
+        TreeMap<Long, N> updated = new TreeMap<>(ring);
+        updated.values().removeIf(node::equals);
+        publish(updated);
+        return true;
+    }
+
+    public N nodeFor(String key) {
+        NavigableMap<Long, N> ring = this.ring;
+        if (ring.isEmpty()) {
+            throw new IllegalStateException("Hash ring has no nodes");
+        }
+        Map.Entry<Long, N> owner = ring.ceilingEntry(hash(key));
+        return owner != null ? owner.getValue() : ring.firstEntry().getValue();
+    }
+
+    public Map<N, List<String>> partition(Collection<String> keys) {
+        Map<N, List<String>> partitions = new HashMap<>();
+        for (String key : keys) {
+            partitions.computeIfAbsent(nodeFor(key), node -> new ArrayList<>()).add(key);
+        }
+        return partitions;
+    }
+
+    public Set<N> nodes() {
+        return nodes;
+    }
+
+    private void publish(TreeMap<Long, N> updated) {
+        Set<N> members = new LinkedHashSet<>(updated.values());
+        ring = Collections.unmodifiableNavigableMap(updated);
+        nodes = Collections.unmodifiableSet(members);
+    }
+
+    static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        return hash ^ (hash >>> 33);
+    }
+}
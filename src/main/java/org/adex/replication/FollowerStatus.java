@@ -0,0 +1,6 @@
+package org.adex.replication;
+
+import java.net.SocketAddress;
+
+public record FollowerStatus(SocketAddress address, long acknowledgedSequence, long lagRecords, long lagMillis) {
+}
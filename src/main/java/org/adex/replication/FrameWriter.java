@@ -0,0 +1,58 @@
+package org.adex.replication;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.List;
+
+final class FrameWriter {
+
+    static final int FRAME_HEADER = 8 + 4;
+    static final int MAX_RETAINED_BUFFER = 4 * 1024 * 1024;
+
+    private final WritableByteChannel channel;
+    private ByteBuffer buffer = ByteBuffer.allocateDirect(64 * 1024);
+
+    FrameWriter(WritableByteChannel channel) {
+        this.channel = channel;
+    }
+
+    void write(List<ReplicationRecord> records) throws IOException {
+        long total = FRAME_HEADER;
+        for (ReplicationRecord record : records) {
+            total += record.size();
+        }
+        if (4 + total > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Frame of " + total + " bytes exceeds the maximum frame size");
+        }
+        int length = (int) total;
+        ByteBuffer buffer = frameBuffer(4 + length);
+
+        buffer.clear()
+                .putInt(length)
+                .putLong(System.currentTimeMillis())
+                .putInt(records.size());
+        for (ReplicationRecord record : records) {
+            record.writeTo(buffer);
+        }
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    int retainedCapacity() {
+        return buffer.capacity();
+    }
+
+    private ByteBuffer frameBuffer(int size) {
+        if (size <= buffer.capacity()) {
+            return buffer;
+        }
+        if (size > MAX_RETAINED_BUFFER) {
+            return ByteBuffer.allocateDirect(size);
+        }
+        buffer = ByteBuffer.allocateDirect(Math.min(Integer.highestOneBit(size - 1) << 1, MAX_RETAINED_BUFFER));
+        return buffer;
+    }
+}
@@ -0,0 +1,158 @@
+package org.adex.replication;
+
+import org.adex.server.CacheEntry;
+import org.adex.service.Cache;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.Objects;
+import java.util.concurrent.locks.LockSupport;
+
+public class ReplicationFollower implements AutoCloseable {
+
+    private static final long RECONNECT_DELAY_MILLIS = 100;
+
+    private final Cache<CacheEntry> cache;
+    private final InetSocketAddress primary;
+
+    private Thread receiver;
+    private volatile SocketChannel channel;
+    private volatile boolean running;
+    private volatile long appliedSequence;
+    private volatile long primaryTimestamp;
+
+    public ReplicationFollower(Cache<CacheEntry> cache, InetSocketAddress primary) {
+        this.cache = Objects.requireNonNull(cache, "Cache cannot be null");
+        this.primary = Objects.requireNonNull(primary, "Primary address cannot be null");
+    }
+
+    public synchronized ReplicationFollower start() {
+        if (running) {
+            throw new IllegalStateException("Follower is already running");
+        }
+        running = true;
+        receiver = Thread.ofPlatform().name("snappy-cache-replication-follower").start(this::receiveLoop);
+        return this;
+    }
+
+    public long appliedSequence() {
+        return appliedSequence;
+    }
+
+    public long lagMillis() {
+        return primaryTimestamp == 0 ? -1 : Math.max(0, System.currentTimeMillis() - primaryTimestamp);
+    }
+
+    public boolean connected() {
+        SocketChannel channel = this.channel;
+        return channel != null && channel.isConnected();
+    }
+
+    public Cache<CacheEntry> promote() {
+        close();
+        return cache;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        closeChannel();
+        try {
+            receiver.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void receiveLoop() {
+        while (running) {
+            try (SocketChannel channel = SocketChannel.open(primary)) {
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                this.channel = channel;
+                if (running) {
+                    receive(channel);
+                }
+            } catch (IOException e) {
+                if (running) {
+                    LockSupport.parkNanos(RECONNECT_DELAY_MILLIS * 1_000_000);
+                }
+            } finally {
+                channel = null;
+            }
+        }
+    }
+
+    private void receive(SocketChannel channel) throws IOException {
+        ByteBuffer length = ByteBuffer.allocate(4);
+        ByteBuffer frame = ByteBuffer.allocate(64 * 1024);
+        ByteBuffer ack = ByteBuffer.allocate(16);
+        cache.purge();
+        while (running) {
+            readFully(channel, length.clear());
+            int size = length.getInt(0);
+            if (size < FrameWriter.FRAME_HEADER) {
+                throw new IOException("Bad frame length " + size);
+            }
+            ByteBuffer current = frame;
+            if (current.capacity() < size) {
+                current = ByteBuffer.allocate(size);
+                if (size <= FrameWriter.MAX_RETAINED_BUFFER) {
+                    frame = current;
+                }
+            }
+            readFully(channel, current.clear().limit(size));
+            current.flip();
+
+            long timestamp = current.getLong();
+            int count = current.getInt();
+            long sequence = appliedSequence;
+            for (int i = 0; i < count; i++) {
+                ReplicationRecord record = ReplicationRecord.readFrom(current);
+                apply(record);
+                sequence = Math.max(sequence, record.sequence());
+            }
+            appliedSequence = sequence;
+            primaryTimestamp = timestamp;
+
+            ack.clear().putLong(sequence).putLong(timestamp).flip();
+            while (ack.hasRemaining()) {
+                channel.write(ack);
+            }
+        }
+    }
+
+    private void apply(ReplicationRecord record) {
+        CacheEntry entry = record.entry();
+        if (record.operation() == ReplicationRecord.PUT) {
+            cache.put(entry);
+        } else {
+            cache.computeIfPresent(entry, (key, current) -> current.key().equals(entry.key()) ? null : current);
+        }
+    }
+
+    private static void readFully(SocketChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException("Primary closed the replication stream");
+            }
+        }
+    }
+
+    private void closeChannel() {
+        SocketChannel channel = this.channel;
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // already closed
+            }
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package org.adex.replication;
+
+import org.adex.server.CacheEntry;
+import org.adex.service.LRUCache;
+import org.adex.service.listener.MutationListener;
+import org.adex.service.listener.RemovalCause;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class ReplicationPrimary implements MutationListener<CacheEntry>, AutoCloseable {
+
+    static final int MAX_BATCH = 512;
+    static final int MAX_BATCH_BYTES = 1024 * 1024;
+    static final long HEARTBEAT_MILLIS = 200;
+    private static final int DEFAULT_BACKLOG = 64 * 1024;
+
+    private final LRUCache<CacheEntry> cache;
+    private final int backlog;
+    private final AtomicLong sequence = new AtomicLong();
+    private final List<Follower> followers = new CopyOnWriteArrayList<>();
+
+    private ServerSocketChannel server;
+    private Thread acceptor;
+    private volatile boolean running;
+    private boolean registered;
+
+    public ReplicationPrimary(LRUCache<CacheEntry> cache) {
+        this(cache, DEFAULT_BACKLOG);
+    }
+
+    public ReplicationPrimary(LRUCache<CacheEntry> cache, int backlog) {
+        if (backlog <= 0) {
+            throw new IllegalArgumentException("Backlog must be positive");
+        }
+        this.cache = Objects.requireNonNull(cache, "Cache cannot be null");
+        this.backlog = backlog;
+    }
+
+    public synchronized InetSocketAddress start(InetSocketAddress address) throws IOException {
+        Objects.requireNonNull(address, "Address cannot be null");
+        if (running) {
+            throw new IllegalStateException("Primary is already running");
+        }
+        server = ServerSocketChannel.open();
+        server.setOption(StandardSocketOptions.SO_REUSEADDR, true);
+        server.bind(address);
+        if (!registered) {
+            cache.withMutationListener(this);
+            registered = true;
+        }
+        running = true;
+        acceptor = Thread.ofPlatform().name("snappy-cache-replication-acceptor").start(this::acceptLoop);
+        return (InetSocketAddress) server.getLocalAddress();
+    }
+
+    public long lastSequence() {
+        return sequence.get();
+    }
+
+    public List<FollowerStatus> followers() {
+        long last = sequence.get();
+        long now = System.currentTimeMillis();
+        List<FollowerStatus> statuses = new ArrayList<>(followers.size());
+        for (Follower follower : followers) {
+            long acknowledged = follower.acknowledgedSequence;
+            long lagRecords = Math.max(0, last - acknowledged);
+            long lagMillis = lagRecords == 0 ? 0 : Math.max(0, now - follower.acknowledgedTimestamp);
+            statuses.add(new FollowerStatus(follower.address, acknowledged, lagRecords, lagMillis));
+        }
+        return statuses;
+    }
+
+    @Override
+    public void onPut(CacheEntry value) {
+        append(ReplicationRecord.PUT, value);
+    }
+
+    @Override
+    public void onRemoval(CacheEntry value, RemovalCause cause) {
+        append(cause.wasEvicted() ? ReplicationRecord.EVICT : ReplicationRecord.REMOVE, value);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            server.close();
+            acceptor.join();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        followers.forEach(Follower::disconnect);
+    }
+
+    private void append(byte operation, CacheEntry entry) {
+        ReplicationRecord record = new ReplicationRecord(operation, sequence.incrementAndGet(), entry);
+        for (Follower follower : followers) {
+            if (!follower.queue.offer(record)) {
+                follower.drop();
+            }
+        }
+    }
+
+    private void acceptLoop() {
+        while (running) {
+            try {
+                SocketChannel channel = server.accept();
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                Follower follower = new Follower(channel, backlog);
+                followers.add(follower);
+                Thread.ofVirtual().name("snappy-cache-replication-sender").start(() -> stream(follower));
+                Thread.ofVirtual().name("snappy-cache-replication-acks").start(() -> readAcks(follower));
+            } catch (IOException e) {
+                if (!running) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void stream(Follower follower) {
+        FrameWriter writer = new FrameWriter(follower.channel);
+        try {
+            long snapshotSequence = sequence.get();
+            Iterator<CacheEntry> snapshot = cache.stream().iterator();
+            List<ReplicationRecord> batch = new ArrayList<>(MAX_BATCH);
+            int bytes = 0;
+            while (snapshot.hasNext()) {
+                ReplicationRecord record = new ReplicationRecord(ReplicationRecord.PUT, snapshotSequence, snapshot.next());
+                if (!batch.isEmpty() && (batch.size() == MAX_BATCH || bytes + record.size() > MAX_BATCH_BYTES)) {
+                    writer.write(batch);
+                    batch.clear();
+                    bytes = 0;
+                }
+                batch.add(record);
+                bytes += record.size();
+            }
+            writer.write(batch);
+            batch.clear();
+
+            while (running && follower.connected) {
+                ReplicationRecord first = follower.queue.poll(HEARTBEAT_MILLIS, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    drainBatch(first, follower.queue, batch);
+                }
+                writer.write(batch);
+                batch.clear();
+            }
+        } catch (IOException e) {
+            // the follower reconnects and receives a fresh snapshot
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            follower.disconnect();
+        }
+    }
+
+    static void drainBatch(ReplicationRecord first, BlockingQueue<ReplicationRecord> queue,
+                           List<ReplicationRecord> batch) {
+        batch.add(first);
+        long bytes = first.size();
+        ReplicationRecord next;
+        while (batch.size() < MAX_BATCH && (next = queue.peek()) != null && bytes + next.size() <= MAX_BATCH_BYTES) {
+            batch.add(queue.poll());
+            bytes += next.size();
+        }
+    }
+
+    private void readAcks(Follower follower) {
+        ByteBuffer ack = ByteBuffer.allocate(16);
+        try {
+            while (follower.connected) {
+                ack.clear();
+                while (ack.hasRemaining()) {
+                    if (follower.channel.read(ack) < 0) {
+                        throw new EOFException();
+                    }
+                }
+                follower.acknowledgedSequence = ack.getLong(0);
+                follower.acknowledgedTimestamp = ack.getLong(8);
+            }
+        } catch (IOException e) {
+            // the follower is gone; closing the channel also stops the sender
+        } finally {
+            follower.disconnect();
+        }
+    }
+
+    private final class Follower {
+        private final SocketChannel channel;
+        private final SocketAddress address;
+        private final BlockingQueue<ReplicationRecord> queue;
+        private volatile boolean connected = true;
+        private volatile long acknowledgedSequence;
+        private volatile long acknowledgedTimestamp = System.currentTimeMillis();
+
+        private Follower(SocketChannel channel, int backlog) throws IOException {
+            this.channel = channel;
+            this.address = channel.getRemoteAddress();
+            this.queue = new ArrayBlockingQueue<>(backlog);
+        }
+
+        private void drop() {
+            connected = false;
+            followers.remove(this);
+        }
+
+        private void disconnect() {
+            drop();
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // already closed
+            }
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package org.adex.replication;
+
+import org.adex.server.CacheEntry;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+record ReplicationRecord(byte operation, long sequence, CacheEntry entry) {
+
+    static final byte PUT = 1;
+    static final byte REMOVE = 2;
+    static final byte EVICT = 3;
+
+    int size() {
+        return 1 + 8 + 2 + entry.key().length() + 4 + 4 + entry.data().length;
+    }
+
+    void writeTo(ByteBuffer buffer) {
+        byte[] key = entry.key().getBytes(StandardCharsets.ISO_8859_1);
+        buffer.put(operation)
+                .putLong(sequence)
+                .putShort((short) key.length)
+                .put(key)
+                .putInt(entry.flags())
+                .putInt(entry.data().length)
+                .put(entry.data());
+    }
+
+    static ReplicationRecord readFrom(ByteBuffer buffer) {
+        byte operation = buffer.get();
+        long sequence = buffer.getLong();
+        byte[] key = new byte[buffer.getShort() & 0xFFFF];
+        buffer.get(key);
+        int flags = buffer.getInt();
+        byte[] data = new byte[buffer.getInt()];
+        buffer.get(data);
+        return new ReplicationRecord(operation, sequence,
+                new CacheEntry(new String(key, StandardCharsets.ISO_8859_1), flags, data));
+    }
+}
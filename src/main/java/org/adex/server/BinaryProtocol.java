@@ -0,0 +1,148 @@
+package org.adex.server;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+final class BinaryProtocol implements Protocol {
+
+    static final byte REQUEST_MAGIC = (byte) 0x80;
+    static final byte RESPONSE_MAGIC = (byte) 0x81;
+    static final int HEADER_LENGTH = 24;
+
+    static final byte GET = 0x00;
+    static final byte SET = 0x01;
+    static final byte ADD = 0x02;
+    static final byte REPLACE = 0x03;
+    static final byte DELETE = 0x04;
+    static final byte QUIT = 0x07;
+    static final byte FLUSH = 0x08;
+    static final byte GETQ = 0x09;
+    static final byte NOOP = 0x0a;
+    static final byte VERSION = 0x0b;
+    static final byte GETK = 0x0c;
+    static final byte GETKQ = 0x0d;
+
+    static final short STATUS_OK = 0x0000;
+    static final short STATUS_KEY_NOT_FOUND = 0x0001;
+    static final short STATUS_KEY_EXISTS = 0x0002;
+    static final short STATUS_INVALID_ARGUMENTS = 0x0004;
+    static final short STATUS_UNKNOWN_COMMAND = 0x0081;
+
+    private static final byte[] VERSION_REPLY = "snappy-cache".getBytes(StandardCharsets.US_ASCII);
+
+    @Override
+    public boolean process(ByteBuffer input, Connection connection) throws ProtocolException {
+        while (input.remaining() >= HEADER_LENGTH) {
+            int start = input.position();
+            if (input.get(start) != REQUEST_MAGIC) {
+                throw new ProtocolException("Bad request magic " + input.get(start));
+            }
+
+            byte opcode = input.get(start + 1);
+            int keyLength = input.getShort(start + 2) & 0xFFFF;
+            int extrasLength = input.get(start + 4) & 0xFF;
+            int bodyLength = input.getInt(start + 8);
+            int opaque = input.getInt(start + 12);
+            if (bodyLength < 0 || bodyLength > Connection.MAX_VALUE_SIZE + keyLength + extrasLength
+                    || keyLength + extrasLength > bodyLength) {
+                throw new ProtocolException("Bad request body length " + bodyLength);
+            }
+            if (input.remaining() < HEADER_LENGTH + bodyLength) {
+                return true;
+            }
+
+            int keyStart = start + HEADER_LENGTH + extrasLength;
+            int valueStart = keyStart + keyLength;
+            int valueLength = bodyLength - extrasLength - keyLength;
+            input.position(start + HEADER_LENGTH + bodyLength);
+
+            switch (opcode) {
+                case GET, GETQ, GETK, GETKQ -> get(input, opcode, opaque, keyStart, keyLength, connection);
+                case SET, ADD, REPLACE -> store(input, opcode, opaque, start, extrasLength,
+                        keyStart, keyLength, valueStart, valueLength, connection);
+                case DELETE -> {
+                    boolean deleted = connection.commands().delete(key(input, keyStart, keyLength));
+                    connection.respond(header(opcode, deleted ? STATUS_OK : STATUS_KEY_NOT_FOUND, opaque, 0, 0, 0));
+                }
+                case FLUSH -> {
+                    connection.commands().flush();
+                    connection.respond(header(opcode, STATUS_OK, opaque, 0, 0, 0));
+                }
+                case NOOP -> connection.respond(header(opcode, STATUS_OK, opaque, 0, 0, 0));
+                case VERSION -> connection.respond(header(opcode, STATUS_OK, opaque, 0, 0, VERSION_REPLY.length),
+                        ByteBuffer.wrap(VERSION_REPLY).asReadOnlyBuffer(), null);
+                case QUIT -> {
+                    connection.respond(header(opcode, STATUS_OK, opaque, 0, 0, 0));
+                    return false;
+                }
+                default -> connection.respond(header(opcode, STATUS_UNKNOWN_COMMAND, opaque, 0, 0, 0));
+            }
+        }
+        return true;
+    }
+
+    private void get(ByteBuffer input, byte opcode, int opaque, int keyStart, int keyLength, Connection connection) {
+        boolean quiet = opcode == GETQ || opcode == GETKQ;
+        boolean withKey = opcode == GETK || opcode == GETKQ;
+
+        CacheEntry entry = connection.commands().get(key(input, keyStart, keyLength));
+        if (entry == null) {
+            if (!quiet) {
+                connection.respond(header(opcode, STATUS_KEY_NOT_FOUND, opaque, 0, 0, 0));
+            }
+            return;
+        }
+
+        int responseKeyLength = withKey ? keyLength : 0;
+        ByteBuffer header = header(opcode, STATUS_OK, opaque, 4, responseKeyLength, 4 + responseKeyLength + entry.data().length);
+        ByteBuffer extras = ByteBuffer.allocate(4 + responseKeyLength).putInt(entry.flags());
+        if (withKey) {
+            extras.put(input.slice(keyStart, keyLength));
+        }
+        connection.respond(header, extras.flip(), ByteBuffer.wrap(entry.data()));
+    }
+
+    private void store(ByteBuffer input, byte opcode, int opaque, int start, int extrasLength,
+                       int keyStart, int keyLength, int valueStart, int valueLength, Connection connection) {
+        if (extrasLength != 8 || keyLength == 0) {
+            connection.respond(header(opcode, STATUS_INVALID_ARGUMENTS, opaque, 0, 0, 0));
+            return;
+        }
+
+        int flags = input.getInt(start + HEADER_LENGTH);
+        byte[] data = new byte[valueLength];
+        input.get(valueStart, data);
+        CacheEntry entry = new CacheEntry(key(input, keyStart, keyLength), flags, data);
+
+        short status;
+        if (opcode == SET) {
+            connection.commands().set(entry);
+            status = STATUS_OK;
+        } else if (opcode == ADD) {
+            status = connection.commands().add(entry) ? STATUS_OK : STATUS_KEY_EXISTS;
+        } else {
+            status = connection.commands().replace(entry) ? STATUS_OK : STATUS_KEY_NOT_FOUND;
+        }
+        connection.respond(header(opcode, status, opaque, 0, 0, 0));
+    }
+
+    private static ByteBuffer header(byte opcode, short status, int opaque, int extrasLength, int keyLength, int bodyLength) {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH)
+                .put(RESPONSE_MAGIC)
+                .put(opcode)
+                .putShort((short) keyLength)
+                .put((byte) extrasLength)
+                .put((byte) 0)
+                .putShort(status)
+                .putInt(bodyLength)
+                .putInt(opaque)
+                .putLong(0);
+        return header.flip();
+    }
+
+    private static String key(ByteBuffer input, int keyStart, int keyLength) {
+        byte[] key = new byte[keyLength];
+        input.get(keyStart, key);
+        return new String(key, StandardCharsets.ISO_8859_1);
+    }
+}
@@ -0,0 +1,48 @@
+package org.adex.server;
+
+import org.adex.service.Cache;
+
+import java.util.Objects;
+
+final class CacheCommands {
+
+    private final Cache<CacheEntry> cache;
+
+    CacheCommands(Cache<CacheEntry> cache) {
+        this.cache = Objects.requireNonNull(cache, "Cache cannot be null");
+    }
+
+    CacheEntry get(String key) {
+        CacheEntry entry = cache.get(CacheEntry.probe(key));
+        return entry != null && entry.key().equals(key) ? entry : null;
+    }
+
+    void set(CacheEntry entry) {
+        cache.put(entry);
+    }
+
+    boolean add(CacheEntry entry) {
+        CacheEntry stored = cache.compute(entry, (key, current) ->
+                current != null && current.key().equals(entry.key()) ? current : entry);
+        return stored == entry;
+    }
+
+    boolean replace(CacheEntry entry) {
+        CacheEntry stored = cache.computeIfPresent(entry, (key, current) ->
+                current.key().equals(entry.key()) ? entry : current);
+        return stored == entry;
+    }
+
+    boolean delete(String key) {
+        boolean[] deleted = new boolean[1];
+        cache.computeIfPresent(CacheEntry.probe(key), (probe, current) -> {
+            deleted[0] = current.key().equals(key);
+            return deleted[0] ? null : current;
+        });
+        return deleted[0];
+    }
+
+    void flush() {
+        cache.purge();
+    }
+}
@@ -0,0 +1,32 @@
+package org.adex.server;
+
+import java.util.Objects;
+
+public record CacheEntry(String key, int flags, byte[] data) {
+
+    private static final byte[] EMPTY = new byte[0];
+
+    public CacheEntry {
+        Objects.requireNonNull(key, "Key cannot be null");
+        Objects.requireNonNull(data, "Data cannot be null");
+    }
+
+    public static CacheEntry probe(String key) {
+        return new CacheEntry(key, 0, EMPTY);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || o instanceof CacheEntry other && key.equals(other.key);
+    }
+
+    @Override
+    public int hashCode() {
+        return key.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "CacheEntry[key=" + key + ", flags=" + flags + ", length=" + data.length + "]";
+    }
+}
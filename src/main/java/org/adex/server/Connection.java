@@ -0,0 +1,110 @@
+package org.adex.server;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+
+final class Connection {
+
+    static final int MAX_VALUE_SIZE = 1024 * 1024;
+    private static final int MAX_REQUEST_SIZE = MAX_VALUE_SIZE + 64 * 1024;
+    private static final int MAX_GATHER = 64;
+
+    private final CacheCommands commands;
+    private final BufferPool pool;
+    private final ArrayDeque<ByteBuffer> output = new ArrayDeque<>();
+    private final ByteBuffer[] gather = new ByteBuffer[MAX_GATHER];
+    private ByteBuffer input;
+    private Protocol protocol;
+    private boolean closing;
+
+    Connection(CacheCommands commands, BufferPool pool) {
+        this.commands = commands;
+        this.pool = pool;
+        this.input = pool.acquire();
+    }
+
+    CacheCommands commands() {
+        return commands;
+    }
+
+    int read(ReadableByteChannel channel) throws IOException {
+        return channel.read(input);
+    }
+
+    void process() throws ProtocolException {
+        input.flip();
+        if (protocol == null && input.hasRemaining()) {
+            protocol = input.get(input.position()) == BinaryProtocol.REQUEST_MAGIC
+                    ? new BinaryProtocol()
+                    : new TextProtocol();
+        }
+        if (protocol != null && !protocol.process(input, this)) {
+            closing = true;
+        }
+
+        boolean stalled = input.position() == 0 && input.limit() == input.capacity();
+        input.compact();
+        if (stalled) {
+            grow();
+        } else if (input.position() == 0 && input.capacity() != pool.bufferSize()) {
+            input = pool.acquire();
+        }
+    }
+
+    void respond(ByteBuffer buffer) {
+        output.add(buffer);
+    }
+
+    void respond(ByteBuffer header, ByteBuffer body, ByteBuffer trailer) {
+        output.add(header);
+        output.add(body);
+        if (trailer != null) {
+            output.add(trailer);
+        }
+    }
+
+    boolean flush(GatheringByteChannel channel) throws IOException {
+        while (!output.isEmpty()) {
+            int count = 0;
+            Iterator<ByteBuffer> pending = output.iterator();
+            while (count < MAX_GATHER && pending.hasNext()) {
+                gather[count++] = pending.next();
+            }
+
+            long written = channel.write(gather, 0, count);
+            while (!output.isEmpty() && !output.peek().hasRemaining()) {
+                output.poll();
+            }
+            if (written == 0 && !output.isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    boolean closing() {
+        return closing;
+    }
+
+    void release() {
+        output.clear();
+        pool.release(input);
+        input = null;
+    }
+
+    private void grow() throws ProtocolException {
+        int capacity = input.capacity() * 2;
+        if (input.capacity() >= MAX_REQUEST_SIZE) {
+            throw new ProtocolException("Request exceeds " + MAX_REQUEST_SIZE + " bytes");
+        }
+        ByteBuffer larger = ByteBuffer.allocateDirect(Math.min(capacity, MAX_REQUEST_SIZE));
+        input.flip();
+        larger.put(input);
+        pool.release(input);
+        input = larger;
+    }
+}
@@ -0,0 +1,196 @@
+package org.adex.server;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class MemcachedClient implements AutoCloseable {
+
+    private static final int MULTI_GET_BATCH = 256;
+
+    private final InetSocketAddress address;
+    private final SocketChannel channel;
+    private final ByteBuffer header = ByteBuffer.allocate(BinaryProtocol.HEADER_LENGTH);
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public MemcachedClient(InetSocketAddress address) {
+        this.address = Objects.requireNonNull(address, "Address cannot be null");
+        try {
+            this.channel = SocketChannel.open(address);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot connect to " + address, e);
+        }
+    }
+
+    public InetSocketAddress address() {
+        return address;
+    }
+
+    public CacheEntry get(String key) {
+        Objects.requireNonNull(key, "Key cannot be null");
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            send(request(BinaryProtocol.GET, 0, key, null, null));
+            Response response = receive();
+            return response.status() == BinaryProtocol.STATUS_OK ? entry(key, response.body(), 0) : null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Map<String, CacheEntry> getAll(Collection<String> keys) {
+        Objects.requireNonNull(keys, "Keys cannot be null");
+        Map<String, CacheEntry> entries = new HashMap<>();
+        List<String> batch = new ArrayList<>(MULTI_GET_BATCH);
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            for (String key : keys) {
+                batch.add(key);
+                if (batch.size() == MULTI_GET_BATCH) {
+                    getBatch(batch, entries);
+                }
+            }
+            getBatch(batch, entries);
+            return entries;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void set(CacheEntry entry) {
+        Objects.requireNonNull(entry, "Entry cannot be null");
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            ByteBuffer extras = ByteBuffer.allocate(8).putInt(entry.flags()).putInt(0).flip();
+            send(request(BinaryProtocol.SET, 0, entry.key(), extras, entry.data()));
+            Response response = receive();
+            if (response.status() != BinaryProtocol.STATUS_OK) {
+                throw new IllegalStateException("Set failed with status " + response.status());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean delete(String key) {
+        Objects.requireNonNull(key, "Key cannot be null");
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            send(request(BinaryProtocol.DELETE, 0, key, null, null));
+            return receive().status() == BinaryProtocol.STATUS_OK;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void getBatch(List<String> keys, Map<String, CacheEntry> entries) throws IOException {
+        if (keys.isEmpty()) {
+            return;
+        }
+        ByteBuffer[] requests = new ByteBuffer[keys.size() + 1];
+        for (int i = 0; i < keys.size(); i++) {
+            requests[i] = request(BinaryProtocol.GETKQ, i, keys.get(i), null, null);
+        }
+        requests[keys.size()] = request(BinaryProtocol.NOOP, keys.size(), "", null, null);
+        send(requests);
+        keys.clear();
+
+        Response response;
+        while ((response = receive()).opcode() != BinaryProtocol.NOOP) {
+            if (response.status() == BinaryProtocol.STATUS_OK) {
+                int keyLength = response.keyLength();
+                String key = new String(response.body(), 4, keyLength, StandardCharsets.ISO_8859_1);
+                entries.put(key, entry(key, response.body(), keyLength));
+            }
+        }
+    }
+
+    private static ByteBuffer request(byte opcode, int opaque, String key, ByteBuffer extras, byte[] value) {
+        byte[] keyBytes = key.getBytes(StandardCharsets.ISO_8859_1);
+        int extrasLength = extras == null ? 0 : extras.remaining();
+        int valueLength = value == null ? 0 : value.length;
+        ByteBuffer request = ByteBuffer.allocate(BinaryProtocol.HEADER_LENGTH + extrasLength + keyBytes.length + valueLength)
+                .put(BinaryProtocol.REQUEST_MAGIC)
+                .put(opcode)
+                .putShort((short) keyBytes.length)
+                .put((byte) extrasLength)
+                .put((byte) 0)
+                .putShort((short) 0)
+                .putInt(extrasLength + keyBytes.length + valueLength)
+                .putInt(opaque)
+                .putLong(0);
+        if (extras != null) {
+            request.put(extras);
+        }
+        request.put(keyBytes);
+        if (value != null) {
+            request.put(value);
+        }
+        return request.flip();
+    }
+
+    private static CacheEntry entry(String key, byte[] body, int keyLength) {
+        int flags = ByteBuffer.wrap(body, 0, 4).getInt();
+        return new CacheEntry(key, flags, Arrays.copyOfRange(body, 4 + keyLength, body.length));
+    }
+
+    private void send(ByteBuffer... requests) throws IOException {
+        long remaining = 0;
+        for (ByteBuffer request : requests) {
+            remaining += request.remaining();
+        }
+        while (remaining > 0) {
+            remaining -= channel.write(requests);
+        }
+    }
+
+    private Response receive() throws IOException {
+        readFully(header.clear());
+        if (header.get(0) != BinaryProtocol.RESPONSE_MAGIC) {
+            throw new IOException("Bad response magic " + header.get(0));
+        }
+        ByteBuffer body = ByteBuffer.allocate(header.getInt(8));
+        readFully(body);
+        return new Response(header.get(1), header.getShort(6), header.getShort(2) & 0xFFFF, body.array());
+    }
+
+    private void readFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException("Connection to " + address + " closed");
+            }
+        }
+    }
+
+    private record Response(byte opcode, short status, int keyLength, byte[] body) {
+    }
+}
@@ -0,0 +1,254 @@
+package org.adex.server;
+
+import org.adex.service.Cache;
+import org.adex.service.LRUCache;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.channels.*;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class MemcachedServer implements AutoCloseable {
+
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_POOLED_BUFFERS = 1024;
+
+    private final CacheCommands commands;
+    private final Set<SocketChannel> connections = ConcurrentHashMap.newKeySet();
+
+    private boolean virtualThreads;
+    private int bufferSize = DEFAULT_BUFFER_SIZE;
+
+    private BufferPool pool;
+    private ServerSocketChannel server;
+    private Selector selector;
+    private Thread acceptor;
+    private volatile boolean running;
+
+    public MemcachedServer(Cache<CacheEntry> cache) {
+        this.commands = new CacheCommands(cache);
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            String[] pair = arg.replaceFirst("^--", "").split("=", 2);
+            options.put(pair[0], pair.length > 1 ? pair[1] : "");
+        }
+        if (options.containsKey("help")) {
+            System.err.println("Usage: MemcachedServer [--port=11211] [--capacity=100000]"
+                    + " [--buffer-size=65536] [--virtual-threads]");
+            System.exit(2);
+        }
+
+        MemcachedServer server = new MemcachedServer(
+                new LRUCache<>(Integer.parseInt(options.getOrDefault("capacity", "100000")), 0));
+        server.withBufferSize(Integer.parseInt(options.getOrDefault("buffer-size", String.valueOf(DEFAULT_BUFFER_SIZE))));
+        if (options.containsKey("virtual-threads")) {
+            server.withVirtualThreads();
+        }
+
+        InetSocketAddress address = server.start(
+                new InetSocketAddress(Integer.parseInt(options.getOrDefault("port", "11211"))));
+        System.out.println("Listening on " + address);
+        Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+        server.acceptor.join();
+    }
+
+    public MemcachedServer withVirtualThreads() {
+        this.virtualThreads = true;
+        return this;
+    }
+
+    public MemcachedServer withBufferSize(int bufferSize) {
+        if (bufferSize < 1024) {
+            throw new IllegalArgumentException("Buffer size must be at least 1024 bytes");
+        }
+        this.bufferSize = bufferSize;
+        return this;
+    }
+
+    public synchronized InetSocketAddress start(InetSocketAddress address) throws IOException {
+        Objects.requireNonNull(address, "Address cannot be null");
+        if (running) {
+            throw new IllegalStateException("Server is already running");
+        }
+
+        pool = new BufferPool(bufferSize, MAX_POOLED_BUFFERS);
+        server = ServerSocketChannel.open();
+        server.setOption(StandardSocketOptions.SO_REUSEADDR, true);
+        server.bind(address);
+        running = true;
+
+        if (virtualThreads) {
+            acceptor = Thread.ofPlatform().name("snappy-cache-acceptor").start(this::acceptLoop);
+        } else {
+            selector = Selector.open();
+            server.configureBlocking(false);
+            server.register(selector, SelectionKey.OP_ACCEPT);
+            acceptor = Thread.ofPlatform().name("snappy-cache-selector").start(this::selectLoop);
+        }
+        return address();
+    }
+
+    public InetSocketAddress address() {
+        try {
+            return (InetSocketAddress) server.getLocalAddress();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            server.close();
+            if (selector != null) {
+                selector.wakeup();
+            }
+            acceptor.join();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        connections.forEach(MemcachedServer::closeQuietly);
+    }
+
+    private void selectLoop() {
+        try {
+            while (running) {
+                selector.select();
+                Iterator<SelectionKey> selected = selector.selectedKeys().iterator();
+                while (selected.hasNext()) {
+                    SelectionKey key = selected.next();
+                    selected.remove();
+                    try {
+                        if (key.isAcceptable()) {
+                            accept();
+                        } else {
+                            if (key.isReadable()) {
+                                read(key);
+                            }
+                            if (key.isValid() && key.isWritable()) {
+                                write(key);
+                            }
+                        }
+                    } catch (IOException | CancelledKeyException e) {
+                        disconnect(key);
+                    }
+                }
+            }
+        } catch (IOException | ClosedSelectorException e) {
+            running = false;
+        } finally {
+            for (SelectionKey key : selector.keys()) {
+                if (key.attachment() != null) {
+                    disconnect(key);
+                }
+            }
+            closeQuietly(selector);
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel;
+        while ((channel = server.accept()) != null) {
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            channel.register(selector, SelectionKey.OP_READ, new Connection(commands, pool));
+        }
+    }
+
+    private void read(SelectionKey key) throws IOException {
+        Connection connection = (Connection) key.attachment();
+        SocketChannel channel = (SocketChannel) key.channel();
+        if (connection.read(channel) < 0) {
+            disconnect(key);
+            return;
+        }
+        connection.process();
+        write(key);
+    }
+
+    private void write(SelectionKey key) throws IOException {
+        Connection connection = (Connection) key.attachment();
+        if (!connection.flush((SocketChannel) key.channel())) {
+            key.interestOps(SelectionKey.OP_WRITE);
+        } else if (connection.closing()) {
+            disconnect(key);
+        } else {
+            key.interestOps(SelectionKey.OP_READ);
+        }
+    }
+
+    private void disconnect(SelectionKey key) {
+        key.cancel();
+        closeQuietly(key.channel());
+        if (key.attachment() instanceof Connection connection) {
+            key.attach(null);
+            connection.release();
+        }
+    }
+
+    private void acceptLoop() {
+        while (running) {
+            try {
+                SocketChannel channel = server.accept();
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                connections.add(channel);
+                Thread.ofVirtual().name("snappy-cache-connection").start(() -> serve(channel));
+            } catch (IOException e) {
+                if (running) {
+                    continue;
+                }
+                return;
+            }
+        }
+    }
+
+    private void serve(SocketChannel channel) {
+        Connection connection = new Connection(commands, pool);
+        try (channel) {
+            while (running && connection.read(channel) >= 0) {
+                connection.process();
+                connection.flush(channel);
+                if (connection.closing()) {
+                    return;
+                }
+            }
+        } catch (IOException e) {
+            // the peer is gone or sent a malformed request; either way the connection is closed
+        } finally {
+            connections.remove(channel);
+            connection.release();
+        }
+    }
+
+    private static void closeQuietly(Channel channel) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // already closing
+        }
+    }
+
+    private static void closeQuietly(Selector selector) {
+        try {
+            selector.close();
+        } catch (IOException e) {
+            // already closing
+        }
+    }
+}
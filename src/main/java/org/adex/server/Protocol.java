@@ -0,0 +1,8 @@
+package org.adex.server;
+
+import java.nio.ByteBuffer;
+
+interface Protocol {
+
+    boolean process(ByteBuffer input, Connection connection) throws ProtocolException;
+}
@@ -0,0 +1,12 @@
+package org.adex.server;
+
+import java.io.IOException;
+
+final class ProtocolException extends IOException {
+
+    private static final long serialVersionUID = 1L;
+
+    ProtocolException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,236 @@
+package org.adex.server;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+final class TextProtocol implements Protocol {
+
+    private static final int MAX_KEY_LENGTH = 250;
+    private static final int MAX_LINE_LENGTH = 8 * 1024;
+    private static final int MAX_TOKENS = 256;
+
+    private static final byte[] GET = ascii("get");
+    private static final byte[] SET = ascii("set");
+    private static final byte[] ADD = ascii("add");
+    private static final byte[] REPLACE = ascii("replace");
+    private static final byte[] DELETE = ascii("delete");
+    private static final byte[] FLUSH_ALL = ascii("flush_all");
+    private static final byte[] VERSION = ascii("version");
+    private static final byte[] QUIT = ascii("quit");
+    private static final byte[] NOREPLY = ascii("noreply");
+
+    private static final byte[] STORED = ascii("STORED\r\n");
+    private static final byte[] NOT_STORED = ascii("NOT_STORED\r\n");
+    private static final byte[] DELETED = ascii("DELETED\r\n");
+    private static final byte[] NOT_FOUND = ascii("NOT_FOUND\r\n");
+    private static final byte[] OK = ascii("OK\r\n");
+    private static final byte[] END = ascii("END\r\n");
+    private static final byte[] CRLF = ascii("\r\n");
+    private static final byte[] ERROR = ascii("ERROR\r\n");
+    private static final byte[] VERSION_REPLY = ascii("VERSION snappy-cache\r\n");
+    private static final byte[] BAD_FORMAT = ascii("CLIENT_ERROR bad command line format\r\n");
+    private static final byte[] BAD_CHUNK = ascii("CLIENT_ERROR bad data chunk\r\n");
+
+    private final int[] starts = new int[MAX_TOKENS];
+    private final int[] ends = new int[MAX_TOKENS];
+
+    @Override
+    public boolean process(ByteBuffer input, Connection connection) throws ProtocolException {
+        while (input.hasRemaining()) {
+            int start = input.position();
+            int eol = lineEnd(input, start);
+            if (eol < 0) {
+                if (input.remaining() > MAX_LINE_LENGTH) {
+                    throw new ProtocolException("Command line too long");
+                }
+                return true;
+            }
+
+            int tokens = tokenize(input, start, eol);
+            int next = eol + 2;
+            if (tokens == 0) {
+                connection.respond(reply(ERROR));
+            } else if (matches(input, 0, GET)) {
+                get(input, tokens, eol, connection);
+            } else if (matches(input, 0, SET) || matches(input, 0, ADD) || matches(input, 0, REPLACE)) {
+                next = store(input, tokens, next, connection);
+                if (next < 0) {
+                    input.position(start);
+                    return true;
+                }
+            } else if (matches(input, 0, DELETE)) {
+                delete(input, tokens, connection);
+            } else if (matches(input, 0, FLUSH_ALL)) {
+                connection.commands().flush();
+                if (!noreply(input, tokens)) {
+                    connection.respond(reply(OK));
+                }
+            } else if (matches(input, 0, VERSION)) {
+                connection.respond(reply(VERSION_REPLY));
+            } else if (matches(input, 0, QUIT)) {
+                input.position(next);
+                return false;
+            } else {
+                connection.respond(reply(ERROR));
+            }
+            input.position(next);
+        }
+        return true;
+    }
+
+    private void get(ByteBuffer input, int tokens, int eol, Connection connection) {
+        if (tokens < 2) {
+            connection.respond(reply(ERROR));
+            return;
+        }
+        int first = 1;
+        while (true) {
+            for (int i = first; i < tokens; i++) {
+                if (ends[i] - starts[i] > MAX_KEY_LENGTH) {
+                    connection.respond(reply(BAD_FORMAT));
+                    return;
+                }
+                CacheEntry entry = connection.commands().get(string(input, i));
+                if (entry != null) {
+                    byte[] header = ("VALUE " + entry.key() + " " + Integer.toUnsignedString(entry.flags())
+                            + " " + entry.data().length + "\r\n").getBytes(StandardCharsets.ISO_8859_1);
+                    connection.respond(ByteBuffer.wrap(header), ByteBuffer.wrap(entry.data()), reply(CRLF));
+                }
+            }
+            if (tokens < MAX_TOKENS) {
+                break;
+            }
+            tokens = tokenize(input, ends[tokens - 1], eol);
+            first = 0;
+        }
+        connection.respond(reply(END));
+    }
+
+    private int store(ByteBuffer input, int tokens, int dataStart, Connection connection) throws ProtocolException {
+        long length = tokens < 5 ? -1 : number(input, 4);
+        if (length < 0) {
+            throw new ProtocolException("Storage command without a data length");
+        }
+        if (length > Connection.MAX_VALUE_SIZE) {
+            throw new ProtocolException("Value of " + length + " bytes exceeds the item size limit");
+        }
+
+        int end = dataStart + (int) length;
+        if (end + 2 > input.limit()) {
+            return -1;
+        }
+
+        long flags = number(input, 2);
+        if (tokens > 6 || ends[1] - starts[1] > MAX_KEY_LENGTH
+                || flags < 0 || flags > 0xFFFFFFFFL || number(input, 3) < 0) {
+            connection.respond(reply(BAD_FORMAT));
+            return end + 2;
+        }
+        if (input.get(end) != '\r' || input.get(end + 1) != '\n') {
+            connection.respond(reply(BAD_CHUNK));
+            return end + 2;
+        }
+
+        byte[] data = new byte[(int) length];
+        input.get(dataStart, data);
+        CacheEntry entry = new CacheEntry(string(input, 1), (int) flags, data);
+
+        boolean stored;
+        if (matches(input, 0, SET)) {
+            connection.commands().set(entry);
+            stored = true;
+        } else if (matches(input, 0, ADD)) {
+            stored = connection.commands().add(entry);
+        } else {
+            stored = connection.commands().replace(entry);
+        }
+        if (!noreply(input, tokens)) {
+            connection.respond(reply(stored ? STORED : NOT_STORED));
+        }
+        return end + 2;
+    }
+
+    private void delete(ByteBuffer input, int tokens, Connection connection) {
+        if (tokens < 2 || tokens > 3) {
+            connection.respond(reply(BAD_FORMAT));
+            return;
+        }
+        boolean deleted = connection.commands().delete(string(input, 1));
+        if (!noreply(input, tokens)) {
+            connection.respond(reply(deleted ? DELETED : NOT_FOUND));
+        }
+    }
+
+    private boolean noreply(ByteBuffer input, int tokens) {
+        return matches(input, tokens - 1, NOREPLY);
+    }
+
+    private int tokenize(ByteBuffer input, int from, int to) {
+        int count = 0;
+        int i = from;
+        while (i < to && count < MAX_TOKENS) {
+            while (i < to && input.get(i) == ' ') {
+                i++;
+            }
+            if (i == to) {
+                break;
+            }
+            starts[count] = i;
+            while (i < to && input.get(i) != ' ') {
+                i++;
+            }
+            ends[count++] = i;
+        }
+        return count;
+    }
+
+    private boolean matches(ByteBuffer input, int token, byte[] expected) {
+        if (ends[token] - starts[token] != expected.length) {
+            return false;
+        }
+        for (int i = 0; i < expected.length; i++) {
+            if (input.get(starts[token] + i) != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long number(ByteBuffer input, int token) {
+        if (ends[token] - starts[token] > 19) {
+            return -1;
+        }
+        long value = 0;
+        for (int i = starts[token]; i < ends[token]; i++) {
+            byte digit = input.get(i);
+            if (digit < '0' || digit > '9') {
+                return -1;
+            }
+            value = value * 10 + (digit - '0');
+        }
+        return value;
+    }
+
+    private String string(ByteBuffer input, int token) {
+        byte[] bytes = new byte[ends[token] - starts[token]];
+        input.get(starts[token], bytes);
+        return new String(bytes, StandardCharsets.ISO_8859_1);
+    }
+
+    private static int lineEnd(ByteBuffer input, int from) {
+        for (int i = from; i < input.limit() - 1; i++) {
+            if (input.get(i) == '\r' && input.get(i + 1) == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static ByteBuffer reply(byte[] bytes) {
+        return ByteBuffer.wrap(bytes).asReadOnlyBuffer();
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,385 @@
+package org.adex.service;
+
+import org.adex.service.codec.ValueCodec;
+import org.adex.service.codec.ValueCompressor;
+import org.adex.service.memory.SlabAllocator;
+import org.adex.service.stats.CompressionStats;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+public class ByteCache<K> implements AutoCloseable {
+
+    static final int LENGTH_PREFIX = 4;
+
+    private final SlabAllocator allocator;
+    private final Map<K, Region<K>> regions = new HashMap<>();
+    private final List<ArrayDeque<Region<K>>> clocks;
+    private final Set<Region<K>> retired = new HashSet<>();
+    private final int[] stale;
+    private final long[] pressure;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private long usedBytes;
+    private ValueCompressor compressor;
+
+    public ByteCache(long maxBytes) {
+        this(maxBytes, SlabAllocator.DEFAULT_SLAB_SIZE);
+    }
+
+    public ByteCache(long maxBytes, int slabSize) {
+        this.allocator = new SlabAllocator(maxBytes, slabSize);
+        this.clocks = new ArrayList<>(allocator.classes());
+        this.stale = new int[allocator.classes()];
+        this.pressure = new long[allocator.classes()];
+        for (int i = 0; i < allocator.classes(); i++) {
+            clocks.add(new ArrayDeque<>());
+        }
+    }
+
+    public ByteCache<K> withCompression(ValueCodec codec, int threshold) {
+        this.compressor = new ValueCompressor(codec, threshold);
+        return this;
+    }
+
+    public CompressionStats compressionStats() {
+        final ValueCompressor compressor = this.compressor;
+        return compressor == null ? null : compressor.stats();
+    }
+
+    public boolean put(K key, ByteBuffer value) {
+        Objects.requireNonNull(key, "Key cannot be null");
+        Objects.requireNonNull(value, "Value cannot be null");
+
+        final ValueCompressor compressor = this.compressor;
+        int rawLength = value.remaining();
+        ByteBuffer compressed = compressor == null ? null : compressor.compress(value);
+        ByteBuffer payload = compressed == null ? value.duplicate() : compressed;
+        int length = payload.remaining();
+        int sizeClass = allocator.sizeClass(LENGTH_PREFIX + length);
+
+        ReentrantReadWriteLock.WriteLock lock = this.lock.writeLock();
+        lock.lock();
+        try {
+            long handle = sizeClass < 0 ? -1 : allocate(sizeClass);
+            if (handle < 0) {
+                Region<K> previous = regions.remove(key);
+                if (previous != null) {
+                    release(previous);
+                }
+                return false;
+            }
+            allocator.region(handle).putInt(length).put(payload);
+
+            Region<K> region = new Region<>(key, handle, sizeClass, length, compressed == null ? -1 : rawLength);
+            Region<K> previous = regions.put(key, region);
+            if (previous != null) {
+                release(previous);
+            }
+            clocks.get(sizeClass).addLast(region);
+            usedBytes += LENGTH_PREFIX + length;
+            return true;
+        } finally {
+            lock.unlock();
+            if (compressed != null) {
+                compressor.release(compressed);
+            }
+        }
+    }
+
+    public Lease get(K key) {
+        Objects.requireNonNull(key, "Key cannot be null");
+
+        ReentrantReadWriteLock.ReadLock lock = this.lock.readLock();
+        lock.lock();
+        try {
+            Region<K> region = regions.get(key);
+            if (region == null) {
+                return null;
+            }
+            region.referenced = true;
+            if (region.rawLength >= 0) {
+                ByteBuffer value = ByteBuffer.allocate(region.rawLength);
+                compressor.decompress(payload(region), value);
+                return new Lease(value.flip().asReadOnlyBuffer(), null);
+            }
+            region.pins.incrementAndGet();
+            return new Lease(payload(region).asReadOnlyBuffer(), () -> unpin(region));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long transferTo(K key, WritableByteChannel channel) throws IOException {
+        Objects.requireNonNull(key, "Key cannot be null");
+        Objects.requireNonNull(channel, "Channel cannot be null");
+
+        try (Lease lease = get(key)) {
+            if (lease == null) {
+                return -1;
+            }
+            ByteBuffer payload = lease.value();
+            long written = payload.remaining();
+            while (payload.hasRemaining()) {
+                channel.write(payload);
+            }
+            return written;
+        }
+    }
+
+    public boolean remove(K key) {
+        Objects.requireNonNull(key, "Key cannot be null");
+
+        ReentrantReadWriteLock.WriteLock lock = this.lock.writeLock();
+        lock.lock();
+        try {
+            Region<K> region = regions.remove(key);
+            if (region == null) {
+                return false;
+            }
+            release(region);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void clear() {
+        ReentrantReadWriteLock.WriteLock lock = this.lock.writeLock();
+        lock.lock();
+        try {
+            for (Region<K> region : regions.values()) {
+                retire(region);
+            }
+            regions.clear();
+            for (int i = 0; i < clocks.size(); i++) {
+                clocks.get(i).clear();
+                stale[i] = 0;
+                pressure[i] = 0;
+            }
+            usedBytes = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        ReentrantReadWriteLock.ReadLock lock = this.lock.readLock();
+        lock.lock();
+        try {
+            return regions.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long usedBytes() {
+        ReentrantReadWriteLock.ReadLock lock = this.lock.readLock();
+        lock.lock();
+        try {
+            return usedBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long allocatedBytes() {
+        ReentrantReadWriteLock.ReadLock lock = this.lock.readLock();
+        lock.lock();
+        try {
+            return allocator.allocatedBytes();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long maxBytes() {
+        return allocator.maxBytes();
+    }
+
+    @Override
+    public void close() {
+        clear();
+    }
+
+    private long allocate(int sizeClass) {
+        long handle = allocator.allocate(sizeClass);
+        ArrayDeque<Region<K>> clock = clocks.get(sizeClass);
+        if (handle < 0 && (clock.isEmpty() || ++pressure[sizeClass] >= allocator.slotsPerSlab(sizeClass))) {
+            if (rebalance(sizeClass, clock.isEmpty())) {
+                handle = allocator.allocate(sizeClass);
+            }
+        }
+        while (handle < 0 && !clock.isEmpty()) {
+            Region<K> candidate = clock.pollFirst();
+            if (candidate.removed) {
+                stale[sizeClass]--;
+            } else if (candidate.referenced) {
+                candidate.referenced = false;
+                clock.addLast(candidate);
+            } else {
+                regions.remove(candidate.key);
+                retire(candidate);
+                usedBytes -= LENGTH_PREFIX + candidate.length;
+                handle = allocator.allocate(sizeClass);
+            }
+        }
+        return handle;
+    }
+
+    private boolean rebalance(int sizeClass, boolean starved) {
+        int donor = -1;
+        double coolest = Double.MAX_VALUE;
+        for (int candidate = 0; candidate < clocks.size(); candidate++) {
+            int slabs = allocator.slabs(candidate);
+            if (candidate == sizeClass || slabs == 0 || (!starved && slabs == 1)) {
+                continue;
+            }
+            double heat = (double) pressure[candidate] / allocator.slotsPerSlab(candidate);
+            if (heat < coolest && (starved || heat < 0.5)) {
+                coolest = heat;
+                donor = candidate;
+            }
+        }
+        for (int i = 0; i < pressure.length; i++) {
+            pressure[i] >>= 1;
+        }
+        pressure[sizeClass] = 0;
+        return donor >= 0 && reassign(donor, sizeClass);
+    }
+
+    private boolean reassign(int donor, int sizeClass) {
+        ArrayDeque<Region<K>> clock = clocks.get(donor);
+        int slab = unpinnedSlab(donor);
+        if (slab < 0) {
+            return false;
+        }
+        clock.removeIf(region -> {
+            if (!region.removed && allocator.slabOf(region.handle) == slab) {
+                regions.remove(region.key);
+                retire(region);
+                usedBytes -= LENGTH_PREFIX + region.length;
+            }
+            return region.removed;
+        });
+        stale[donor] = 0;
+        allocator.reassign(slab, sizeClass);
+        return true;
+    }
+
+    private int unpinnedSlab(int donor) {
+        Set<Integer> pinned = new HashSet<>();
+        for (Region<K> region : retired) {
+            pinned.add(allocator.slabOf(region.handle));
+        }
+        ArrayDeque<Region<K>> clock = clocks.get(donor);
+        for (Region<K> region : clock) {
+            if (!region.removed && region.pins.get() > 0) {
+                pinned.add(allocator.slabOf(region.handle));
+            }
+        }
+        for (Region<K> region : clock) {
+            int slab = allocator.slabOf(region.handle);
+            if (!region.removed && !pinned.contains(slab)) {
+                return slab;
+            }
+        }
+        for (int slab = 0; slab < allocator.slabCount(); slab++) {
+            if (allocator.slabClass(slab) == donor && !pinned.contains(slab)) {
+                return slab;
+            }
+        }
+        return -1;
+    }
+
+    private void release(Region<K> region) {
+        retire(region);
+        usedBytes -= LENGTH_PREFIX + region.length;
+
+        ArrayDeque<Region<K>> clock = clocks.get(region.sizeClass);
+        if (++stale[region.sizeClass] > clock.size() / 2) {
+            clock.removeIf(candidate -> candidate.removed);
+            stale[region.sizeClass] = 0;
+        }
+    }
+
+    private void retire(Region<K> region) {
+        region.removed = true;
+        if (region.pins.get() == 0) {
+            allocator.free(region.handle);
+        } else {
+            retired.add(region);
+        }
+    }
+
+    private void unpin(Region<K> region) {
+        if (region.pins.decrementAndGet() > 0 || !region.removed) {
+            return;
+        }
+        ReentrantReadWriteLock.WriteLock lock = this.lock.writeLock();
+        lock.lock();
+        try {
+            if (region.pins.get() == 0 && retired.remove(region)) {
+                allocator.free(region.handle);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private ByteBuffer payload(Region<K> region) {
+        return allocator.region(region.handle).slice(LENGTH_PREFIX, region.length);
+    }
+
+    public static final class Lease implements AutoCloseable {
+        private final ByteBuffer value;
+        private Runnable release;
+
+        private Lease(ByteBuffer value, Runnable release) {
+            this.value = value;
+            this.release = release;
+        }
+
+        public ByteBuffer value() {
+            return value;
+        }
+
+        @Override
+        public void close() {
+            Runnable release = this.release;
+            this.release = null;
+            if (release != null) {
+                release.run();
+            }
+        }
+    }
+
+    private static final class Region<K> {
+        private final K key;
+        private final long handle;
+        private final int sizeClass;
+        private final int length;
+        private final int rawLength;
+        private final AtomicInteger pins = new AtomicInteger();
+        private volatile boolean referenced;
+        private volatile boolean removed;
+
+        private Region(K key, long handle, int sizeClass, int length, int rawLength) {
+            this.key = key;
+            this.handle = handle;
+            this.sizeClass = sizeClass;
+            this.length = length;
+            this.rawLength = rawLength;
+        }
+    }
+}
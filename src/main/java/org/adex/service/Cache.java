@@ -1,6 +1,8 @@
 package org.adex.service;
 
 import java.util.Collection;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 public interface Cache<T> {
 
@@ -14,6 +16,8 @@ public interface Cache<T> {
 
     T peek();
 
+    T remove(T value);
+
     int size();
 
     void purge();
@@ -21,4 +25,12 @@ public interface Cache<T> {
     boolean isEmpty();
 
     int capacity();
+
+    T compute(T key, BiFunction<? super T, ? super T, ? extends T> remappingFunction);
+
+    T computeIfAbsent(T key, Function<? super T, ? extends T> mappingFunction);
+
+    T computeIfPresent(T key, BiFunction<? super T, ? super T, ? extends T> remappingFunction);
+
+    T merge(T value, BiFunction<? super T, ? super T, ? extends T> remappingFunction);
 }
@@ -0,0 +1,131 @@
+package org.adex.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+final class FlatCombiner<T> {
+
+    enum Operation {PUT, REMOVE}
+
+    @FunctionalInterface
+    interface Handler<T> {
+        T apply(Operation operation, T value, String[] tags);
+    }
+
+    private static final int FREE = 0;
+    private static final int CLAIMED = 1;
+    private static final int PENDING = 2;
+    private static final int DONE = 3;
+
+    private static final int MAX_PASSES = 4;
+    private static final int SPINS_BEFORE_BLOCKING = 256;
+
+    private final List<Slot<T>> slots;
+    private final Handler<T> handler;
+
+    FlatCombiner(Handler<T> handler) {
+        this.handler = handler;
+        int size = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() * 2) - 1) << 1;
+        List<Slot<T>> slots = new ArrayList<>();
+        for (int i = 0; i < Math.max(2, size); i++) {
+            slots.add(new Slot<>());
+        }
+        this.slots = List.copyOf(slots);
+    }
+
+    T submit(ReentrantLock lock, Operation operation, T value, String[] tags) {
+        Slot<T> slot = claim();
+        if (slot == null) {
+            LRUCache.lock(lock);
+            try {
+                return handler.apply(operation, value, tags);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        slot.operation = operation;
+        slot.value = value;
+        slot.tags = tags;
+        slot.state.set(PENDING);
+
+        int spins = 0;
+        while (slot.state.get() != DONE) {
+            if (!lock.isLocked() && lock.tryLock()) {
+                combine(lock);
+            } else if (++spins < SPINS_BEFORE_BLOCKING) {
+                Thread.onSpinWait();
+            } else {
+                LRUCache.lock(lock);
+                combine(lock);
+            }
+        }
+        return slot.release();
+    }
+
+    private void combine(ReentrantLock lock) {
+        try {
+            for (int pass = 0; pass < MAX_PASSES; pass++) {
+                boolean applied = false;
+                for (Slot<T> slot : slots) {
+                    if (slot.state.get() == PENDING) {
+                        try {
+                            slot.result = handler.apply(slot.operation, slot.value, slot.tags);
+                        } catch (RuntimeException | Error e) {
+                            slot.failure = e;
+                        }
+                        slot.state.set(DONE);
+                        applied = true;
+                    }
+                }
+                if (!applied) {
+                    break;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Slot<T> claim() {
+        int mask = slots.size() - 1;
+        int start = (int) Thread.currentThread().threadId() * 0x9E3779B9 >>> 16;
+        for (int i = 0; i < slots.size(); i++) {
+            Slot<T> slot = slots.get((start + i) & mask);
+            if (slot.state.get() == FREE && slot.state.compareAndSet(FREE, CLAIMED)) {
+                return slot;
+            }
+        }
+        return null;
+    }
+
+    private static final class Slot<T> {
+        private final AtomicInteger state = new AtomicInteger(FREE);
+        private Operation operation;
+        private T value;
+        private String[] tags;
+        private T result;
+        private Throwable failure;
+
+        private T release() {
+            T result = this.result;
+            Throwable failure = this.failure;
+            this.operation = null;
+            this.value = null;
+            this.tags = null;
+            this.result = null;
+            this.failure = null;
+            state.set(FREE);
+
+            if (failure instanceof RuntimeException e) {
+                throw e;
+            }
+            if (failure instanceof Error e) {
+                throw e;
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package org.adex.service;
+
+import org.adex.service.stats.HotKey;
+import org.adex.service.stats.SpaceSavingTopK;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+final class HotKeyReplicas<T> {
+
+    static final int REPLICA_SLOTS = 64;
+    static final int FALL_THROUGH_INTERVAL = 64;
+    static final int REFRESH_INTERVAL = 1024;
+    static final double MINIMUM_SHARE = 0.01;
+
+    private final SpaceSavingTopK<T> detector;
+    private final int replicatedKeys;
+    private final Map<Integer, Hot> hot = new HashMap<>();
+    private final ThreadLocal<Replica<T>> replicas = ThreadLocal.withInitial(Replica::new);
+    private int sinceRefresh;
+
+    HotKeyReplicas(int trackedKeys, int replicatedKeys, long decayInterval) {
+        if (replicatedKeys <= 0 || replicatedKeys > trackedKeys) {
+            throw new IllegalArgumentException("Replicated keys must be positive and at most the tracked keys");
+        }
+        this.detector = new SpaceSavingTopK<>(trackedKeys, decayInterval);
+        this.replicatedKeys = replicatedKeys;
+    }
+
+    T read(int key, long ttl) {
+        if (Thread.currentThread().isVirtual()) {
+            return null;
+        }
+        Replica<T> replica = replicas.get();
+        Entry<T> entry = replica.entries[slot(key)];
+        if (entry == null || entry.key != key || entry.hot.version != entry.version || entry.node.isExpired(ttl)) {
+            return null;
+        }
+        if (++entry.hits == FALL_THROUGH_INTERVAL) {
+            replica.pending += entry.hits;
+            entry.hits = 0;
+            return null;
+        }
+        entry.node.updateAccessTime();
+        return entry.value;
+    }
+
+    void onAccess(int key, Node<T> node) {
+        Replica<T> replica = Thread.currentThread().isVirtual() ? null : replicas.get();
+        T value = node.value();
+        detector.record(key, value, replica == null ? 1 : 1 + replica.pending);
+        if (replica != null) {
+            replica.pending = 0;
+        }
+
+        if (++sinceRefresh >= REFRESH_INTERVAL) {
+            sinceRefresh = 0;
+            refresh();
+        }
+
+        Hot hot = this.hot.get(key);
+        if (hot != null && replica != null) {
+            replica.entries[slot(key)] = new Entry<>(key, value, node, hot);
+        }
+    }
+
+    void invalidate(int key) {
+        Hot hot = this.hot.get(key);
+        if (hot != null) {
+            hot.version++;
+        }
+    }
+
+    void invalidateAll() {
+        for (Hot hot : this.hot.values()) {
+            hot.version++;
+        }
+    }
+
+    boolean isHot(int key) {
+        return hot.containsKey(key);
+    }
+
+    List<HotKey<T>> top(int k) {
+        return detector.top(k);
+    }
+
+    private void refresh() {
+        long minimum = Math.max(1, (long) (detector.total() * MINIMUM_SHARE));
+        Set<Integer> hitters = detector.heavyHitters(replicatedKeys, minimum);
+
+        Iterator<Map.Entry<Integer, Hot>> current = hot.entrySet().iterator();
+        while (current.hasNext()) {
+            Map.Entry<Integer, Hot> entry = current.next();
+            if (!hitters.contains(entry.getKey())) {
+                entry.getValue().version++;
+                current.remove();
+            }
+        }
+        for (Integer key : hitters) {
+            hot.computeIfAbsent(key, k -> new Hot());
+        }
+    }
+
+    private static int slot(int key) {
+        int hash = key * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & (REPLICA_SLOTS - 1);
+    }
+
+    private static final class Hot {
+        private volatile long version;
+    }
+
+    private static final class Replica<T> {
+        @SuppressWarnings("unchecked")
+        private final Entry<T>[] entries = (Entry<T>[]) new Entry<?>[REPLICA_SLOTS];
+        private long pending;
+    }
+
+    private static final class Entry<T> {
+        private final int key;
+        private final T value;
+        private final Node<T> node;
+        private final Hot hot;
+        private final long version;
+        private int hits;
+
+        private Entry(int key, T value, Node<T> node, Hot hot) {
+            this.key = key;
+            this.value = value;
+            this.node = node;
+            this.hot = hot;
+            this.version = hot.version;
+        }
+    }
+}
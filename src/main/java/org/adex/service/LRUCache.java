@@ -3,20 +3,92 @@ package org.adex.service;
 import org.adex.service.eviction.EvictionPolicy;
 import org.adex.service.eviction.LFUEvictionPolicy;
 import org.adex.service.eviction.LRUEvictionPolicy;
+import org.adex.service.events.CacheEvictionEvent;
+import org.adex.service.events.CacheExpirationEvent;
+import org.adex.service.events.CacheGetEvent;
+import org.adex.service.events.CacheLockWaitEvent;
+import org.adex.service.events.CachePutEvent;
+import org.adex.service.listener.MutationListener;
+import org.adex.service.listener.RemovalCause;
+import org.adex.service.listener.RemovalListener;
+import org.adex.service.listener.RemovalNotifier;
+import org.adex.service.memory.HeapPressureMonitor;
+import org.adex.service.persistence.Serializer;
+import org.adex.service.persistence.SnapshotFile;
+import org.adex.service.persistence.WriteAheadLog;
+import org.adex.service.stats.CacheStats;
+import org.adex.service.stats.CacheStatsMBeans;
+import org.adex.service.stats.ConcurrentStatsCounter;
+import org.adex.service.stats.HotKey;
+import org.adex.service.stats.LatencyStats;
+import org.adex.service.stats.MissRatioCurveEstimator;
+import org.adex.service.stats.StatsCounter;
 import org.adex.service.store.InMemoryStorePolicy;
 import org.adex.service.store.RedisStorePolicy;
 import org.adex.service.store.StorePolicy;
 
+import javax.management.ObjectName;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongBinaryOperator;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
-public class LRUCache<T> implements Cache<T> {
+public class LRUCache<T> implements Cache<T>, AutoCloseable {
+
+    private static final long HEAP_POLL_INTERVAL_MILLIS = 1000;
+    private static final double PRESSURE_SHRINK_FACTOR = 0.75;
+    private static final double PRESSURE_MIN_SCALE = 0.1;
+    private static final int PRESSURE_EVICTION_BATCH = 64;
+    private static final int HOT_KEYS_REPORTED = 16;
+    private static final int HOT_KEY_DECAY_FACTOR = 64;
+    private static final String[] NO_TAGS = new String[0];
 
     private final int capacity;
+    private int effectiveCapacity;
 
-    private long ttl;
+    private volatile long ttl;
+    private EvictionPolicy.PolicyType policyType = EvictionPolicy.PolicyType.LRU;
     private EvictionPolicy<T> eviction;
     private StorePolicy<T> store;
+    private RemovalNotifier<T> notifier;
+    private List<MutationListener<T>> mutationListeners = List.of();
+    private volatile StatsCounter stats = StatsCounter.disabled();
+    private ObjectName statsMBean;
+    private LatencyStats latencies;
+    private MissRatioCurveEstimator missRatioCurve;
+
+    private long maximumWeight = -1;
+    private Weigher<T> weigher;
+    private long effectiveMaximumWeight;
+    private long totalWeight;
+
+    private final Map<String, Set<Node<T>>> tagIndex = new HashMap<>();
+
+    private HeapPressureMonitor heapMonitor;
+    private double pressureScale = 1.0;
+
+    private FlatCombiner<T> combiner;
+    private HotKeyReplicas<T> hotKeys;
+    private WriteAheadLog<T> writeAheadLog;
+
+    private Path snapshotFile;
+    private Serializer<T> snapshotSerializer;
+    private ScheduledExecutorService snapshotScheduler;
 
     protected ReentrantLock lock = new ReentrantLock();
 
@@ -30,6 +102,7 @@ public class LRUCache<T> implements Cache<T> {
 
     public LRUCache(int capacity, long ttl) {
         this.capacity = capacity;
+        this.effectiveCapacity = capacity;
         this.ttl = ttl;
 
         store = new InMemoryStorePolicy<>(capacity);
@@ -37,6 +110,7 @@ public class LRUCache<T> implements Cache<T> {
     }
 
     public Cache<T> withPolicy(EvictionPolicy.PolicyType type) {
+        this.policyType = type;
         this.eviction = type == EvictionPolicy.PolicyType.LFU
                 ? new LFUEvictionPolicy<>()
                 : new LRUEvictionPolicy<T>(store);
@@ -44,12 +118,313 @@ public class LRUCache<T> implements Cache<T> {
     }
 
     public Cache<T> withStore(StorePolicy.StorePolicyType type) {
-        this.store = type == StorePolicy.StorePolicyType.In_MEMORY
+        return withStore(type == StorePolicy.StorePolicyType.In_MEMORY
                 ? new InMemoryStorePolicy<>(capacity)
-                : new RedisStorePolicy<T>();
+                : new RedisStorePolicy<T>());
+    }
+
+    public Cache<T> withStore(StorePolicy<T> store) {
+        this.store = Objects.requireNonNull(store, "Store cannot be null");
+        return withPolicy(policyType);
+    }
+
+    public Cache<T> withRemovalListener(RemovalListener<T> listener) {
+        return withRemovalListener(listener, ForkJoinPool.commonPool());
+    }
+
+    public Cache<T> withRemovalListener(RemovalListener<T> listener, Executor executor) {
+        this.notifier = new RemovalNotifier<>(listener, executor);
+        return this;
+    }
+
+    public Cache<T> withMutationListener(MutationListener<T> listener) {
+        Objects.requireNonNull(listener, "Listener cannot be null");
+        final ReentrantLock lock = this.lock;
+        lock(lock);
+        try {
+            List<MutationListener<T>> listeners = new ArrayList<>(mutationListeners);
+            listeners.add(listener);
+            mutationListeners = List.copyOf(listeners);
+        } finally {
+            lock.unlock();
+        }
+        return this;
+    }
+
+    public Cache<T> recordStats() {
+        final ReentrantLock lock = this.lock;
+        lock(lock);
+        try {
+            if (stats == StatsCounter.disabled()) {
+                stats = new ConcurrentStatsCounter();
+            }
+        } finally {
+            lock.unlock();
+        }
+        return this;
+    }
+
+    public Cache<T> recordStats(String name) {
+        Objects.requireNonNull(name, "Cache name cannot be null");
+        recordStats();
+        unregisterStats();
+        statsMBean = CacheStatsMBeans.register(name, () -> stats.snapshot(),
+                this::estimatedHitRatios, this::reportedHotKeys);
+        return this;
+    }
+
+    public CacheStats stats() {
+        CacheStats snapshot = stats.snapshot();
+        if (missRatioCurve != null) {
+            snapshot = snapshot.withEstimatedHitRatios(estimatedHitRatios());
+        }
+        if (hotKeys != null) {
+            snapshot = snapshot.withHotKeys(reportedHotKeys());
+        }
+        return snapshot;
+    }
+
+    private SortedMap<Integer, Double> estimatedHitRatios() {
+        final MissRatioCurveEstimator missRatioCurve = this.missRatioCurve;
+        if (missRatioCurve == null) {
+            return new TreeMap<>();
+        }
+        return missRatioCurve.curve(capacity / 4, capacity / 2, capacity, capacity * 2, capacity * 4);
+    }
+
+    private Map<String, Long> reportedHotKeys() {
+        Map<String, Long> top = new LinkedHashMap<>();
+        for (HotKey<T> hot : hotKeys(HOT_KEYS_REPORTED)) {
+            top.put(String.valueOf(hot.value()), hot.count());
+        }
+        return top;
+    }
+
+    public Cache<T> withMissRatioCurve(int sampleSize) {
+        this.missRatioCurve = new MissRatioCurveEstimator(capacity * 4, sampleSize);
+        return this;
+    }
+
+    public MissRatioCurveEstimator missRatioCurve() {
+        return missRatioCurve;
+    }
+
+    public Cache<T> recordLatencies() {
+        if (latencies == null) {
+            latencies = new LatencyStats();
+        }
+        return this;
+    }
+
+    public LatencyStats latencies() {
+        return latencies;
+    }
+
+    public Cache<T> withMaximumWeight(long maximumWeight, Weigher<T> weigher) {
+        if (maximumWeight < 0) {
+            throw new IllegalArgumentException("Maximum weight cannot be negative");
+        }
+        this.weigher = Objects.requireNonNull(weigher, "Weigher cannot be null");
+        this.maximumWeight = maximumWeight;
+        applyPressureScale();
+        return this;
+    }
+
+    public Cache<T> withHeapPressureScaling(double highWatermark, double lowWatermark) {
+        if (heapMonitor != null) {
+            heapMonitor.close();
+        }
+        heapMonitor = new HeapPressureMonitor(highWatermark, lowWatermark, HEAP_POLL_INTERVAL_MILLIS,
+                new HeapPressureMonitor.Listener() {
+                    @Override
+                    public void onPressure() {
+                        onHeapPressure();
+                    }
+
+                    @Override
+                    public void onRelief() {
+                        onHeapRelief();
+                    }
+                }).start();
         return this;
     }
 
+    public Cache<T> withHotKeyReplication(int trackedKeys, int replicatedKeys) {
+        if (trackedKeys <= 0) {
+            throw new IllegalArgumentException("Tracked keys must be positive");
+        }
+        this.hotKeys = new HotKeyReplicas<>(trackedKeys, replicatedKeys, (long) trackedKeys * HOT_KEY_DECAY_FACTOR);
+        return this;
+    }
+
+    public List<HotKey<T>> hotKeys(int k) {
+        final HotKeyReplicas<T> hotKeys = this.hotKeys;
+        if (hotKeys == null) {
+            return List.of();
+        }
+        final ReentrantLock lock = this.lock;
+        lock(lock);
+        try {
+            return hotKeys.top(k);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Cache<T> withFlatCombining() {
+        this.combiner = new FlatCombiner<>(this::applyCombined);
+        return this;
+    }
+
+    public Cache<T> withWriteAheadLog(WriteAheadLog<T> writeAheadLog) {
+        Objects.requireNonNull(writeAheadLog, "Write-ahead log cannot be null");
+        if (this.writeAheadLog != null) {
+            throw new IllegalStateException("Write-ahead log is already configured");
+        }
+        writeAheadLog.recover(new MutationListener<>() {
+            @Override
+            public void onPut(T value) {
+                put(value);
+            }
+
+            @Override
+            public void onRemoval(T value, RemovalCause cause) {
+                remove(value);
+            }
+        });
+        withMutationListener(writeAheadLog);
+        this.writeAheadLog = writeAheadLog;
+        return this;
+    }
+
+    public WriteAheadLog<T> detachWriteAheadLog() {
+        final ReentrantLock lock = this.lock;
+        lock(lock);
+        try {
+            final WriteAheadLog<T> writeAheadLog = this.writeAheadLog;
+            if (writeAheadLog == null) {
+                throw new IllegalStateException("No write-ahead log is configured");
+            }
+            List<MutationListener<T>> listeners = new ArrayList<>(mutationListeners);
+            listeners.remove(writeAheadLog);
+            mutationListeners = List.copyOf(listeners);
+            this.writeAheadLog = null;
+            return writeAheadLog;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void compactLog() {
+        final WriteAheadLog<T> writeAheadLog = this.writeAheadLog;
+        if (writeAheadLog == null) {
+            throw new IllegalStateException("No write-ahead log is configured");
+        }
+        writeAheadLog.compact(stream());
+    }
+
+    public Cache<T> withSnapshots(Path file, Serializer<T> serializer, long intervalMillis) {
+        Objects.requireNonNull(file, "Snapshot file cannot be null");
+        Objects.requireNonNull(serializer, "Serializer cannot be null");
+        if (intervalMillis < 0) {
+            throw new IllegalArgumentException("Snapshot interval cannot be negative");
+        }
+        if (snapshotFile != null) {
+            throw new IllegalStateException("Snapshots are already configured");
+        }
+
+        if (Files.exists(file)) {
+            loadSnapshot(file, serializer);
+        }
+        this.snapshotFile = file;
+        this.snapshotSerializer = serializer;
+        if (intervalMillis > 0) {
+            snapshotScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "snappy-cache-snapshot");
+                thread.setDaemon(true);
+                return thread;
+            });
+            snapshotScheduler.scheduleWithFixedDelay(() -> {
+                try {
+                    saveSnapshot(file, serializer);
+                } catch (UncheckedIOException e) {
+                    // retried on the next interval
+                }
+            }, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        }
+        return this;
+    }
+
+    public int saveSnapshot(Path file, Serializer<T> serializer) {
+        Objects.requireNonNull(file, "Snapshot file cannot be null");
+        Objects.requireNonNull(serializer, "Serializer cannot be null");
+
+        List<T> values;
+        final ReentrantLock lock = this.lock;
+        lock(lock);
+        try {
+            values = new ArrayList<>(store.size());
+            Node<T> head = eviction.head();
+            if (head != null) {
+                for (Node<T> node = head.next(); node != null && node != eviction.tail(); node = node.next()) {
+                    if (!node.isExpired(ttl)) {
+                        values.add(node.value());
+                    }
+                }
+            } else {
+                store.values().forEach(node -> values.add(node.value()));
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        SnapshotFile.write(file, values, serializer);
+        return values.size();
+    }
+
+    public int loadSnapshot(Path file, Serializer<T> serializer) {
+        Objects.requireNonNull(file, "Snapshot file cannot be null");
+        Objects.requireNonNull(serializer, "Serializer cannot be null");
+
+        try (ExecutorService decoders = Executors.newVirtualThreadPerTaskExecutor()) {
+            return SnapshotFile.read(file, serializer, decoders, chunk -> {
+                beforeWrite();
+                final ReentrantLock lock = this.lock;
+                lock(lock);
+                try {
+                    int restored = 0;
+                    while (restored < chunk.size() && restoreInternal(chunk.get(restored))) {
+                        restored++;
+                    }
+                    return restored;
+                } finally {
+                    lock.unlock();
+                    afterWrite();
+                }
+            });
+        }
+    }
+
+    public int effectiveCapacity() {
+        final ReentrantLock lock = this.lock;
+        lock(lock);
+        try {
+            return effectiveCapacity;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long weight() {
+        final ReentrantLock lock = this.lock;
+        lock(lock);
+        try {
+            return totalWeight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
     public Cache<T> ttl(long ttl) {
         this.ttl = ttl;
         return this;
@@ -58,7 +433,7 @@ public class LRUCache<T> implements Cache<T> {
     @Override
     public boolean isEmpty() {
         final ReentrantLock lock = this.lock;
-        lock.lock();
+        lock(lock);
         try {
             return store.isEmpty();
         } finally {
@@ -69,7 +444,7 @@ public class LRUCache<T> implements Cache<T> {
     @Override
     public int capacity() {
         final ReentrantLock lock = this.lock;
-        lock.lock();
+        lock(lock);
         try {
             return this.capacity;
         } finally {
@@ -80,12 +455,76 @@ public class LRUCache<T> implements Cache<T> {
     @Override
     public void put(T value) {
         Objects.requireNonNull(value, "Value cannot be null");
+        putTagged(value, NO_TAGS);
+    }
+
+    public void put(T value, String... tags) {
+        Objects.requireNonNull(value, "Value cannot be null");
+        Objects.requireNonNull(tags, "Tags cannot be null");
+        for (String tag : tags) {
+            Objects.requireNonNull(tag, "Tag cannot be null");
+        }
+        putTagged(value, tags);
+    }
+
+    private void putTagged(T value, String[] tags) {
+        beforeWrite();
+        final LatencyStats latencies = this.latencies;
+        long start = latencies == null ? 0 : System.nanoTime();
+        CachePutEvent event = new CachePutEvent();
+        event.begin();
 
         final ReentrantLock lock = this.lock;
-        lock.lock();
+        final FlatCombiner<T> combiner = this.combiner;
+        try {
+            if (combiner != null) {
+                combiner.submit(lock, FlatCombiner.Operation.PUT, value, tags);
+            } else {
+                lock(lock);
+                try {
+                    putInternal(value, tags);
+                } finally {
+                    lock.unlock();
+                }
+            }
+        } finally {
+            afterWrite();
+            commit(event, 1);
+            if (latencies != null) {
+                latencies.record(LatencyStats.Operation.PUT, System.nanoTime() - start);
+            }
+        }
+    }
+
+    public int invalidateTag(String tag) {
+        Objects.requireNonNull(tag, "Tag cannot be null");
+        beforeWrite();
+
+        final ReentrantLock lock = this.lock;
+        lock(lock);
+        try {
+            Set<Node<T>> nodes = tagIndex.remove(tag);
+            if (nodes == null) {
+                return 0;
+            }
+            for (Node<T> node : nodes) {
+                removeInternal(node.value().hashCode(), node);
+            }
+            return nodes.size();
+        } finally {
+            lock.unlock();
+            afterWrite();
+        }
+    }
 
+    public int tagged(String tag) {
+        Objects.requireNonNull(tag, "Tag cannot be null");
+
+        final ReentrantLock lock = this.lock;
+        lock(lock);
         try {
-            putInternal(value);
+            Set<Node<T>> nodes = tagIndex.get(tag);
+            return nodes == null ? 0 : nodes.size();
         } finally {
             lock.unlock();
         }
@@ -95,9 +534,15 @@ public class LRUCache<T> implements Cache<T> {
     public void put(Collection<T> values, boolean dummy) {
         Objects.requireNonNull(values, "Collection cannot be null");
         if (values.isEmpty()) return;
+        beforeWrite();
+
+        final LatencyStats latencies = this.latencies;
+        long start = latencies == null ? 0 : System.nanoTime();
+        CachePutEvent event = new CachePutEvent();
+        event.begin();
 
         final ReentrantLock lock = this.lock;
-        lock.lock();
+        lock(lock);
         try {
             for (T value : values) {
                 if (value != null) {
@@ -106,39 +551,77 @@ public class LRUCache<T> implements Cache<T> {
             }
         } finally {
             lock.unlock();
+            afterWrite();
+            commit(event, values.size());
+            if (latencies != null) {
+                latencies.record(LatencyStats.Operation.PUT_ALL, System.nanoTime() - start);
+            }
         }
     }
 
     @Override
     public T get(T obj) {
+        final LatencyStats latencies = this.latencies;
+        long start = latencies == null ? 0 : System.nanoTime();
+        CacheGetEvent event = new CacheGetEvent();
+        event.begin();
+
+        final HotKeyReplicas<T> hotKeys = this.hotKeys;
+        if (hotKeys != null) {
+            int key = obj.hashCode();
+            T replicated = hotKeys.read(key, ttl);
+            if (replicated != null) {
+                final MissRatioCurveEstimator missRatioCurve = this.missRatioCurve;
+                if (missRatioCurve != null) {
+                    missRatioCurve.record(key);
+                }
+                stats.recordHits(1);
+                commit(event, obj, replicated);
+                if (latencies != null) {
+                    latencies.record(LatencyStats.Operation.GET, System.nanoTime() - start);
+                }
+                return replicated;
+            }
+        }
+
         final ReentrantLock lock = this.lock;
-        lock.lock();
+        lock(lock);
 
+        T value = null;
         try {
             int key = obj.hashCode();
-            Node<T> node = this.store.get(key);
-
-            if (Objects.isNull(node)) {
-                return null;
+            if (missRatioCurve != null) {
+                missRatioCurve.record(key);
             }
+            Node<T> node = lookup(key);
 
-            if (node.isExpired(ttl)) {
-                eviction.remove(node);
+            if (Objects.isNull(node)) {
+                stats.recordMisses(1);
                 return null;
             }
 
+            stats.recordHits(1);
             node.updateAccessTime();
             eviction.onGet(obj);
-            return node.value();
+            if (hotKeys != null) {
+                hotKeys.onAccess(key, node);
+            }
+            value = node.value();
+            return value;
         } finally {
             lock.unlock();
+            dispatchRemovals();
+            commit(event, obj, value);
+            if (latencies != null) {
+                latencies.record(LatencyStats.Operation.GET, System.nanoTime() - start);
+            }
         }
     }
 
     @Override
     public Collection<T> get() {
         final ReentrantLock lock = this.lock;
-        lock.lock();
+        lock(lock);
         try {
             return store.values()
                     .stream()
@@ -151,10 +634,63 @@ public class LRUCache<T> implements Cache<T> {
         }
     }
 
+    public Spliterator<T> spliterator() {
+        return new ValueSpliterator<>(store.spliterator(), ttl);
+    }
+
+    public Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    public Stream<T> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    public void forEach(long parallelismThreshold, Consumer<? super T> action) {
+        Objects.requireNonNull(action, "Action cannot be null");
+        bulk(parallelismThreshold).forEach(action);
+    }
+
+    public <U> U search(long parallelismThreshold, Function<? super T, ? extends U> searchFunction) {
+        Objects.requireNonNull(searchFunction, "Search function cannot be null");
+        return bulk(parallelismThreshold)
+                .<U>map(searchFunction)
+                .filter(Objects::nonNull)
+                .findAny()
+                .orElse(null);
+    }
+
+    public <U> U reduce(long parallelismThreshold, Function<? super T, ? extends U> transformer,
+                        BinaryOperator<U> reducer) {
+        Objects.requireNonNull(transformer, "Transformer cannot be null");
+        Objects.requireNonNull(reducer, "Reducer cannot be null");
+        return bulk(parallelismThreshold)
+                .<U>map(transformer)
+                .filter(Objects::nonNull)
+                .reduce(reducer)
+                .orElse(null);
+    }
+
+    public long reduceToLong(long parallelismThreshold, ToLongFunction<? super T> transformer,
+                             long basis, LongBinaryOperator reducer) {
+        Objects.requireNonNull(transformer, "Transformer cannot be null");
+        Objects.requireNonNull(reducer, "Reducer cannot be null");
+        return bulk(parallelismThreshold)
+                .mapToLong(transformer)
+                .reduce(basis, reducer);
+    }
+
+    private Stream<T> bulk(long parallelismThreshold) {
+        if (parallelismThreshold <= 0) {
+            throw new IllegalArgumentException("Parallelism threshold must be positive");
+        }
+        return StreamSupport.stream(spliterator(), store.size() >= parallelismThreshold);
+    }
+
     @Override
     public T peek() {
         final ReentrantLock lock = this.lock;
-        lock.lock();
+        lock(lock);
 
         try {
 
@@ -175,7 +711,7 @@ public class LRUCache<T> implements Cache<T> {
     @Override
     public int size() {
         final ReentrantLock lock = this.lock;
-        lock.lock();
+        lock(lock);
         try {
             return store.size();
         } finally {
@@ -186,39 +722,598 @@ public class LRUCache<T> implements Cache<T> {
     @Override
     public void purge() {
         final ReentrantLock lock = this.lock;
-        lock.lock();
+        lock(lock);
         try {
+            if (notifier != null || stats != StatsCounter.disabled() || !mutationListeners.isEmpty()) {
+                store.values().forEach(node -> recordRemoval(node.value(), RemovalCause.EXPLICIT));
+            }
             store.clear();
+            tagIndex.clear();
+            if (hotKeys != null) {
+                hotKeys.invalidateAll();
+            }
+            totalWeight = 0;
 
             Node<T> head = eviction.head();
             Node<T> tail = eviction.tail();
 
-            head.next().previous(null);
-            tail.previous().next(null);
+            if (head.next() != tail) {
+                head.next().previous(null);
+                tail.previous().next(null);
+            }
 
             head.next(tail);
             tail.previous(head);
         } finally {
             lock.unlock();
+            afterWrite();
+        }
+    }
+
+    @Override
+    public T remove(T value) {
+        Objects.requireNonNull(value, "Value cannot be null");
+        beforeWrite();
+
+        final ReentrantLock lock = this.lock;
+        final FlatCombiner<T> combiner = this.combiner;
+        if (combiner != null) {
+            try {
+                return combiner.submit(lock, FlatCombiner.Operation.REMOVE, value, NO_TAGS);
+            } finally {
+                afterWrite();
+            }
+        }
+
+        lock(lock);
+        try {
+            return removeInternal(value);
+        } finally {
+            lock.unlock();
+            afterWrite();
+        }
+    }
+
+    public int cleanUp() {
+        CacheExpirationEvent event = new CacheExpirationEvent();
+        event.begin();
+
+        int scanned = 0;
+        int expired = 0;
+        final ReentrantLock lock = this.lock;
+        lock(lock);
+        try {
+            Node<T> head = eviction.head();
+            Node<T> node = eviction.tail() == null ? null : eviction.tail().previous();
+            while (node != null && node != head) {
+                scanned++;
+                if (!node.isExpired(ttl)) {
+                    break;
+                }
+                Node<T> previous = node.previous();
+                expireInternal(node.value().hashCode(), node);
+                expired++;
+                node = previous;
+            }
+        } finally {
+            lock.unlock();
+            dispatchRemovals();
+        }
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.scanned = scanned;
+            event.expired = expired;
+            event.commit();
+        }
+        return expired;
+    }
+
+    @Override
+    public void close() {
+        try {
+            closeSnapshots();
+        } finally {
+            try {
+                closeHeapMonitor();
+            } finally {
+                try {
+                    unregisterStats();
+                } finally {
+                    if (writeAheadLog != null) {
+                        detachWriteAheadLog().close();
+                    }
+                }
+            }
+        }
+    }
+
+    private void closeSnapshots() {
+        final ScheduledExecutorService scheduler = snapshotScheduler;
+        snapshotScheduler = null;
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            try {
+                scheduler.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        final Path file = snapshotFile;
+        snapshotFile = null;
+        if (file != null) {
+            saveSnapshot(file, snapshotSerializer);
+        }
+    }
+
+    private void closeHeapMonitor() {
+        final HeapPressureMonitor monitor = heapMonitor;
+        heapMonitor = null;
+        if (monitor != null) {
+            monitor.close();
+        }
+    }
+
+    private void unregisterStats() {
+        final ObjectName name = statsMBean;
+        statsMBean = null;
+        if (name != null) {
+            CacheStatsMBeans.unregister(name);
+        }
+    }
+
+    void onHeapPressure() {
+        final ReentrantLock lock = this.lock;
+        lock(lock);
+        try {
+            pressureScale = Math.max(PRESSURE_MIN_SCALE, pressureScale * PRESSURE_SHRINK_FACTOR);
+            applyPressureScale();
+        } finally {
+            lock.unlock();
+        }
+        trimToCapacity();
+    }
+
+    void onHeapRelief() {
+        final ReentrantLock lock = this.lock;
+        lock(lock);
+        try {
+            pressureScale = Math.min(1.0, pressureScale / PRESSURE_SHRINK_FACTOR);
+            applyPressureScale();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public T compute(T key, BiFunction<? super T, ? super T, ? extends T> remappingFunction) {
+        Objects.requireNonNull(key, "Key cannot be null");
+        Objects.requireNonNull(remappingFunction, "Remapping function cannot be null");
+
+        beforeWrite();
+        final ReentrantLock lock = this.lock;
+        lock(lock);
+        try {
+            int hash = key.hashCode();
+            Node<T> node = lookup(hash);
+            T current = node == null ? null : node.value();
+            return computeInternal(hash, node, remappingFunction.apply(key, current));
+        } finally {
+            lock.unlock();
+            afterWrite();
+        }
+    }
+
+    @Override
+    public T computeIfAbsent(T key, Function<? super T, ? extends T> mappingFunction) {
+        Objects.requireNonNull(key, "Key cannot be null");
+        Objects.requireNonNull(mappingFunction, "Mapping function cannot be null");
+
+        beforeWrite();
+        final ReentrantLock lock = this.lock;
+        lock(lock);
+        try {
+            int hash = key.hashCode();
+            if (missRatioCurve != null) {
+                missRatioCurve.record(hash);
+            }
+            Node<T> node = lookup(hash);
+            if (node != null) {
+                stats.recordHits(1);
+                node.updateAccessTime();
+                eviction.onGet(node.value());
+                return node.value();
+            }
+
+            stats.recordMisses(1);
+            long start = System.nanoTime();
+            T value;
+            try {
+                value = mappingFunction.apply(key);
+            } catch (RuntimeException | Error e) {
+                stats.recordLoadFailure(System.nanoTime() - start);
+                throw e;
+            }
+            if (value == null) {
+                stats.recordLoadFailure(System.nanoTime() - start);
+                return null;
+            }
+            stats.recordLoadSuccess(System.nanoTime() - start);
+            return computeInternal(hash, null, value);
+        } finally {
+            lock.unlock();
+            afterWrite();
+        }
+    }
+
+    @Override
+    public T computeIfPresent(T key, BiFunction<? super T, ? super T, ? extends T> remappingFunction) {
+        Objects.requireNonNull(key, "Key cannot be null");
+        Objects.requireNonNull(remappingFunction, "Remapping function cannot be null");
+
+        beforeWrite();
+        final ReentrantLock lock = this.lock;
+        lock(lock);
+        try {
+            int hash = key.hashCode();
+            Node<T> node = lookup(hash);
+            if (node == null) {
+                return null;
+            }
+            return computeInternal(hash, node, remappingFunction.apply(key, node.value()));
+        } finally {
+            lock.unlock();
+            afterWrite();
+        }
+    }
+
+    @Override
+    public T merge(T value, BiFunction<? super T, ? super T, ? extends T> remappingFunction) {
+        Objects.requireNonNull(value, "Value cannot be null");
+        Objects.requireNonNull(remappingFunction, "Remapping function cannot be null");
+
+        beforeWrite();
+        final ReentrantLock lock = this.lock;
+        lock(lock);
+        try {
+            int hash = value.hashCode();
+            Node<T> node = lookup(hash);
+            T merged = node == null ? value : remappingFunction.apply(node.value(), value);
+            return computeInternal(hash, node, merged);
+        } finally {
+            lock.unlock();
+            afterWrite();
+        }
+    }
+
+    private Node<T> lookup(int key) {
+        Node<T> node = store.get(key);
+        if (node != null && node.isExpired(ttl)) {
+            expireInternal(key, node);
+            return null;
+        }
+        return node;
+    }
+
+    private void expireInternal(int key, Node<T> node) {
+        eviction.remove(node);
+        store.evict(key);
+        untag(node);
+        totalWeight -= node.weight();
+        recordRemoval(node.value(), RemovalCause.EXPIRED);
+    }
+
+    private T computeInternal(int key, Node<T> node, T value) {
+        if (value == null) {
+            if (node != null) {
+                removeInternal(key, node);
+            }
+            return null;
         }
+
+        if (value.hashCode() != key) {
+            throw new IllegalArgumentException("Computed value must keep the key's hash");
+        }
+
+        storeInternal(key, node, value);
+        return value;
+    }
+
+    private T applyCombined(FlatCombiner.Operation operation, T value, String[] tags) {
+        if (operation == FlatCombiner.Operation.PUT) {
+            putInternal(value, tags);
+            return value;
+        }
+        return removeInternal(value);
+    }
+
+    private T removeInternal(T value) {
+        int key = value.hashCode();
+        Node<T> node = lookup(key);
+        if (node == null) {
+            return null;
+        }
+        removeInternal(key, node);
+        return node.value();
     }
 
     private void putInternal(T value) {
         int key = value.hashCode();
-        Node<T> node = store.get(key);
+        storeInternal(key, store.get(key), value);
+    }
+
+    private void putInternal(T value, String[] tags) {
+        putInternal(value);
+        if (tags.length == 0) {
+            return;
+        }
+        Node<T> node = store.get(value.hashCode());
+        if (node != null && node.value() == value) {
+            tag(node, tags);
+        }
+    }
+
+    private void storeInternal(int key, Node<T> node, T value) {
+        int weight = weigh(value);
+        stats.recordPuts(1);
 
         if (node != null) {
+            T previous = node.value();
+            node.value(value);
+            store.put(key, node);
+            if (previous != value) {
+                recordRemoval(previous, RemovalCause.REPLACED);
+                untag(node);
+            }
             eviction.onPut(value);
             node.updateAccessTime();
+            recordPut(value);
+
+            totalWeight += weight - node.weight();
+            node.weight(weight);
+            if (weigher != null) {
+                if (weight > effectiveMaximumWeight) {
+                    evictInternal(key, node);
+                } else {
+                    evictToFit(0);
+                }
+            }
             return;
         }
 
-        if (store.size() == capacity) {
-            eviction.evict();
+        if (weigher != null) {
+            if (weight > effectiveMaximumWeight) {
+                recordRemoval(value, RemovalCause.SIZE);
+                return;
+            }
+            evictToFit(weight);
+        } else if (store.size() >= effectiveCapacity) {
+            evictOne();
         }
 
         node = new Node<>(value);
+        node.weight(weight);
         store.put(key, node);
         eviction.onPut(value);
+        totalWeight += weight;
+        recordPut(value);
+    }
+
+    private boolean restoreInternal(T value) {
+        int key = value.hashCode();
+        if (store.get(key) != null) {
+            return true;
+        }
+
+        int weight = weigh(value);
+        if (weigher != null ? totalWeight + weight > effectiveMaximumWeight : store.size() >= effectiveCapacity) {
+            return false;
+        }
+
+        Node<T> node = new Node<>(value);
+        node.weight(weight);
+        store.put(key, node);
+        eviction.onRestore(value);
+        totalWeight += weight;
+        recordPut(value);
+        return true;
+    }
+
+    private int weigh(T value) {
+        if (weigher == null) {
+            return 0;
+        }
+        int weight = weigher.weigh(value);
+        if (weight < 0) {
+            throw new IllegalArgumentException("Weight cannot be negative");
+        }
+        return weight;
+    }
+
+    private void evictToFit(int incomingWeight) {
+        CacheEvictionEvent event = new CacheEvictionEvent();
+        event.begin();
+
+        int evicted = 0;
+        while (totalWeight + incomingWeight > effectiveMaximumWeight && evictOne()) {
+            evicted++;
+        }
+        commit(event, evicted, "weight");
+    }
+
+    private void applyPressureScale() {
+        effectiveCapacity = Math.max(1, (int) (capacity * pressureScale));
+        effectiveMaximumWeight = (long) (maximumWeight * pressureScale);
+    }
+
+    private void trimToCapacity() {
+        final ReentrantLock lock = this.lock;
+        boolean trimmed = false;
+        while (!trimmed) {
+            CacheEvictionEvent event = new CacheEvictionEvent();
+            event.begin();
+            int evicted = 0;
+            lock(lock);
+            try {
+                while (evicted < PRESSURE_EVICTION_BATCH && overCapacity() && evictOne()) {
+                    evicted++;
+                }
+                trimmed = evicted < PRESSURE_EVICTION_BATCH;
+            } finally {
+                lock.unlock();
+                dispatchRemovals();
+            }
+            commit(event, evicted, "heap-pressure");
+        }
+    }
+
+    private boolean overCapacity() {
+        return weigher != null
+                ? totalWeight > effectiveMaximumWeight
+                : store.size() > effectiveCapacity;
+    }
+
+    private boolean evictOne() {
+        Node<T> evicted = eviction.evict();
+        if (evicted == null) {
+            return false;
+        }
+        untag(evicted);
+        totalWeight -= evicted.weight();
+        recordRemoval(evicted.value(), RemovalCause.SIZE);
+        return true;
+    }
+
+    private void evictInternal(int key, Node<T> node) {
+        eviction.remove(node);
+        store.evict(key);
+        untag(node);
+        totalWeight -= node.weight();
+        recordRemoval(node.value(), RemovalCause.SIZE);
+    }
+
+    private void removeInternal(int key, Node<T> node) {
+        eviction.remove(node);
+        store.remove(key);
+        untag(node);
+        totalWeight -= node.weight();
+        recordRemoval(node.value(), RemovalCause.EXPLICIT);
+    }
+
+    private void tag(Node<T> node, String[] tags) {
+        untag(node);
+        if (tags.length == 0) {
+            return;
+        }
+
+        String[] unique = Arrays.stream(tags).distinct().toArray(String[]::new);
+        node.tags(unique);
+        for (String tag : unique) {
+            tagIndex.computeIfAbsent(tag, t -> new HashSet<>()).add(node);
+        }
+    }
+
+    private void untag(Node<T> node) {
+        String[] tags = node.tags();
+        if (tags == null) {
+            return;
+        }
+
+        node.tags(null);
+        for (String tag : tags) {
+            Set<Node<T>> nodes = tagIndex.get(tag);
+            if (nodes != null && nodes.remove(node) && nodes.isEmpty()) {
+                tagIndex.remove(tag);
+            }
+        }
+    }
+
+    private void recordPut(T value) {
+        if (hotKeys != null) {
+            hotKeys.invalidate(value.hashCode());
+        }
+        for (MutationListener<T> listener : mutationListeners) {
+            listener.onPut(value);
+        }
+    }
+
+    private void recordRemoval(T value, RemovalCause cause) {
+        if (hotKeys != null) {
+            hotKeys.invalidate(value.hashCode());
+        }
+        if (cause != RemovalCause.REPLACED) {
+            for (MutationListener<T> listener : mutationListeners) {
+                listener.onRemoval(value, cause);
+            }
+        }
+        stats.recordRemoval(cause);
+        if (notifier != null) {
+            notifier.enqueue(value, cause);
+        }
+    }
+
+    static void lock(ReentrantLock lock) {
+        CacheLockWaitEvent event = new CacheLockWaitEvent();
+        if (!event.isEnabled()) {
+            lock.lock();
+            return;
+        }
+        event.begin();
+        lock.lock();
+        event.commit();
+    }
+
+    private static <T> void commit(CacheGetEvent event, T key, T value) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.keyHash = key.hashCode();
+            event.hit = value != null;
+            event.commit();
+        }
+    }
+
+    private static void commit(CachePutEvent event, int entries) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.entries = entries;
+            event.commit();
+        }
+    }
+
+    private static void commit(CacheEvictionEvent event, int evicted, String reason) {
+        if (evicted == 0) {
+            return;
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.evicted = evicted;
+            event.reason = reason;
+            event.commit();
+        }
+    }
+
+    private void beforeWrite() {
+        if (lock.isHeldByCurrentThread()) {
+            return;
+        }
+        final WriteAheadLog<T> writeAheadLog = this.writeAheadLog;
+        if (writeAheadLog != null) {
+            writeAheadLog.checkWritable();
+        }
+        store.awaitCapacity();
+    }
+
+    private void afterWrite() {
+        dispatchRemovals();
+        final WriteAheadLog<T> writeAheadLog = this.writeAheadLog;
+        if (writeAheadLog != null && !lock.isHeldByCurrentThread()) {
+            writeAheadLog.awaitDurable();
+        }
+    }
+
+    private void dispatchRemovals() {
+        if (notifier != null && !lock.isHeldByCurrentThread()) {
+            notifier.dispatch();
+        }
     }
 }
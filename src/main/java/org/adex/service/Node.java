@@ -6,12 +6,14 @@ import java.time.ZoneId;
 import java.util.Objects;
 
 public class Node<T> {
-    private T value;
+    private volatile T value;
 
     private Node<T> previous;
     private Node<T> next;
 
-    private long lastAccess;
+    private volatile long lastAccess;
+    private int weight;
+    private String[] tags;
 
     public Node() {
     }
@@ -31,6 +33,24 @@ public class Node<T> {
         return this;
     }
 
+    public int weight() {
+        return weight;
+    }
+
+    public Node<T> weight(int weight) {
+        this.weight = weight;
+        return this;
+    }
+
+    public String[] tags() {
+        return tags;
+    }
+
+    public Node<T> tags(String[] tags) {
+        this.tags = tags;
+        return this;
+    }
+
     public Node<T> previous() {
         return previous;
     }
@@ -0,0 +1,352 @@
+package org.adex.service;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+public class ReadMostlyCache<T> implements Cache<T> {
+
+    private final int capacity;
+    private final LinkedHashMap<Integer, T> entries;
+    private volatile Snapshot<T> snapshot = Snapshot.empty();
+    private int batchDepth;
+    private boolean dirty;
+
+    protected ReentrantLock lock = new ReentrantLock();
+
+    public ReadMostlyCache(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<>(capacity);
+    }
+
+    @Override
+    public void put(T value) {
+        Objects.requireNonNull(value, "Value cannot be null");
+
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            putInternal(value);
+            changed();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void put(Collection<T> values, boolean dummy) {
+        Objects.requireNonNull(values, "Collection cannot be null");
+        if (values.isEmpty()) return;
+
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            for (T value : values) {
+                if (value != null) {
+                    putInternal(value);
+                }
+            }
+            publish();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void replaceAll(Collection<T> values) {
+        Objects.requireNonNull(values, "Collection cannot be null");
+
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            entries.clear();
+            for (T value : values) {
+                if (value != null) {
+                    putInternal(value);
+                }
+            }
+            publish();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void batch(Consumer<? super ReadMostlyCache<T>> writes) {
+        Objects.requireNonNull(writes, "Writes cannot be null");
+
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            batchDepth++;
+            try {
+                writes.accept(this);
+            } finally {
+                if (--batchDepth == 0 && dirty) {
+                    publish();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public T get(T value) {
+        return snapshot.get(value.hashCode());
+    }
+
+    @Override
+    public Collection<T> get() {
+        return snapshot.values();
+    }
+
+    @Override
+    public T peek() {
+        return snapshot.newest();
+    }
+
+    @Override
+    public T remove(T value) {
+        Objects.requireNonNull(value, "Value cannot be null");
+
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            T removed = entries.remove(value.hashCode());
+            if (removed != null) {
+                changed();
+            }
+            return removed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        return snapshot.size();
+    }
+
+    @Override
+    public void purge() {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            entries.clear();
+            changed();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return snapshot.size() == 0;
+    }
+
+    @Override
+    public int capacity() {
+        return capacity;
+    }
+
+    @Override
+    public T compute(T key, BiFunction<? super T, ? super T, ? extends T> remappingFunction) {
+        Objects.requireNonNull(key, "Key cannot be null");
+        Objects.requireNonNull(remappingFunction, "Remapping function cannot be null");
+
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            int hash = key.hashCode();
+            return computeInternal(hash, remappingFunction.apply(key, entries.get(hash)));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public T computeIfAbsent(T key, Function<? super T, ? extends T> mappingFunction) {
+        Objects.requireNonNull(key, "Key cannot be null");
+        Objects.requireNonNull(mappingFunction, "Mapping function cannot be null");
+
+        final ReentrantLock lock = this.lock;
+        if (!lock.isHeldByCurrentThread()) {
+            T current = get(key);
+            if (current != null) {
+                return current;
+            }
+        }
+
+        lock.lock();
+        try {
+            int hash = key.hashCode();
+            T current = entries.get(hash);
+            if (current != null) {
+                return current;
+            }
+            return computeInternal(hash, mappingFunction.apply(key));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public T computeIfPresent(T key, BiFunction<? super T, ? super T, ? extends T> remappingFunction) {
+        Objects.requireNonNull(key, "Key cannot be null");
+        Objects.requireNonNull(remappingFunction, "Remapping function cannot be null");
+
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            int hash = key.hashCode();
+            T current = entries.get(hash);
+            if (current == null) {
+                return null;
+            }
+            return computeInternal(hash, remappingFunction.apply(key, current));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public T merge(T value, BiFunction<? super T, ? super T, ? extends T> remappingFunction) {
+        Objects.requireNonNull(value, "Value cannot be null");
+        Objects.requireNonNull(remappingFunction, "Remapping function cannot be null");
+
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            int hash = value.hashCode();
+            T current = entries.get(hash);
+            return computeInternal(hash, current == null ? value : remappingFunction.apply(current, value));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private T computeInternal(int key, T value) {
+        if (value == null) {
+            if (entries.remove(key) != null) {
+                changed();
+            }
+            return null;
+        }
+
+        if (value.hashCode() != key) {
+            throw new IllegalArgumentException("Computed value must keep the key's hash");
+        }
+
+        putInternal(value);
+        changed();
+        return value;
+    }
+
+    private void putInternal(T value) {
+        int key = value.hashCode();
+        entries.remove(key);
+        entries.put(key, value);
+        if (entries.size() > capacity) {
+            Iterator<T> oldest = entries.values().iterator();
+            oldest.next();
+            oldest.remove();
+        }
+    }
+
+    private void changed() {
+        dirty = true;
+        if (batchDepth == 0) {
+            publish();
+        }
+    }
+
+    private void publish() {
+        dirty = false;
+        snapshot = Snapshot.of(entries);
+    }
+
+    private static final class Snapshot<T> {
+
+        private static final Snapshot<?> EMPTY = new Snapshot<>(new int[2], new Object[2], new Object[0]);
+
+        private final int[] keys;
+        private final Object[] table;
+        private final Object[] ordered;
+        private final int mask;
+
+        private Snapshot(int[] keys, Object[] table, Object[] ordered) {
+            this.keys = keys;
+            this.table = table;
+            this.ordered = ordered;
+            this.mask = table.length - 1;
+        }
+
+        @SuppressWarnings("unchecked")
+        static <T> Snapshot<T> empty() {
+            return (Snapshot<T>) EMPTY;
+        }
+
+        static <T> Snapshot<T> of(LinkedHashMap<Integer, T> entries) {
+            if (entries.isEmpty()) {
+                return empty();
+            }
+
+            int length = Integer.highestOneBit(Math.max(1, entries.size() * 2 - 1)) << 1;
+            int mask = length - 1;
+            int[] keys = new int[length];
+            Object[] table = new Object[length];
+            Object[] ordered = new Object[entries.size()];
+
+            int position = 0;
+            for (Map.Entry<Integer, T> entry : entries.entrySet()) {
+                int key = entry.getKey();
+                int index = spread(key) & mask;
+                while (table[index] != null) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = key;
+                table[index] = entry.getValue();
+                ordered[position++] = entry.getValue();
+            }
+            return new Snapshot<>(keys, table, ordered);
+        }
+
+        @SuppressWarnings("unchecked")
+        T get(int key) {
+            final int[] keys = this.keys;
+            final Object[] table = this.table;
+            int index = spread(key) & mask;
+            Object value;
+            while ((value = table[index]) != null) {
+                if (keys[index] == key) {
+                    return (T) value;
+                }
+                index = (index + 1) & mask;
+            }
+            return null;
+        }
+
+        @SuppressWarnings("unchecked")
+        T newest() {
+            return ordered.length == 0 ? null : (T) ordered[ordered.length - 1];
+        }
+
+        @SuppressWarnings("unchecked")
+        List<T> values() {
+            return (List<T>) Collections.unmodifiableList(Arrays.asList(ordered));
+        }
+
+        int size() {
+            return ordered.length;
+        }
+
+        private static int spread(int key) {
+            int h = key * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package org.adex.service;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+final class ValueSpliterator<T> implements Spliterator<T> {
+
+    private final Spliterator<Node<T>> nodes;
+    private final long ttl;
+
+    ValueSpliterator(Spliterator<Node<T>> nodes, long ttl) {
+        this.nodes = nodes;
+        this.ttl = ttl;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        boolean[] found = new boolean[1];
+        do {
+            boolean advanced = nodes.tryAdvance(node -> {
+                T value = node.value();
+                if (value != null && !node.isExpired(ttl)) {
+                    found[0] = true;
+                    action.accept(value);
+                }
+            });
+            if (!advanced) {
+                return false;
+            }
+        } while (!found[0]);
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super T> action) {
+        nodes.forEachRemaining(node -> {
+            T value = node.value();
+            if (value != null && !node.isExpired(ttl)) {
+                action.accept(value);
+            }
+        });
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        Spliterator<Node<T>> prefix = nodes.trySplit();
+        return prefix == null ? null : new ValueSpliterator<>(prefix, ttl);
+    }
+
+    @Override
+    public long estimateSize() {
+        return nodes.estimateSize();
+    }
+
+    @Override
+    public int characteristics() {
+        return CONCURRENT | NONNULL;
+    }
+}
@@ -0,0 +1,7 @@
+package org.adex.service;
+
+@FunctionalInterface
+public interface Weigher<T> {
+
+    int weigh(T value);
+}
@@ -0,0 +1,93 @@
+package org.adex.service.codec;
+
+import java.nio.ByteBuffer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+public class DeflateCodec implements ValueCodec {
+
+    public static final byte ID = 1;
+
+    private final int level;
+    private final ObjectPool<Deflater> deflaters = new ObjectPool<>(ObjectPool.DEFAULT_MAX_POOLED);
+    private final ObjectPool<Inflater> inflaters = new ObjectPool<>(ObjectPool.DEFAULT_MAX_POOLED);
+
+    public DeflateCodec() {
+        this(Deflater.BEST_SPEED);
+    }
+
+    public DeflateCodec(int level) {
+        if (level < Deflater.DEFAULT_COMPRESSION || level > Deflater.BEST_COMPRESSION) {
+            throw new IllegalArgumentException("Compression level must be between -1 and 9");
+        }
+        this.level = level;
+    }
+
+    @Override
+    public byte id() {
+        return ID;
+    }
+
+    @Override
+    public int maxCompressedLength(int length) {
+        return length + (length >> 3) + (length >> 6) + 64;
+    }
+
+    @Override
+    public int compress(ByteBuffer source, ByteBuffer target) {
+        Deflater deflater = deflaters.poll();
+        if (deflater == null) {
+            deflater = new Deflater(level, true);
+        }
+        try {
+            deflater.setInput(source);
+            deflater.finish();
+
+            int start = target.position();
+            while (!deflater.finished()) {
+                if (!target.hasRemaining()) {
+                    return -1;
+                }
+                deflater.deflate(target);
+            }
+            return target.position() - start;
+        } finally {
+            deflater.reset();
+            if (!deflaters.offer(deflater)) {
+                deflater.end();
+            }
+        }
+    }
+
+    @Override
+    public void decompress(ByteBuffer source, ByteBuffer target) {
+        Inflater inflater = inflaters.poll();
+        if (inflater == null) {
+            inflater = new Inflater(true);
+        }
+        try {
+            inflater.setInput(source);
+            while (target.hasRemaining()) {
+                if (inflater.inflate(target) == 0 && (inflater.finished() || inflater.needsInput())) {
+                    throw new IllegalStateException("Compressed value is shorter than its declared length");
+                }
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt compressed value", e);
+        } finally {
+            inflater.reset();
+            if (!inflaters.offer(inflater)) {
+                inflater.end();
+            }
+        }
+    }
+
+    int pooledDeflaters() {
+        return deflaters.size();
+    }
+
+    int pooledInflaters() {
+        return inflaters.size();
+    }
+}
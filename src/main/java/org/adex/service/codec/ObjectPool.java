@@ -0,0 +1,42 @@
+package org.adex.service.codec;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+final class ObjectPool<T> {
+
+    static final int DEFAULT_MAX_POOLED = Math.max(2, Runtime.getRuntime().availableProcessors() * 2);
+
+    private final int maxPooled;
+    private final Queue<T> items = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pooled = new AtomicInteger();
+
+    ObjectPool(int maxPooled) {
+        if (maxPooled <= 0) {
+            throw new IllegalArgumentException("Pool size must be positive");
+        }
+        this.maxPooled = maxPooled;
+    }
+
+    T poll() {
+        T item = items.poll();
+        if (item != null) {
+            pooled.decrementAndGet();
+        }
+        return item;
+    }
+
+    boolean offer(T item) {
+        if (pooled.incrementAndGet() <= maxPooled) {
+            items.offer(item);
+            return true;
+        }
+        pooled.decrementAndGet();
+        return false;
+    }
+
+    int size() {
+        return pooled.get();
+    }
+}
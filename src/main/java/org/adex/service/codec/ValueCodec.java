@@ -0,0 +1,14 @@
+package org.adex.service.codec;
+
+import java.nio.ByteBuffer;
+
+public interface ValueCodec {
+
+    byte id();
+
+    int maxCompressedLength(int length);
+
+    int compress(ByteBuffer source, ByteBuffer target);
+
+    void decompress(ByteBuffer source, ByteBuffer target);
+}
@@ -0,0 +1,114 @@
+package org.adex.service.codec;
+
+import org.adex.service.stats.CompressionStats;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+public class ValueCompressor {
+
+    private static final int INITIAL_SCRATCH_SIZE = 64 * 1024;
+    static final int MAX_POOLED_SCRATCH_SIZE = 1024 * 1024;
+
+    private final ValueCodec codec;
+    private final int threshold;
+    private final ObjectPool<ByteBuffer> scratch = new ObjectPool<>(ObjectPool.DEFAULT_MAX_POOLED);
+
+    private final LongAdder compressionCount = new LongAdder();
+    private final LongAdder compressedCount = new LongAdder();
+    private final LongAdder rawBytes = new LongAdder();
+    private final LongAdder storedBytes = new LongAdder();
+    private final LongAdder compressionNanos = new LongAdder();
+    private final LongAdder decompressionCount = new LongAdder();
+    private final LongAdder decompressionNanos = new LongAdder();
+
+    public ValueCompressor(ValueCodec codec, int threshold) {
+        this.codec = Objects.requireNonNull(codec, "Codec cannot be null");
+        if (threshold < 0) {
+            throw new IllegalArgumentException("Threshold cannot be negative");
+        }
+        this.threshold = threshold;
+    }
+
+    public ValueCodec codec() {
+        return codec;
+    }
+
+    public int threshold() {
+        return threshold;
+    }
+
+    public ByteBuffer compress(ByteBuffer source) {
+        int length = source.remaining();
+        rawBytes.add(length);
+        if (length < threshold) {
+            storedBytes.add(length);
+            return null;
+        }
+
+        ByteBuffer target = acquire(codec.maxCompressedLength(length));
+        int compressed;
+        long start = System.nanoTime();
+        try {
+            compressed = codec.compress(source.duplicate(), target);
+        } catch (RuntimeException e) {
+            release(target);
+            throw e;
+        }
+        compressionNanos.add(System.nanoTime() - start);
+        compressionCount.increment();
+
+        if (compressed < 0 || compressed >= length) {
+            release(target);
+            storedBytes.add(length);
+            return null;
+        }
+        compressedCount.increment();
+        storedBytes.add(compressed);
+        return target.flip();
+    }
+
+    public void decompress(ByteBuffer source, ByteBuffer target) {
+        long start = System.nanoTime();
+        codec.decompress(source.duplicate(), target);
+        decompressionNanos.add(System.nanoTime() - start);
+        decompressionCount.increment();
+    }
+
+    public ByteBuffer decompress(ByteBuffer source, int rawLength) {
+        ByteBuffer target = acquire(rawLength).limit(rawLength);
+        try {
+            decompress(source, target);
+        } catch (RuntimeException e) {
+            release(target);
+            throw e;
+        }
+        return target.flip();
+    }
+
+    public void release(ByteBuffer buffer) {
+        if (buffer != null && buffer.isDirect()
+                && buffer.capacity() >= INITIAL_SCRATCH_SIZE && buffer.capacity() <= MAX_POOLED_SCRATCH_SIZE) {
+            scratch.offer(buffer);
+        }
+    }
+
+    public CompressionStats stats() {
+        return new CompressionStats(compressionCount.sum(), compressedCount.sum(), rawBytes.sum(), storedBytes.sum(),
+                compressionNanos.sum(), decompressionCount.sum(), decompressionNanos.sum());
+    }
+
+    int pooledBuffers() {
+        return scratch.size();
+    }
+
+    private ByteBuffer acquire(int capacity) {
+        ByteBuffer buffer = scratch.poll();
+        if (buffer == null || buffer.capacity() < capacity) {
+            buffer = ByteBuffer.allocateDirect(
+                    Math.max(INITIAL_SCRATCH_SIZE, Integer.highestOneBit(capacity - 1) << 1));
+        }
+        return buffer.clear();
+    }
+}
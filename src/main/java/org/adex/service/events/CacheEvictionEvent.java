@@ -0,0 +1,23 @@
+package org.adex.service.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+@Name("org.adex.cache.EvictionBatch")
+@Label("Cache Eviction Batch")
+@Category("Snappy Cache")
+@Description("Several entries evicted in one pass to fit a weight bound or a reduced capacity")
+@Threshold("0 ms")
+@StackTrace(false)
+public final class CacheEvictionEvent extends jdk.jfr.Event {
+
+    @Label("Evicted Entries")
+    public int evicted;
+
+    @Label("Reason")
+    public String reason;
+}
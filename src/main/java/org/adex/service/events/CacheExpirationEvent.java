@@ -0,0 +1,23 @@
+package org.adex.service.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+@Name("org.adex.cache.ExpirationSweep")
+@Label("Cache Expiration Sweep")
+@Category("Snappy Cache")
+@Description("A sweep removing expired entries from the cold end of the cache")
+@Threshold("0 ms")
+@StackTrace(false)
+public final class CacheExpirationEvent extends jdk.jfr.Event {
+
+    @Label("Scanned Entries")
+    public int scanned;
+
+    @Label("Expired Entries")
+    public int expired;
+}
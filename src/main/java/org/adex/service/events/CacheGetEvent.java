@@ -0,0 +1,23 @@
+package org.adex.service.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+@Name("org.adex.cache.Get")
+@Label("Cache Get")
+@Category("Snappy Cache")
+@Description("A lookup that took longer than the threshold, including lock wait")
+@Threshold("1 ms")
+@StackTrace(true)
+public final class CacheGetEvent extends jdk.jfr.Event {
+
+    @Label("Key Hash")
+    public int keyHash;
+
+    @Label("Hit")
+    public boolean hit;
+}
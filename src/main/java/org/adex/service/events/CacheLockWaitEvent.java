@@ -0,0 +1,17 @@
+package org.adex.service.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+@Name("org.adex.cache.LockWait")
+@Label("Cache Lock Wait")
+@Category("Snappy Cache")
+@Description("Time a thread spent blocked acquiring the cache lock")
+@Threshold("1 ms")
+@StackTrace(true)
+public final class CacheLockWaitEvent extends jdk.jfr.Event {
+}
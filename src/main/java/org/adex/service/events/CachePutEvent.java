@@ -0,0 +1,20 @@
+package org.adex.service.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+@Name("org.adex.cache.Put")
+@Label("Cache Put")
+@Category("Snappy Cache")
+@Description("A put or bulk put that took longer than the threshold, including lock wait and evictions")
+@Threshold("1 ms")
+@StackTrace(true)
+public final class CachePutEvent extends jdk.jfr.Event {
+
+    @Label("Entries")
+    public int entries;
+}
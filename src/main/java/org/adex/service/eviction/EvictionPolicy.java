@@ -8,7 +8,9 @@ public interface EvictionPolicy<T> {
 
     void onPut(T value);
 
-    void evict();
+    void onRestore(T value);
+
+    Node<T> evict();
 
     Node<T> head();
 
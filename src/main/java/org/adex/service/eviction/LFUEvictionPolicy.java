@@ -7,12 +7,16 @@ public class LFUEvictionPolicy<T> implements EvictionPolicy<T> {
     @Override
     public void onPut(T value) {}
 
+    @Override
+    public void onRestore(T value) {}
+
     @Override
     public void onGet(T value) {
     }
 
     @Override
-    public void evict() {
+    public Node<T> evict() {
+        return null;
     }
 
     @Override
@@ -33,6 +33,21 @@ public class LRUEvictionPolicy<T> implements EvictionPolicy<T> {
         addToFront(node);
     }
 
+    @Override
+    public void onRestore(T value) {
+        int hash = Objects.hashCode(value);
+
+        Node<T> node = store.get(hash);
+        if (node == null) {
+            node = new Node<>(value);
+            store.put(hash, node);
+        } else if (node.previous() != null) {
+            return;
+        }
+
+        addToBack(node);
+    }
+
     @Override
     public void onGet(T value) {
         var node = store.get(Objects.hashCode(value));
@@ -43,23 +58,16 @@ public class LRUEvictionPolicy<T> implements EvictionPolicy<T> {
     }
 
     @Override
-    public void evict() {
+    public Node<T> evict() {
         Node<T> toDelete = tail.previous();
 
-        if (toDelete == null) {
-            return;
+        if (toDelete == null || toDelete == head) {
+            return null;
         }
 
-        Node<T> newLast = toDelete.previous();
-        tail.previous(newLast);
-
-        if (newLast != null) {
-            newLast.next(tail);
-        }
-
-        store.remove(toDelete.value().hashCode());
-        toDelete.next(null);
-        toDelete.previous(null);
+        remove(toDelete);
+        store.evict(toDelete.value().hashCode());
+        return toDelete;
     }
 
     @Override
@@ -77,17 +85,21 @@ public class LRUEvictionPolicy<T> implements EvictionPolicy<T> {
         var prev = node.previous();
         var next = node.next();
 
-        if (prev != null) prev.next(next);
-        if (next != null) next.previous(prev);
+        node.previous(null);
+        node.next(null);
+
+        if (prev != null && next != null) prev.next(next);
     }
 
     private void addToFront(Node<T> node) {
-        node.next(head.next());
+        Node<T> first = head.next();
         node.previous(head);
+        node.next(first);
+    }
 
-        if (head.next() != null) {
-            head.next().previous(node);
-        }
-        head.next(node);
+    private void addToBack(Node<T> node) {
+        Node<T> last = tail.previous();
+        node.next(tail);
+        node.previous(last);
     }
 }
\ No newline at end of file
@@ -0,0 +1,8 @@
+package org.adex.service.listener;
+
+public interface MutationListener<T> {
+
+    void onPut(T value);
+
+    void onRemoval(T value, RemovalCause cause);
+}
@@ -0,0 +1,9 @@
+package org.adex.service.listener;
+
+public enum RemovalCause {
+    SIZE, EXPIRED, EXPLICIT, REPLACED;
+
+    public boolean wasEvicted() {
+        return this == SIZE || this == EXPIRED;
+    }
+}
@@ -0,0 +1,7 @@
+package org.adex.service.listener;
+
+@FunctionalInterface
+public interface RemovalListener<T> {
+
+    void onRemoval(RemovalNotification<T> notification);
+}
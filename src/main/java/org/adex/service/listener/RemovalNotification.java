@@ -0,0 +1,4 @@
+package org.adex.service.listener;
+
+public record RemovalNotification<T>(T value, RemovalCause cause) {
+}
@@ -0,0 +1,68 @@
+package org.adex.service.listener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class RemovalNotifier<T> {
+
+    private static final int BATCH_SIZE = 64;
+
+    private final RemovalListener<T> listener;
+    private final Executor executor;
+    private final Queue<RemovalNotification<T>> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean draining = new AtomicBoolean();
+
+    public RemovalNotifier(RemovalListener<T> listener, Executor executor) {
+        this.listener = Objects.requireNonNull(listener, "Listener cannot be null");
+        this.executor = Objects.requireNonNull(executor, "Executor cannot be null");
+    }
+
+    public void enqueue(T value, RemovalCause cause) {
+        pending.offer(new RemovalNotification<>(value, cause));
+    }
+
+    public void dispatch() {
+        if (pending.isEmpty() || !draining.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            draining.set(false);
+        }
+    }
+
+    private void drain() {
+        try {
+            List<RemovalNotification<T>> batch = new ArrayList<>(BATCH_SIZE);
+            RemovalNotification<T> notification;
+            while ((notification = pending.poll()) != null) {
+                batch.add(notification);
+                if (batch.size() == BATCH_SIZE) {
+                    deliver(batch);
+                }
+            }
+            deliver(batch);
+        } finally {
+            draining.set(false);
+        }
+        dispatch();
+    }
+
+    private void deliver(List<RemovalNotification<T>> batch) {
+        for (RemovalNotification<T> notification : batch) {
+            try {
+                listener.onRemoval(notification);
+            } catch (RuntimeException e) {
+                // a failing listener must not drop the rest of the batch
+            }
+        }
+        batch.clear();
+    }
+}
@@ -0,0 +1,56 @@
+package org.adex.service.memory;
+
+import java.lang.management.MemoryPoolMXBean;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+final class CollectionThresholds {
+
+    private static final Map<String, Registration> registrations = new HashMap<>();
+
+    private CollectionThresholds() {
+    }
+
+    static synchronized void acquire(Object owner, List<MemoryPoolMXBean> pools, double highWatermark) {
+        for (MemoryPoolMXBean pool : pools) {
+            Registration registration = registrations.computeIfAbsent(pool.getName(),
+                    name -> new Registration(pool.getCollectionUsageThreshold()));
+            registration.requested.put(owner, (long) (pool.getUsage().getMax() * highWatermark));
+            registration.apply(pool);
+        }
+    }
+
+    static synchronized void release(Object owner, List<MemoryPoolMXBean> pools) {
+        for (MemoryPoolMXBean pool : pools) {
+            Registration registration = registrations.get(pool.getName());
+            if (registration == null || registration.requested.remove(owner) == null) {
+                continue;
+            }
+            if (registration.requested.isEmpty()) {
+                registrations.remove(pool.getName());
+                pool.setCollectionUsageThreshold(registration.original);
+            } else {
+                registration.apply(pool);
+            }
+        }
+    }
+
+    private static final class Registration {
+        private final long original;
+        private final Map<Object, Long> requested = new IdentityHashMap<>();
+
+        private Registration(long original) {
+            this.original = original;
+        }
+
+        private void apply(MemoryPoolMXBean pool) {
+            long threshold = original > 0 ? original : Long.MAX_VALUE;
+            for (long value : requested.values()) {
+                threshold = Math.min(threshold, value);
+            }
+            pool.setCollectionUsageThreshold(threshold);
+        }
+    }
+}
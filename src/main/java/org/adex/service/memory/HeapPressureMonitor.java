@@ -0,0 +1,135 @@
+package org.adex.service.memory;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryNotificationInfo;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public class HeapPressureMonitor implements NotificationListener, AutoCloseable {
+
+    public interface Listener {
+
+        void onPressure();
+
+        void onRelief();
+    }
+
+    private final double highWatermark;
+    private final double lowWatermark;
+    private final long pollIntervalMillis;
+    private final Listener listener;
+    private final List<MemoryPoolMXBean> pools;
+    private ScheduledExecutorService poller;
+    private long lastCollections = -1;
+
+    public HeapPressureMonitor(double highWatermark, double lowWatermark, long pollIntervalMillis, Listener listener) {
+        if (lowWatermark <= 0 || highWatermark >= 1 || lowWatermark >= highWatermark) {
+            throw new IllegalArgumentException("Watermarks must satisfy 0 < low < high < 1");
+        }
+        this.highWatermark = highWatermark;
+        this.lowWatermark = lowWatermark;
+        this.pollIntervalMillis = pollIntervalMillis;
+        this.listener = Objects.requireNonNull(listener, "Listener cannot be null");
+        this.pools = tenuredPools();
+    }
+
+    public synchronized HeapPressureMonitor start() {
+        if (poller != null) {
+            throw new IllegalStateException("Monitor is already started");
+        }
+        CollectionThresholds.acquire(this, pools, highWatermark);
+        ((NotificationEmitter) ManagementFactory.getMemoryMXBean()).addNotificationListener(this,
+                n -> MemoryNotificationInfo.MEMORY_COLLECTION_THRESHOLD_EXCEEDED.equals(n.getType()), null);
+
+        poller = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "snappy-cache-heap-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        poller.scheduleWithFixedDelay(() -> poll(collections(), occupancy()),
+                pollIntervalMillis, pollIntervalMillis, TimeUnit.MILLISECONDS);
+        return this;
+    }
+
+    @Override
+    public void handleNotification(Notification notification, Object handback) {
+        MemoryUsage usage = MemoryNotificationInfo.from((CompositeData) notification.getUserData()).getUsage();
+        if ((double) usage.getUsed() / usage.getMax() >= highWatermark) {
+            poll(collections(), occupancy());
+        }
+    }
+
+    public double occupancy() {
+        double occupancy = 0;
+        for (MemoryPoolMXBean pool : pools) {
+            MemoryUsage usage = pool.getCollectionUsage();
+            if (usage != null && usage.getMax() > 0) {
+                occupancy = Math.max(occupancy, (double) usage.getUsed() / usage.getMax());
+            }
+        }
+        return occupancy;
+    }
+
+    synchronized void poll(long collections, double occupancy) {
+        if (collections == lastCollections) {
+            return;
+        }
+        lastCollections = collections;
+        check(occupancy);
+    }
+
+    void check(double occupancy) {
+        if (occupancy >= highWatermark) {
+            listener.onPressure();
+        } else if (occupancy <= lowWatermark) {
+            listener.onRelief();
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (poller == null) {
+            return;
+        }
+        poller.shutdownNow();
+        poller = null;
+        try {
+            ((NotificationEmitter) ManagementFactory.getMemoryMXBean()).removeNotificationListener(this);
+        } catch (ListenerNotFoundException e) {
+            // already removed
+        }
+        CollectionThresholds.release(this, pools);
+    }
+
+    private static long collections() {
+        long collections = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            collections += Math.max(0, collector.getCollectionCount());
+        }
+        return collections;
+    }
+
+    private static List<MemoryPoolMXBean> tenuredPools() {
+        List<MemoryPoolMXBean> candidates = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .filter(MemoryPoolMXBean::isCollectionUsageThresholdSupported)
+                .filter(pool -> pool.getUsage().getMax() > 0)
+                .toList();
+        List<MemoryPoolMXBean> tenured = candidates.stream()
+                .filter(pool -> pool.getName().contains("Old") || pool.getName().contains("Tenured"))
+                .toList();
+        return tenured.isEmpty() ? candidates : tenured;
+    }
+}
@@ -0,0 +1,166 @@
+package org.adex.service.memory;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public final class SlabAllocator {
+
+    public static final int DEFAULT_SLAB_SIZE = 1024 * 1024;
+    static final int MIN_SLOT_SIZE = 64;
+
+    private final long maxBytes;
+    private final int slabSize;
+    private final int classes;
+    private final List<ByteBuffer> slabs = new ArrayList<>();
+    private final List<Integer> slabClasses = new ArrayList<>();
+    private final long[][] freeSlots;
+    private final int[] freeCounts;
+    private final int[] slabCounts;
+
+    public SlabAllocator(long maxBytes) {
+        this(maxBytes, DEFAULT_SLAB_SIZE);
+    }
+
+    public SlabAllocator(long maxBytes, int slabSize) {
+        if (slabSize < MIN_SLOT_SIZE || Integer.bitCount(slabSize) != 1) {
+            throw new IllegalArgumentException("Slab size must be a power of two of at least " + MIN_SLOT_SIZE);
+        }
+        if (maxBytes < slabSize) {
+            throw new IllegalArgumentException("Maximum bytes must hold at least one slab");
+        }
+        this.maxBytes = maxBytes;
+        this.slabSize = slabSize;
+        this.classes = Integer.numberOfTrailingZeros(slabSize) - Integer.numberOfTrailingZeros(MIN_SLOT_SIZE) + 1;
+        this.freeSlots = new long[classes][];
+        this.freeCounts = new int[classes];
+        this.slabCounts = new int[classes];
+        for (int i = 0; i < classes; i++) {
+            freeSlots[i] = new long[16];
+        }
+    }
+
+    public int sizeClass(int bytes) {
+        if (bytes < 0 || bytes > slabSize) {
+            return -1;
+        }
+        int slot = Math.max(MIN_SLOT_SIZE, Integer.highestOneBit(Math.max(1, bytes - 1)) << 1);
+        return Integer.numberOfTrailingZeros(slot) - Integer.numberOfTrailingZeros(MIN_SLOT_SIZE);
+    }
+
+    public int classes() {
+        return classes;
+    }
+
+    public int slotSize(int sizeClass) {
+        return MIN_SLOT_SIZE << sizeClass;
+    }
+
+    public int slotsPerSlab(int sizeClass) {
+        return slabSize / slotSize(sizeClass);
+    }
+
+    public int slabs(int sizeClass) {
+        return slabCounts[sizeClass];
+    }
+
+    public int slabOf(long handle) {
+        return slab(handle);
+    }
+
+    public int slabClass(int slab) {
+        return slabClasses.get(slab);
+    }
+
+    public int slabCount() {
+        return slabs.size();
+    }
+
+    public long allocate(int sizeClass) {
+        if (freeCounts[sizeClass] == 0 && !carve(sizeClass)) {
+            return -1;
+        }
+        return freeSlots[sizeClass][--freeCounts[sizeClass]];
+    }
+
+    public void free(long handle) {
+        int sizeClass = slabClasses.get(slab(handle));
+        long[] slots = freeSlots[sizeClass];
+        if (freeCounts[sizeClass] == slots.length) {
+            slots = freeSlots[sizeClass] = Arrays.copyOf(slots, slots.length * 2);
+        }
+        slots[freeCounts[sizeClass]++] = handle;
+    }
+
+    public void reassign(int slab, int sizeClass) {
+        int previous = slabClasses.get(slab);
+        if (previous == sizeClass) {
+            return;
+        }
+        long[] slots = freeSlots[previous];
+        int free = 0;
+        for (int i = 0; i < freeCounts[previous]; i++) {
+            if (slab(slots[i]) == slab) {
+                free++;
+            }
+        }
+        if (free != slotsPerSlab(previous)) {
+            throw new IllegalStateException("Slab " + slab + " still has live allocations");
+        }
+        int kept = 0;
+        for (int i = 0; i < freeCounts[previous]; i++) {
+            if (slab(slots[i]) != slab) {
+                slots[kept++] = slots[i];
+            }
+        }
+        freeCounts[previous] = kept;
+        slabCounts[previous]--;
+        slabClasses.set(slab, sizeClass);
+        split(slab, sizeClass);
+    }
+
+    public ByteBuffer region(long handle) {
+        int slab = slab(handle);
+        return slabs.get(slab).slice(offset(handle), slotSize(slabClasses.get(slab)));
+    }
+
+    public long allocatedBytes() {
+        return (long) slabs.size() * slabSize;
+    }
+
+    public long maxBytes() {
+        return maxBytes;
+    }
+
+    private boolean carve(int sizeClass) {
+        if (allocatedBytes() + slabSize > maxBytes) {
+            return false;
+        }
+        int slab = slabs.size();
+        slabs.add(ByteBuffer.allocateDirect(slabSize));
+        slabClasses.add(sizeClass);
+        split(slab, sizeClass);
+        return true;
+    }
+
+    private void split(int slab, int sizeClass) {
+        slabCounts[sizeClass]++;
+        int slotSize = slotSize(sizeClass);
+        int slots = slabSize / slotSize;
+        if (freeSlots[sizeClass].length < freeCounts[sizeClass] + slots) {
+            freeSlots[sizeClass] = Arrays.copyOf(freeSlots[sizeClass], freeCounts[sizeClass] + slots);
+        }
+        for (int i = slots - 1; i >= 0; i--) {
+            freeSlots[sizeClass][freeCounts[sizeClass]++] = ((long) slab << 32) | ((long) i * slotSize);
+        }
+    }
+
+    private static int slab(long handle) {
+        return (int) (handle >>> 32);
+    }
+
+    private static int offset(long handle) {
+        return (int) handle;
+    }
+}
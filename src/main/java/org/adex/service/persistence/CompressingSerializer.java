@@ -0,0 +1,68 @@
+package org.adex.service.persistence;
+
+import org.adex.service.codec.ValueCompressor;
+import org.adex.service.stats.CompressionStats;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+public class CompressingSerializer<T> implements Serializer<T> {
+
+    private static final byte RAW = 0;
+    private static final int HEADER = 1 + 4;
+
+    private final Serializer<T> delegate;
+    private final ValueCompressor compressor;
+
+    public CompressingSerializer(Serializer<T> delegate, ValueCompressor compressor) {
+        this.delegate = Objects.requireNonNull(delegate, "Serializer cannot be null");
+        this.compressor = Objects.requireNonNull(compressor, "Compressor cannot be null");
+        if (compressor.codec().id() == RAW) {
+            throw new IllegalArgumentException("Codec id " + RAW + " is reserved for uncompressed values");
+        }
+    }
+
+    @Override
+    public byte[] serialize(T value) {
+        byte[] raw = delegate.serialize(value);
+        ByteBuffer compressed = compressor.compress(ByteBuffer.wrap(raw));
+        if (compressed == null) {
+            byte[] bytes = new byte[1 + raw.length];
+            bytes[0] = RAW;
+            System.arraycopy(raw, 0, bytes, 1, raw.length);
+            return bytes;
+        }
+
+        byte[] bytes = new byte[HEADER + compressed.remaining()];
+        ByteBuffer.wrap(bytes)
+                .put(compressor.codec().id())
+                .putInt(raw.length)
+                .put(compressed);
+        compressor.release(compressed);
+        return bytes;
+    }
+
+    @Override
+    public T deserialize(byte[] bytes) {
+        if (bytes.length == 0) {
+            throw new IllegalStateException("Serialized value is missing its codec header");
+        }
+        if (bytes[0] == RAW) {
+            byte[] raw = new byte[bytes.length - 1];
+            System.arraycopy(bytes, 1, raw, 0, raw.length);
+            return delegate.deserialize(raw);
+        }
+        if (bytes[0] != compressor.codec().id()) {
+            throw new IllegalStateException("Unknown codec id " + bytes[0]);
+        }
+
+        ByteBuffer source = ByteBuffer.wrap(bytes, HEADER, bytes.length - HEADER);
+        byte[] raw = new byte[ByteBuffer.wrap(bytes, 1, 4).getInt()];
+        compressor.decompress(source, ByteBuffer.wrap(raw));
+        return delegate.deserialize(raw);
+    }
+
+    public CompressionStats stats() {
+        return compressor.stats();
+    }
+}
@@ -0,0 +1,92 @@
+package org.adex.service.persistence;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+final class ReadAheadReader {
+
+    private static final int CHUNK_SIZE = 1024 * 1024;
+
+    private final FileChannel channel;
+    private final Executor executor;
+    private ByteBuffer current = ByteBuffer.allocateDirect(2 * CHUNK_SIZE).flip();
+    private ByteBuffer next = ByteBuffer.allocateDirect(CHUNK_SIZE);
+    private CompletableFuture<Integer> pending;
+    private long filePosition;
+    private long consumed;
+
+    ReadAheadReader(FileChannel channel, Executor executor) {
+        this.channel = channel;
+        this.executor = executor;
+        prefetch();
+    }
+
+    ByteBuffer buffer() {
+        return current;
+    }
+
+    long position() {
+        return consumed + current.position();
+    }
+
+    boolean ensure(int bytes) throws IOException {
+        while (current.remaining() < bytes) {
+            if (!refill(bytes)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean refill(int bytes) throws IOException {
+        int read;
+        try {
+            read = pending.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException io) {
+                throw io.getCause();
+            }
+            throw e;
+        }
+        if (read <= 0) {
+            return false;
+        }
+        filePosition += read;
+
+        consumed += current.position();
+        current.compact();
+        next.flip();
+        if (current.remaining() < next.remaining() || current.capacity() < bytes) {
+            ByteBuffer larger = ByteBuffer.allocateDirect(
+                    Math.max(current.capacity() * 2, current.position() + next.remaining() + bytes));
+            larger.put(current.flip());
+            current = larger;
+        }
+        current.put(next).flip();
+        next.clear();
+        prefetch();
+        return true;
+    }
+
+    private void prefetch() {
+        ByteBuffer target = next;
+        long position = filePosition;
+        pending = CompletableFuture.supplyAsync(() -> {
+            try {
+                int total = 0;
+                int read;
+                while (target.hasRemaining() && (read = channel.read(target, position + total)) > 0) {
+                    total += read;
+                }
+                return total;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, executor);
+    }
+}
@@ -0,0 +1,8 @@
+package org.adex.service.persistence;
+
+public interface Serializer<T> {
+
+    byte[] serialize(T value);
+
+    T deserialize(byte[] bytes);
+}
@@ -0,0 +1,179 @@
+package org.adex.service.persistence;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.ToIntFunction;
+import java.util.stream.IntStream;
+import java.util.zip.CRC32C;
+
+public final class SnapshotFile {
+
+    static final int MAGIC = 0x534E4150;
+    static final int VERSION = 1;
+    static final int CHUNK_ENTRIES = 4096;
+    private static final int FILE_HEADER = 4 + 4 + 4;
+    private static final int CHUNK_HEADER = 4 + 4 + 4;
+    private static final int READ_AHEAD_CHUNKS = Math.min(8, Math.max(2, Runtime.getRuntime().availableProcessors()));
+
+    private SnapshotFile() {
+    }
+
+    public static <T> void write(Path file, List<T> values, Serializer<T> serializer) {
+        Objects.requireNonNull(file, "File cannot be null");
+        Objects.requireNonNull(values, "Values cannot be null");
+        Objects.requireNonNull(serializer, "Serializer cannot be null");
+
+        int chunks = (values.size() + CHUNK_ENTRIES - 1) / CHUNK_ENTRIES;
+        List<ByteBuffer> encoded = IntStream.range(0, chunks)
+                .parallel()
+                .mapToObj(chunk -> encode(values.subList(chunk * CHUNK_ENTRIES,
+                        Math.min(values.size(), (chunk + 1) * CHUNK_ENTRIES)), serializer))
+                .toList();
+
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer[] buffers = new ByteBuffer[chunks + 1];
+            buffers[0] = ByteBuffer.allocate(FILE_HEADER).putInt(MAGIC).putInt(VERSION).putInt(chunks).flip();
+            for (int i = 0; i < chunks; i++) {
+                buffers[i + 1] = encoded.get(i);
+            }
+            while (buffers[chunks].hasRemaining()) {
+                channel.write(buffers);
+            }
+            channel.force(true);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        try {
+            Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static <T> int read(Path file, Serializer<T> serializer, Executor executor, ToIntFunction<List<T>> consumer) {
+        Objects.requireNonNull(file, "File cannot be null");
+        Objects.requireNonNull(serializer, "Serializer cannot be null");
+        Objects.requireNonNull(executor, "Executor cannot be null");
+        Objects.requireNonNull(consumer, "Consumer cannot be null");
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            ByteBuffer header = ByteBuffer.allocate(FILE_HEADER);
+            if (size < FILE_HEADER || !readFully(channel, header, 0)
+                    || header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+                throw new IllegalStateException("Not a cache snapshot: " + file);
+            }
+            int chunks = header.getInt(8);
+
+            Deque<CompletableFuture<List<T>>> decoded = new ArrayDeque<>(READ_AHEAD_CHUNKS);
+            ByteBuffer chunkHeader = ByteBuffer.allocate(CHUNK_HEADER);
+            long offset = FILE_HEADER;
+            int mapped = 0;
+            int restored = 0;
+            try {
+                while (true) {
+                    while (mapped < chunks && decoded.size() < READ_AHEAD_CHUNKS) {
+                        if (!readFully(channel, chunkHeader.clear(), offset)) {
+                            throw new IllegalStateException("Truncated cache snapshot: " + file);
+                        }
+                        int entries = chunkHeader.getInt(0);
+                        int length = chunkHeader.getInt(4);
+                        if (entries < 0 || length < 0 || length > Integer.MAX_VALUE - CHUNK_HEADER
+                                || size - offset < CHUNK_HEADER + (long) length) {
+                            throw new IllegalStateException("Truncated cache snapshot: " + file);
+                        }
+                        ByteBuffer chunk = channel.map(FileChannel.MapMode.READ_ONLY, offset, CHUNK_HEADER + length);
+                        offset += CHUNK_HEADER + length;
+                        mapped++;
+                        decoded.add(CompletableFuture.supplyAsync(() -> decode(chunk, serializer), executor));
+                    }
+                    CompletableFuture<List<T>> next = decoded.poll();
+                    if (next == null) {
+                        return restored;
+                    }
+                    List<T> values = next.join();
+                    int applied = consumer.applyAsInt(values);
+                    restored += applied;
+                    if (applied < values.size()) {
+                        return restored;
+                    }
+                }
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            } finally {
+                decoded.forEach(chunk -> chunk.cancel(false));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static <T> ByteBuffer encode(List<T> values, Serializer<T> serializer) {
+        List<byte[]> payloads = new ArrayList<>(values.size());
+        int length = 0;
+        for (T value : values) {
+            byte[] payload = serializer.serialize(value);
+            payloads.add(payload);
+            length += 4 + payload.length;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(CHUNK_HEADER + length)
+                .putInt(values.size())
+                .putInt(length)
+                .putInt(0);
+        for (byte[] payload : payloads) {
+            buffer.putInt(payload.length).put(payload);
+        }
+        CRC32C checksum = new CRC32C();
+        checksum.update(buffer.slice(CHUNK_HEADER, length));
+        return buffer.putInt(8, (int) checksum.getValue()).flip();
+    }
+
+    private static boolean readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static <T> List<T> decode(ByteBuffer chunk, Serializer<T> serializer) {
+        int entries = chunk.getInt();
+        int length = chunk.getInt();
+        int stored = chunk.getInt();
+        CRC32C checksum = new CRC32C();
+        checksum.update(chunk.slice(CHUNK_HEADER, length));
+        if ((int) checksum.getValue() != stored) {
+            throw new IllegalStateException("Corrupt cache snapshot chunk");
+        }
+
+        List<T> values = new ArrayList<>(entries);
+        for (int i = 0; i < entries; i++) {
+            byte[] payload = new byte[chunk.getInt()];
+            chunk.get(payload);
+            values.add(serializer.deserialize(payload));
+        }
+        return values;
+    }
+}
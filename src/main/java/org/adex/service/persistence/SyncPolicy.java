@@ -0,0 +1,5 @@
+package org.adex.service.persistence;
+
+public enum SyncPolicy {
+    ALWAYS, INTERVAL, NEVER
+}
@@ -0,0 +1,468 @@
+package org.adex.service.persistence;
+
+import org.adex.service.listener.MutationListener;
+import org.adex.service.listener.RemovalCause;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+public class WriteAheadLog<T> implements MutationListener<T>, AutoCloseable {
+
+    static final byte PUT = 1;
+    static final byte REMOVE = 2;
+
+    private static final String SEGMENT_SUFFIX = ".wal";
+    private static final String SNAPSHOT_SUFFIX = ".snapshot";
+    private static final int RECORD_HEADER = 4 + 4 + 1 + 8;
+    private static final int MAX_RECORD_SIZE = 64 * 1024 * 1024;
+    private static final long DEFAULT_SEGMENT_SIZE = 64L * 1024 * 1024;
+
+    private final Path directory;
+    private final Serializer<T> serializer;
+    private SyncPolicy syncPolicy = SyncPolicy.ALWAYS;
+    private long syncIntervalNanos = TimeUnit.MILLISECONDS.toNanos(100);
+    private long segmentSize = DEFAULT_SEGMENT_SIZE;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition appended = lock.newCondition();
+    private final Condition synced = lock.newCondition();
+    private final ReentrantLock segmentLock = new ReentrantLock();
+    private final CRC32C checksum = new CRC32C();
+
+    private ByteBuffer pending = ByteBuffer.allocate(64 * 1024);
+    private ByteBuffer writing = ByteBuffer.allocate(64 * 1024);
+    private volatile long appendedSequence;
+    private long writtenSequence;
+    private volatile long durableSequence;
+    private volatile RuntimeException failure;
+
+    private FileChannel segment;
+    private long segmentBytes;
+    private Thread flusher;
+    private volatile boolean running;
+
+    public WriteAheadLog(Path directory, Serializer<T> serializer) {
+        this.directory = Objects.requireNonNull(directory, "Directory cannot be null");
+        this.serializer = Objects.requireNonNull(serializer, "Serializer cannot be null");
+    }
+
+    public WriteAheadLog<T> withSyncPolicy(SyncPolicy syncPolicy, long intervalMillis) {
+        if (intervalMillis <= 0) {
+            throw new IllegalArgumentException("Sync interval must be positive");
+        }
+        this.syncPolicy = Objects.requireNonNull(syncPolicy, "Sync policy cannot be null");
+        this.syncIntervalNanos = TimeUnit.MILLISECONDS.toNanos(intervalMillis);
+        return this;
+    }
+
+    public WriteAheadLog<T> withSegmentSize(long segmentSize) {
+        if (segmentSize < 1024) {
+            throw new IllegalArgumentException("Segment size must be at least 1024 bytes");
+        }
+        this.segmentSize = segmentSize;
+        return this;
+    }
+
+    public synchronized long recover(MutationListener<T> target) {
+        Objects.requireNonNull(target, "Target cannot be null");
+        if (running) {
+            throw new IllegalStateException("Log is already open");
+        }
+
+        try (ExecutorService readers = Executors.newVirtualThreadPerTaskExecutor()) {
+            Files.createDirectories(directory);
+            long base = 0;
+            Path snapshot = latest(SNAPSHOT_SUFFIX);
+            if (snapshot != null) {
+                base = sequenceOf(snapshot);
+                replay(snapshot, Long.MIN_VALUE, target, readers);
+            }
+
+            long last = base;
+            for (Path file : files(SEGMENT_SUFFIX)) {
+                if (Files.exists(file)) {
+                    last = Math.max(last, replay(file, base, target, readers));
+                }
+            }
+
+            appendedSequence = writtenSequence = durableSequence = last;
+            openSegment(last + 1);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        running = true;
+        flusher = Thread.ofPlatform().daemon().name("snappy-cache-wal").start(this::flushLoop);
+        return durableSequence;
+    }
+
+    @Override
+    public void onPut(T value) {
+        append(PUT, value);
+    }
+
+    @Override
+    public void onRemoval(T value, RemovalCause cause) {
+        append(REMOVE, value);
+    }
+
+    public void awaitDurable() {
+        checkWritable();
+        long sequence = appendedSequence;
+        if (syncPolicy != SyncPolicy.ALWAYS || sequence <= durableSequence) {
+            return;
+        }
+
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            while (durableSequence < sequence) {
+                if (failure != null) {
+                    throw new IllegalStateException("Write-ahead log has failed", failure);
+                }
+                synced.awaitUninterruptibly();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void checkWritable() {
+        final RuntimeException failure = this.failure;
+        if (failure != null) {
+            throw new IllegalStateException("Write-ahead log has failed", failure);
+        }
+        if (!running) {
+            throw new IllegalStateException("Log is not open");
+        }
+    }
+
+    public long durableSequence() {
+        return durableSequence;
+    }
+
+    public void compact(Stream<T> live) {
+        Objects.requireNonNull(live, "Live entries cannot be null");
+        if (!running) {
+            throw new IllegalStateException("Log is not open");
+        }
+
+        long base;
+        segmentLock.lock();
+        try {
+            base = writtenSequence;
+            closeSegment();
+            openSegment(base + 1);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            segmentLock.unlock();
+        }
+
+        Path target = directory.resolve(name(base, SNAPSHOT_SUFFIX));
+        Path temporary = directory.resolve(name(base, SNAPSHOT_SUFFIX + ".tmp"));
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocate(1024 * 1024);
+            CRC32C checksum = new CRC32C();
+            Iterator<T> values = live.iterator();
+            while (values.hasNext()) {
+                byte[] payload = serializer.serialize(values.next());
+                if (buffer.remaining() < RECORD_HEADER + payload.length) {
+                    writeFully(channel, buffer.flip());
+                    buffer.clear();
+                    if (buffer.capacity() < RECORD_HEADER + payload.length) {
+                        buffer = ByteBuffer.allocate(RECORD_HEADER + payload.length);
+                    }
+                }
+                encode(buffer, checksum, PUT, base, payload);
+            }
+            writeFully(channel, buffer.flip());
+            channel.force(true);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        try {
+            Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            for (Path file : files(SNAPSHOT_SUFFIX)) {
+                if (sequenceOf(file) < base) {
+                    Files.deleteIfExists(file);
+                }
+            }
+            for (Path file : files(SEGMENT_SUFFIX)) {
+                if (sequenceOf(file) <= base) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (!running) {
+            return;
+        }
+        lock.lock();
+        try {
+            running = false;
+            appended.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            flusher.join();
+            segmentLock.lock();
+            try {
+                closeSegment();
+            } finally {
+                segmentLock.unlock();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void append(byte operation, T value) {
+        if (!running || failure != null) {
+            return;
+        }
+        byte[] payload;
+        try {
+            payload = serializer.serialize(value);
+            if (payload.length > MAX_RECORD_SIZE) {
+                throw new IllegalArgumentException("Serialized value exceeds " + MAX_RECORD_SIZE + " bytes");
+            }
+        } catch (RuntimeException e) {
+            fail(e);
+            return;
+        }
+
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            if (!running || failure != null) {
+                return;
+            }
+            if (pending.remaining() < RECORD_HEADER + payload.length) {
+                ByteBuffer larger = ByteBuffer.allocate(
+                        Math.max(pending.capacity() * 2, pending.position() + RECORD_HEADER + payload.length));
+                pending = larger.put(pending.flip());
+            }
+            encode(pending, checksum, operation, ++appendedSequence, payload);
+            if (syncPolicy == SyncPolicy.ALWAYS) {
+                appended.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void flushLoop() {
+        final ReentrantLock lock = this.lock;
+        while (true) {
+            long target;
+            lock.lock();
+            try {
+                if (syncPolicy == SyncPolicy.ALWAYS) {
+                    while (running && pending.position() == 0) {
+                        appended.awaitUninterruptibly();
+                    }
+                } else if (running) {
+                    try {
+                        appended.awaitNanos(syncIntervalNanos);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                if (!running && pending.position() == 0) {
+                    return;
+                }
+
+                ByteBuffer batch = pending;
+                pending = writing.clear();
+                writing = batch;
+                target = appendedSequence;
+            } finally {
+                lock.unlock();
+            }
+
+            IOException error = null;
+            segmentLock.lock();
+            try {
+                if (writing.position() > 0) {
+                    writeFully(segment, writing.flip());
+                    segmentBytes += writing.limit();
+                }
+                writtenSequence = target;
+                if (syncPolicy != SyncPolicy.NEVER) {
+                    segment.force(false);
+                }
+                if (segmentBytes >= segmentSize) {
+                    closeSegment();
+                    openSegment(target + 1);
+                }
+            } catch (IOException e) {
+                error = e;
+            } finally {
+                segmentLock.unlock();
+            }
+
+            lock.lock();
+            try {
+                if (error != null) {
+                    failure = new UncheckedIOException(error);
+                } else {
+                    durableSequence = target;
+                }
+                synced.signalAll();
+            } finally {
+                lock.unlock();
+            }
+            if (error != null) {
+                return;
+            }
+        }
+    }
+
+    private void fail(RuntimeException error) {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            if (failure == null) {
+                failure = error;
+            }
+            synced.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long replay(Path file, long after, MutationListener<T> target, ExecutorService readers) throws IOException {
+        long last = 0;
+        long validLength = 0;
+        boolean torn = false;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ReadAheadReader reader = new ReadAheadReader(channel, readers);
+            CRC32C checksum = new CRC32C();
+            while (reader.ensure(4)) {
+                ByteBuffer buffer = reader.buffer();
+                int length = buffer.getInt(buffer.position());
+                if (length < RECORD_HEADER - 4 || length > MAX_RECORD_SIZE || !reader.ensure(4 + length)) {
+                    break;
+                }
+                buffer = reader.buffer();
+                int start = buffer.position();
+                int stored = buffer.getInt(start + 4);
+                checksum.reset();
+                checksum.update(buffer.slice(start + 8, length - 4));
+                if ((int) checksum.getValue() != stored) {
+                    break;
+                }
+
+                byte operation = buffer.get(start + 8);
+                long sequence = buffer.getLong(start + 9);
+                byte[] payload = new byte[length - 4 - 1 - 8];
+                buffer.get(start + RECORD_HEADER, payload);
+                buffer.position(start + 4 + length);
+                validLength = reader.position();
+
+                if (sequence > after) {
+                    T value = serializer.deserialize(payload);
+                    if (operation == PUT) {
+                        target.onPut(value);
+                    } else {
+                        target.onRemoval(value, RemovalCause.EXPLICIT);
+                    }
+                    last = Math.max(last, sequence);
+                }
+            }
+            torn = channel.size() > validLength;
+            if (torn) {
+                channel.truncate(validLength);
+                channel.force(true);
+            }
+        }
+
+        if (torn && file.getFileName().toString().endsWith(SEGMENT_SUFFIX)) {
+            for (Path later : files(SEGMENT_SUFFIX)) {
+                if (sequenceOf(later) > sequenceOf(file)) {
+                    Files.deleteIfExists(later);
+                }
+            }
+        }
+        return last;
+    }
+
+    private static void encode(ByteBuffer buffer, CRC32C checksum, byte operation, long sequence, byte[] payload) {
+        int start = buffer.position();
+        buffer.putInt(RECORD_HEADER - 4 + payload.length)
+                .putInt(0)
+                .put(operation)
+                .putLong(sequence)
+                .put(payload);
+        checksum.reset();
+        checksum.update(buffer.slice(start + 8, buffer.position() - start - 8));
+        buffer.putInt(start + 4, (int) checksum.getValue());
+    }
+
+    private void openSegment(long firstSequence) throws IOException {
+        segment = FileChannel.open(directory.resolve(name(firstSequence, SEGMENT_SUFFIX)),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        segmentBytes = segment.size();
+    }
+
+    private void closeSegment() throws IOException {
+        if (segment != null) {
+            segment.force(false);
+            segment.close();
+            segment = null;
+        }
+    }
+
+    private Path latest(String suffix) throws IOException {
+        List<Path> files = files(suffix);
+        return files.isEmpty() ? null : files.get(files.size() - 1);
+    }
+
+    private List<Path> files(String suffix) throws IOException {
+        try (Stream<Path> listing = Files.list(directory)) {
+            return listing.filter(path -> path.getFileName().toString().endsWith(suffix))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static long sequenceOf(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.indexOf('.')));
+    }
+
+    private static String name(long sequence, String suffix) {
+        return String.format("%020d%s", sequence, suffix);
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package org.adex.service.stats;
+
+import org.adex.service.listener.RemovalCause;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+public record CacheStats(long hitCount,
+                         long missCount,
+                         long putCount,
+                         Map<RemovalCause, Long> removalCounts,
+                         long loadSuccessCount,
+                         long loadFailureCount,
+                         long totalLoadTime,
+                         SortedMap<Integer, Double> estimatedHitRatios,
+                         Map<String, Long> hotKeys) {
+
+    private static final CacheStats EMPTY = new CacheStats(0, 0, 0, Map.of(), 0, 0, 0, new TreeMap<>(), Map.of());
+
+    public CacheStats {
+        removalCounts = Collections.unmodifiableMap(removalCounts.isEmpty()
+                ? new EnumMap<>(RemovalCause.class)
+                : new EnumMap<>(removalCounts));
+        estimatedHitRatios = Collections.unmodifiableSortedMap(new TreeMap<>(estimatedHitRatios));
+        hotKeys = Collections.unmodifiableMap(new LinkedHashMap<>(hotKeys));
+    }
+
+    public static CacheStats empty() {
+        return EMPTY;
+    }
+
+    public CacheStats withEstimatedHitRatios(SortedMap<Integer, Double> estimatedHitRatios) {
+        return new CacheStats(hitCount, missCount, putCount, removalCounts,
+                loadSuccessCount, loadFailureCount, totalLoadTime, estimatedHitRatios, hotKeys);
+    }
+
+    public CacheStats withHotKeys(Map<String, Long> hotKeys) {
+        return new CacheStats(hitCount, missCount, putCount, removalCounts,
+                loadSuccessCount, loadFailureCount, totalLoadTime, estimatedHitRatios, hotKeys);
+    }
+
+    public long requestCount() {
+        return hitCount + missCount;
+    }
+
+    public double hitRate() {
+        long requests = requestCount();
+        return requests == 0 ? 1.0 : (double) hitCount / requests;
+    }
+
+    public double missRate() {
+        long requests = requestCount();
+        return requests == 0 ? 0.0 : (double) missCount / requests;
+    }
+
+    public long removalCount(RemovalCause cause) {
+        return removalCounts.getOrDefault(cause, 0L);
+    }
+
+    public long evictionCount() {
+        return removalCount(RemovalCause.SIZE);
+    }
+
+    public long expirationCount() {
+        return removalCount(RemovalCause.EXPIRED);
+    }
+
+    public long loadCount() {
+        return loadSuccessCount + loadFailureCount;
+    }
+
+    public double averageLoadPenalty() {
+        long loads = loadCount();
+        return loads == 0 ? 0.0 : (double) totalLoadTime / loads;
+    }
+}
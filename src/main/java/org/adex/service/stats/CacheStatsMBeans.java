@@ -0,0 +1,130 @@
+package org.adex.service.stats;
+
+import org.adex.service.listener.RemovalCause;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.function.Supplier;
+
+public final class CacheStatsMBeans {
+
+    private static final String DOMAIN = "org.adex.service";
+
+    private CacheStatsMBeans() {
+    }
+
+    public static ObjectName register(String cacheName, Supplier<CacheStats> counters,
+                                      Supplier<SortedMap<Integer, Double>> estimatedHitRatios,
+                                      Supplier<Map<String, Long>> hotKeys) {
+        try {
+            ObjectName name = objectName(cacheName);
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            server.registerMBean(new CacheStatsView(counters, estimatedHitRatios, hotKeys), name);
+            return name;
+        } catch (InstanceAlreadyExistsException e) {
+            throw new IllegalStateException("Statistics for a cache named " + cacheName + " are already registered", e);
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot register statistics for cache " + cacheName, e);
+        }
+    }
+
+    public static void unregister(ObjectName name) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot unregister " + name, e);
+        }
+    }
+
+    public static ObjectName objectName(String cacheName) throws JMException {
+        return new ObjectName(DOMAIN + ":type=CacheStatistics,name=" + ObjectName.quote(cacheName));
+    }
+
+    private record CacheStatsView(Supplier<CacheStats> counters,
+                                  Supplier<SortedMap<Integer, Double>> estimatedHitRatios,
+                                  Supplier<Map<String, Long>> hotKeys) implements CacheStatsMXBean {
+
+        @Override
+        public long getHitCount() {
+            return counters.get().hitCount();
+        }
+
+        @Override
+        public long getMissCount() {
+            return counters.get().missCount();
+        }
+
+        @Override
+        public long getRequestCount() {
+            return counters.get().requestCount();
+        }
+
+        @Override
+        public double getHitRate() {
+            return counters.get().hitRate();
+        }
+
+        @Override
+        public long getPutCount() {
+            return counters.get().putCount();
+        }
+
+        @Override
+        public long getEvictionCount() {
+            return counters.get().evictionCount();
+        }
+
+        @Override
+        public long getExpirationCount() {
+            return counters.get().expirationCount();
+        }
+
+        @Override
+        public long getExplicitRemovalCount() {
+            return counters.get().removalCount(RemovalCause.EXPLICIT);
+        }
+
+        @Override
+        public long getReplacementCount() {
+            return counters.get().removalCount(RemovalCause.REPLACED);
+        }
+
+        @Override
+        public long getLoadSuccessCount() {
+            return counters.get().loadSuccessCount();
+        }
+
+        @Override
+        public long getLoadFailureCount() {
+            return counters.get().loadFailureCount();
+        }
+
+        @Override
+        public long getTotalLoadTime() {
+            return counters.get().totalLoadTime();
+        }
+
+        @Override
+        public double getAverageLoadPenalty() {
+            return counters.get().averageLoadPenalty();
+        }
+
+        @Override
+        public Map<Integer, Double> getEstimatedHitRatios() {
+            return estimatedHitRatios.get();
+        }
+
+        @Override
+        public Map<String, Long> getHotKeys() {
+            return hotKeys.get();
+        }
+    }
+}
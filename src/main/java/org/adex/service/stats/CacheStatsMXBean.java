@@ -0,0 +1,36 @@
+package org.adex.service.stats;
+
+import java.util.Map;
+
+public interface CacheStatsMXBean {
+
+    long getHitCount();
+
+    long getMissCount();
+
+    long getRequestCount();
+
+    double getHitRate();
+
+    long getPutCount();
+
+    long getEvictionCount();
+
+    long getExpirationCount();
+
+    long getExplicitRemovalCount();
+
+    long getReplacementCount();
+
+    long getLoadSuccessCount();
+
+    long getLoadFailureCount();
+
+    long getTotalLoadTime();
+
+    double getAverageLoadPenalty();
+
+    Map<Integer, Double> getEstimatedHitRatios();
+
+    Map<String, Long> getHotKeys();
+}
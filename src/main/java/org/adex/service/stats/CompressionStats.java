@@ -0,0 +1,22 @@
+package org.adex.service.stats;
+
+public record CompressionStats(long compressionCount,
+                               long compressedCount,
+                               long rawBytes,
+                               long storedBytes,
+                               long compressionNanos,
+                               long decompressionCount,
+                               long decompressionNanos) {
+
+    public double compressionRatio() {
+        return storedBytes == 0 ? 1.0 : (double) rawBytes / storedBytes;
+    }
+
+    public double averageCompressionNanos() {
+        return compressionCount == 0 ? 0.0 : (double) compressionNanos / compressionCount;
+    }
+
+    public double averageDecompressionNanos() {
+        return decompressionCount == 0 ? 0.0 : (double) decompressionNanos / decompressionCount;
+    }
+}
@@ -0,0 +1,67 @@
+package org.adex.service.stats;
+
+import org.adex.service.listener.RemovalCause;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+
+public class ConcurrentStatsCounter implements StatsCounter {
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder puts = new LongAdder();
+    private final LongAdder loadSuccesses = new LongAdder();
+    private final LongAdder loadFailures = new LongAdder();
+    private final LongAdder totalLoadTime = new LongAdder();
+    private final LongAdder[] removals = new LongAdder[RemovalCause.values().length];
+
+    public ConcurrentStatsCounter() {
+        for (int i = 0; i < removals.length; i++) {
+            removals[i] = new LongAdder();
+        }
+    }
+
+    @Override
+    public void recordHits(int count) {
+        hits.add(count);
+    }
+
+    @Override
+    public void recordMisses(int count) {
+        misses.add(count);
+    }
+
+    @Override
+    public void recordPuts(int count) {
+        puts.add(count);
+    }
+
+    @Override
+    public void recordRemoval(RemovalCause cause) {
+        removals[cause.ordinal()].increment();
+    }
+
+    @Override
+    public void recordLoadSuccess(long loadTimeNanos) {
+        loadSuccesses.increment();
+        totalLoadTime.add(loadTimeNanos);
+    }
+
+    @Override
+    public void recordLoadFailure(long loadTimeNanos) {
+        loadFailures.increment();
+        totalLoadTime.add(loadTimeNanos);
+    }
+
+    @Override
+    public CacheStats snapshot() {
+        Map<RemovalCause, Long> removalCounts = new EnumMap<>(RemovalCause.class);
+        for (RemovalCause cause : RemovalCause.values()) {
+            removalCounts.put(cause, removals[cause.ordinal()].sum());
+        }
+        return new CacheStats(hits.sum(), misses.sum(), puts.sum(), removalCounts,
+                loadSuccesses.sum(), loadFailures.sum(), totalLoadTime.sum(), new TreeMap<>(), Map.of());
+    }
+}
@@ -0,0 +1,36 @@
+package org.adex.service.stats;
+
+import org.adex.service.listener.RemovalCause;
+
+enum DisabledStatsCounter implements StatsCounter {
+    INSTANCE;
+
+    @Override
+    public void recordHits(int count) {
+    }
+
+    @Override
+    public void recordMisses(int count) {
+    }
+
+    @Override
+    public void recordPuts(int count) {
+    }
+
+    @Override
+    public void recordRemoval(RemovalCause cause) {
+    }
+
+    @Override
+    public void recordLoadSuccess(long loadTimeNanos) {
+    }
+
+    @Override
+    public void recordLoadFailure(long loadTimeNanos) {
+    }
+
+    @Override
+    public CacheStats snapshot() {
+        return CacheStats.empty();
+    }
+}
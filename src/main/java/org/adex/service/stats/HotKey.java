@@ -0,0 +1,8 @@
+package org.adex.service.stats;
+
+public record HotKey<T>(T value, long count, long error) {
+
+    public long guaranteedCount() {
+        return count - error;
+    }
+}
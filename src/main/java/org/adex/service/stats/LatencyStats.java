@@ -0,0 +1,27 @@
+package org.adex.service.stats;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+public class LatencyStats {
+
+    public enum Operation {
+        GET, PUT, PUT_ALL
+    }
+
+    private final Map<Operation, LatencyHistogram> histograms = new EnumMap<>(Operation.class);
+
+    public LatencyStats() {
+        for (Operation operation : Operation.values()) {
+            histograms.put(operation, new LatencyHistogram());
+        }
+    }
+
+    public void record(Operation operation, long nanos) {
+        histograms.get(operation).record(nanos);
+    }
+
+    public LatencyHistogram histogram(Operation operation) {
+        return histograms.get(operation);
+    }
+}
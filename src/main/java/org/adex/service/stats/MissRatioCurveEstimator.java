@@ -0,0 +1,161 @@
+package org.adex.service.stats;
+
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+
+public class MissRatioCurveEstimator {
+
+    private static final int MODULUS = 1 << 24;
+    private static final int HISTOGRAM_BUCKETS = 1024;
+
+    private final int sampleSize;
+    private final int maxTrackedSize;
+    private final int bucketWidth;
+
+    private final long[] histogram = new long[HISTOGRAM_BUCKETS];
+    private final LongAdder references = new LongAdder();
+    private long referencesAtThreshold;
+    private double expectedSamples;
+    private long beyondTracked;
+    private long samples;
+
+    private volatile int threshold = MODULUS;
+    private final Map<Integer, Integer> lastAccess = new HashMap<>();
+    private final TreeMap<Integer, Set<Integer>> keysBySample = new TreeMap<>();
+    private int[] tree;
+    private int clock;
+
+    public MissRatioCurveEstimator(int maxTrackedSize, int sampleSize) {
+        if (maxTrackedSize <= 0 || sampleSize <= 0) {
+            throw new IllegalArgumentException("Tracked size and sample size must be positive");
+        }
+        this.sampleSize = sampleSize;
+        this.maxTrackedSize = maxTrackedSize;
+        this.bucketWidth = Math.max(1, (maxTrackedSize + HISTOGRAM_BUCKETS - 1) / HISTOGRAM_BUCKETS);
+        this.tree = new int[4 * sampleSize + 1];
+    }
+
+    public void record(int key) {
+        references.increment();
+        int sample = spread(key) & (MODULUS - 1);
+        if (sample >= threshold) {
+            return;
+        }
+        synchronized (this) {
+            if (sample < threshold) {
+                recordSampled(key, sample);
+            }
+        }
+    }
+
+    public synchronized double samplingRate() {
+        return (double) threshold / MODULUS;
+    }
+
+    public synchronized double hitRatio(int cacheSize) {
+        if (samples == 0) {
+            return 0.0;
+        }
+        int buckets = Math.min(HISTOGRAM_BUCKETS, Math.max(0, cacheSize / bucketWidth));
+        if (buckets == 0) {
+            return 0.0;
+        }
+        double expected = expectedSamples + (references.sum() - referencesAtThreshold) * samplingRateUnsynchronized();
+        double hits = expected - samples;
+        for (int i = 0; i < buckets; i++) {
+            hits += histogram[i];
+        }
+        return Math.min(1.0, Math.max(0.0, hits / Math.max(expected, 1.0)));
+    }
+
+    public double missRatio(int cacheSize) {
+        return 1.0 - hitRatio(cacheSize);
+    }
+
+    public synchronized SortedMap<Integer, Double> curve(int... cacheSizes) {
+        SortedMap<Integer, Double> curve = new TreeMap<>();
+        for (int size : cacheSizes) {
+            curve.put(size, hitRatio(Math.min(size, maxTrackedSize)));
+        }
+        return Collections.unmodifiableSortedMap(curve);
+    }
+
+    private void recordSampled(int key, int sample) {
+        samples++;
+        Integer previous = lastAccess.get(key);
+        if (previous == null) {
+            beyondTracked++;
+            keysBySample.computeIfAbsent(sample, s -> new HashSet<>()).add(key);
+        } else {
+            long distinct = prefix(clock) - prefix(previous + 1);
+            long scaled = (long) (distinct / samplingRateUnsynchronized());
+            if (scaled < (long) bucketWidth * HISTOGRAM_BUCKETS) {
+                histogram[(int) (scaled / bucketWidth)]++;
+            } else {
+                beyondTracked++;
+            }
+            update(previous, -1);
+        }
+
+        if (clock == tree.length - 1) {
+            compact();
+        }
+        int now = clock++;
+        lastAccess.put(key, now);
+        update(now, 1);
+
+        if (lastAccess.size() > sampleSize) {
+            lowerThreshold();
+        }
+    }
+
+    private void lowerThreshold() {
+        while (lastAccess.size() > sampleSize) {
+            Map.Entry<Integer, Set<Integer>> largest = keysBySample.pollLastEntry();
+            for (int key : largest.getValue()) {
+                update(lastAccess.remove(key), -1);
+            }
+            long seen = references.sum();
+            expectedSamples += (seen - referencesAtThreshold) * samplingRateUnsynchronized();
+            referencesAtThreshold = seen;
+            threshold = largest.getKey();
+        }
+    }
+
+    private void compact() {
+        List<Map.Entry<Integer, Integer>> live = new ArrayList<>(lastAccess.entrySet());
+        live.sort(Map.Entry.comparingByValue());
+        Arrays.fill(tree, 0);
+        clock = 0;
+        for (Map.Entry<Integer, Integer> entry : live) {
+            int now = clock++;
+            entry.setValue(now);
+            update(now, 1);
+        }
+    }
+
+    private double samplingRateUnsynchronized() {
+        return (double) threshold / MODULUS;
+    }
+
+    private void update(int time, int delta) {
+        for (int i = time + 1; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    private long prefix(int count) {
+        long sum = 0;
+        for (int i = count; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    private static int spread(int key) {
+        int h = key * 0x9E3779B9;
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        return h ^ (h >>> 13);
+    }
+}
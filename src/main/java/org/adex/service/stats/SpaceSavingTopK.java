@@ -0,0 +1,171 @@
+package org.adex.service.stats;
+
+import java.util.*;
+
+public class SpaceSavingTopK<T> {
+
+    private final int capacity;
+    private final long decayInterval;
+
+    private final Map<Integer, Integer> slots = new HashMap<>();
+    private final int[] keys;
+    private final Object[] values;
+    private final long[] counts;
+    private final long[] errors;
+    private final int[] heap;
+    private final int[] positions;
+    private int size;
+
+    private long total;
+    private long sinceDecay;
+
+    public SpaceSavingTopK(int capacity, long decayInterval) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        if (decayInterval < 0) {
+            throw new IllegalArgumentException("Decay interval cannot be negative");
+        }
+        this.capacity = capacity;
+        this.decayInterval = decayInterval;
+        this.keys = new int[capacity];
+        this.values = new Object[capacity];
+        this.counts = new long[capacity];
+        this.errors = new long[capacity];
+        this.heap = new int[capacity];
+        this.positions = new int[capacity];
+    }
+
+    public void record(int key, T value, long weight) {
+        if (weight <= 0) {
+            throw new IllegalArgumentException("Weight must be positive");
+        }
+
+        Integer slot = slots.get(key);
+        if (slot != null) {
+            counts[slot] += weight;
+            values[slot] = value;
+            siftDown(positions[slot]);
+        } else if (size < capacity) {
+            int added = size++;
+            keys[added] = key;
+            values[added] = value;
+            counts[added] = weight;
+            errors[added] = 0;
+            heap[added] = added;
+            positions[added] = added;
+            slots.put(key, added);
+            siftUp(added);
+        } else {
+            int replaced = heap[0];
+            slots.remove(keys[replaced]);
+            errors[replaced] = counts[replaced];
+            counts[replaced] += weight;
+            keys[replaced] = key;
+            values[replaced] = value;
+            slots.put(key, replaced);
+            siftDown(0);
+        }
+
+        total += weight;
+        sinceDecay += weight;
+        if (decayInterval > 0 && sinceDecay >= decayInterval) {
+            decay();
+        }
+    }
+
+    public void decay() {
+        for (int i = 0; i < size; i++) {
+            counts[i] >>= 1;
+            errors[i] >>= 1;
+        }
+        total >>= 1;
+        sinceDecay = 0;
+    }
+
+    public long count(int key) {
+        Integer slot = slots.get(key);
+        return slot == null ? 0 : counts[slot];
+    }
+
+    public long guaranteedCount(int key) {
+        Integer slot = slots.get(key);
+        return slot == null ? 0 : counts[slot] - errors[slot];
+    }
+
+    public long total() {
+        return total;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<HotKey<T>> top(int k) {
+        Integer[] order = order();
+        List<HotKey<T>> top = new ArrayList<>(Math.min(k, size));
+        for (int i = 0; i < Math.min(k, size); i++) {
+            int slot = order[i];
+            top.add(new HotKey<>((T) values[slot], counts[slot], errors[slot]));
+        }
+        return top;
+    }
+
+    public Set<Integer> heavyHitters(int k, long minimumCount) {
+        Integer[] order = order();
+        Set<Integer> hitters = new HashSet<>();
+        for (int i = 0; i < size && hitters.size() < k; i++) {
+            int slot = order[i];
+            if (counts[slot] - errors[slot] >= minimumCount) {
+                hitters.add(keys[slot]);
+            }
+        }
+        return hitters;
+    }
+
+    private Integer[] order() {
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(counts[b], counts[a]));
+        return order;
+    }
+
+    private void siftUp(int position) {
+        int slot = heap[position];
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (counts[heap[parent]] <= counts[slot]) {
+                break;
+            }
+            place(heap[parent], position);
+            position = parent;
+        }
+        place(slot, position);
+    }
+
+    private void siftDown(int position) {
+        int slot = heap[position];
+        int half = size >>> 1;
+        while (position < half) {
+            int child = 2 * position + 1;
+            int right = child + 1;
+            if (right < size && counts[heap[right]] < counts[heap[child]]) {
+                child = right;
+            }
+            if (counts[slot] <= counts[heap[child]]) {
+                break;
+            }
+            place(heap[child], position);
+            position = child;
+        }
+        place(slot, position);
+    }
+
+    private void place(int slot, int position) {
+        heap[position] = slot;
+        positions[slot] = position;
+    }
+}
@@ -0,0 +1,24 @@
+package org.adex.service.stats;
+
+import org.adex.service.listener.RemovalCause;
+
+public interface StatsCounter {
+
+    void recordHits(int count);
+
+    void recordMisses(int count);
+
+    void recordPuts(int count);
+
+    void recordRemoval(RemovalCause cause);
+
+    void recordLoadSuccess(long loadTimeNanos);
+
+    void recordLoadFailure(long loadTimeNanos);
+
+    CacheStats snapshot();
+
+    static StatsCounter disabled() {
+        return DisabledStatsCounter.INSTANCE;
+    }
+}
@@ -0,0 +1,70 @@
+package org.adex.service.store;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+final class BloomFilter {
+
+    private static final int MAX_HASHES = 16;
+
+    private final AtomicLongArray words;
+    private final int mask;
+    private final int hashes;
+    private final long capacity;
+
+    BloomFilter(long expectedKeys, double falsePositiveRate) {
+        long expected = Math.max(1, expectedKeys);
+        double bits = -expected * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+        int size = (int) Math.min(1L << 30, Math.max(64, Long.highestOneBit((long) Math.ceil(bits) - 1) << 1));
+        this.words = new AtomicLongArray(size >>> 6);
+        this.mask = size - 1;
+        this.hashes = (int) Math.max(1, Math.min(MAX_HASHES, Math.round((double) size / expected * Math.log(2))));
+        this.capacity = expected;
+    }
+
+    void add(int key) {
+        long hash = mix(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        for (int i = 0; i < hashes; i++) {
+            int bit = (h1 + i * h2) & mask;
+            long word = 1L << bit;
+            if ((words.get(bit >>> 6) & word) == 0) {
+                words.getAndAccumulate(bit >>> 6, word, (current, update) -> current | update);
+            }
+        }
+    }
+
+    boolean mightContain(int key) {
+        long hash = mix(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        for (int i = 0; i < hashes; i++) {
+            int bit = (h1 + i * h2) & mask;
+            if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    long capacity() {
+        return capacity;
+    }
+
+    int bitSize() {
+        return mask + 1;
+    }
+
+    int hashes() {
+        return hashes;
+    }
+
+    private static long mix(int key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        return h ^ (h >>> 33);
+    }
+}
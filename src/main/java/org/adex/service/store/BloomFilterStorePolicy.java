@@ -0,0 +1,253 @@
+package org.adex.service.store;
+
+import org.adex.service.Node;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+public final class BloomFilterStorePolicy<T> implements StorePolicy<T>, AutoCloseable {
+
+    private static final long EMPTY = 0;
+
+    private final StorePolicy<T> delegate;
+    private final long expectedKeys;
+    private final double falsePositiveRate;
+    private final long negativeTtlMillis;
+    private final long epochMillis = System.currentTimeMillis();
+
+    private volatile BloomFilter filter;
+    private volatile BloomFilter rebuilding;
+    private final LongAdder insertions = new LongAdder();
+
+    private final AtomicLongArray negatives;
+    private final AtomicLongArray stamps;
+    private final int negativeMask;
+
+    private final LongAdder filtered = new LongAdder();
+    private final LongAdder negativeHits = new LongAdder();
+    private final LongAdder delegated = new LongAdder();
+
+    private final ScheduledExecutorService rebuilder;
+
+    public BloomFilterStorePolicy(StorePolicy<T> delegate, long expectedKeys) {
+        this(delegate, expectedKeys, 0.01, 60_000, 1024, 1_000);
+    }
+
+    public BloomFilterStorePolicy(StorePolicy<T> delegate, long expectedKeys, double falsePositiveRate,
+                                  long rebuildIntervalMillis, int negativeCacheSize, long negativeTtlMillis) {
+        if (expectedKeys <= 0 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Invalid bloom filter configuration");
+        }
+        if (rebuildIntervalMillis < 0 || negativeCacheSize < 0 || negativeTtlMillis < 0) {
+            throw new IllegalArgumentException("Invalid negative lookup configuration");
+        }
+        this.delegate = Objects.requireNonNull(delegate, "Delegate store cannot be null");
+        this.expectedKeys = expectedKeys;
+        this.falsePositiveRate = falsePositiveRate;
+        this.negativeTtlMillis = negativeTtlMillis;
+
+        int slots = negativeCacheSize == 0 ? 0 : Integer.highestOneBit(Math.max(1, negativeCacheSize - 1)) << 1;
+        this.negatives = new AtomicLongArray(slots);
+        this.stamps = new AtomicLongArray(slots);
+        this.negativeMask = slots - 1;
+
+        this.filter = build(expectedKeys);
+        populate();
+        if (rebuildIntervalMillis > 0) {
+            this.rebuilder = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "snappy-cache-bloom-rebuild");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.rebuilder.scheduleWithFixedDelay(this::rebuild,
+                    rebuildIntervalMillis, rebuildIntervalMillis, TimeUnit.MILLISECONDS);
+        } else {
+            this.rebuilder = null;
+        }
+    }
+
+    @Override
+    public Node<T> get(int key) {
+        if (!filter.mightContain(key)) {
+            filtered.increment();
+            return null;
+        }
+        if (negativeTtlMillis == 0 || negatives.length() == 0) {
+            delegated.increment();
+            return delegate.get(key);
+        }
+
+        int slot = slot(key);
+        long entry = negatives.get(slot);
+        if (entry != EMPTY && (int) (entry >>> 32) == key && (int) entry - now() > 0) {
+            negativeHits.increment();
+            return null;
+        }
+
+        long stamp = stamps.get(slot);
+        delegated.increment();
+        Node<T> node = delegate.get(key);
+        if (node == null) {
+            long negative = ((long) key << 32) | ((now() + negativeTtlMillis) & 0xFFFFFFFFL);
+            negatives.set(slot, negative);
+            if (stamps.get(slot) != stamp) {
+                negatives.compareAndSet(slot, negative, EMPTY);
+            }
+        }
+        return node;
+    }
+
+    @Override
+    public void put(int key, Node<T> value) {
+        delegate.put(key, value);
+        remember(key);
+    }
+
+    @Override
+    public void putAll(Map<Integer, Node<T>> entries) {
+        delegate.putAll(entries);
+        entries.keySet().forEach(this::remember);
+    }
+
+    @Override
+    public void remove(int key) {
+        delegate.remove(key);
+    }
+
+    @Override
+    public void evict(int key) {
+        delegate.evict(key);
+    }
+
+    @Override
+    public void removeAll(Collection<Integer> keys) {
+        delegate.removeAll(keys);
+    }
+
+    @Override
+    public void awaitCapacity() {
+        delegate.awaitCapacity();
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+        filter = build(expectedKeys);
+        for (int i = 0; i < negatives.length(); i++) {
+            stamps.incrementAndGet(i);
+            negatives.set(i, EMPTY);
+        }
+    }
+
+    @Override
+    public Collection<Node<T>> values() {
+        return delegate.values();
+    }
+
+    @Override
+    public Spliterator<Node<T>> spliterator() {
+        return delegate.spliterator();
+    }
+
+    @Override
+    public int size() {
+        return delegate.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return delegate.isEmpty();
+    }
+
+    public synchronized void rebuild() {
+        populate();
+    }
+
+    long pendingInsertions() {
+        return insertions.sum();
+    }
+
+    public long filteredLookups() {
+        return filtered.sum();
+    }
+
+    public long negativeCacheHits() {
+        return negativeHits.sum();
+    }
+
+    public long delegatedLookups() {
+        return delegated.sum();
+    }
+
+    @Override
+    public void close() {
+        if (rebuilder != null) {
+            rebuilder.shutdownNow();
+        }
+        if (delegate instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                throw new IllegalStateException("Failed to close delegate store", e);
+            }
+        }
+    }
+
+    private void remember(int key) {
+        BloomFilter filter = this.filter;
+        filter.add(key);
+        BloomFilter rebuilding = this.rebuilding;
+        if (rebuilding != null) {
+            rebuilding.add(key);
+        }
+        BloomFilter current = this.filter;
+        if (current != filter) {
+            current.add(key);
+        }
+        insertions.increment();
+
+        if (negatives.length() > 0) {
+            int slot = slot(key);
+            stamps.incrementAndGet(slot);
+            long entry = negatives.get(slot);
+            if (entry != EMPTY && (int) (entry >>> 32) == key) {
+                negatives.compareAndSet(slot, entry, EMPTY);
+            }
+        }
+    }
+
+    private void populate() {
+        long inserted = insertions.sum();
+        BloomFilter next = build(Math.max(expectedKeys, delegate.size() + inserted));
+        rebuilding = next;
+        delegate.spliterator().forEachRemaining(node -> {
+            T value = node.value();
+            if (value != null) {
+                next.add(value.hashCode());
+            }
+        });
+        filter = next;
+        rebuilding = null;
+        insertions.add(-inserted);
+    }
+
+    private BloomFilter build(long expected) {
+        return new BloomFilter(expected, falsePositiveRate);
+    }
+
+    private int slot(int key) {
+        int hash = key * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & negativeMask;
+    }
+
+    private int now() {
+        return (int) (System.currentTimeMillis() - epochMillis);
+    }
+}
@@ -3,15 +3,15 @@ package org.adex.service.store;
 import org.adex.service.Node;
 
 import java.util.Collection;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class InMemoryStorePolicy<T> implements StorePolicy<T> {
 
-    private final Map<Integer, Node<T>> map;
+    private final ConcurrentHashMap<Integer, Node<T>> map;
 
     public InMemoryStorePolicy(int capacity) {
-        this.map = new HashMap<>(capacity);
+        this.map = new ConcurrentHashMap<>(capacity);
     }
 
     @Override
@@ -40,6 +40,11 @@ public class InMemoryStorePolicy<T> implements StorePolicy<T> {
         return map.values();
     }
 
+    @Override
+    public Spliterator<Node<T>> spliterator() {
+        return map.values().spliterator();
+    }
+
     @Override
     public int size() {
         return map.size();
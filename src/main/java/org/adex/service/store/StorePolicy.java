@@ -3,6 +3,8 @@ package org.adex.service.store;
 import org.adex.service.Node;
 
 import java.util.Collection;
+import java.util.Map;
+import java.util.Spliterator;
 
 public interface StorePolicy<T> {
 
@@ -12,10 +14,29 @@ public interface StorePolicy<T> {
 
     void remove(int key);
 
+    default void evict(int key) {
+        remove(key);
+    }
+
+    default void putAll(Map<Integer, Node<T>> entries) {
+        entries.forEach(this::put);
+    }
+
+    default void removeAll(Collection<Integer> keys) {
+        keys.forEach(this::remove);
+    }
+
+    default void awaitCapacity() {
+    }
+
     void clear();
 
     Collection<Node<T>> values();
 
+    default Spliterator<Node<T>> spliterator() {
+        return values().spliterator();
+    }
+
     int size();
 
     boolean isEmpty();
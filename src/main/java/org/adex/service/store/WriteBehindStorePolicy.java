@@ -0,0 +1,268 @@
+package org.adex.service.store;
+
+import org.adex.service.Node;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class WriteBehindStorePolicy<T> implements StorePolicy<T>, AutoCloseable {
+
+    private final StorePolicy<T> delegate;
+    private final StorePolicy<T> backing;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final int maxDirty;
+    private final long maxBlockNanos;
+
+    private final Node<T> tombstone = new Node<>();
+    private final Map<Integer, Node<T>> dirty = new LinkedHashMap<>();
+    private int inFlight;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition flushRequested = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private final LongAdder rejected = new LongAdder();
+
+    private final Thread flusher;
+    private volatile boolean closed;
+
+    public WriteBehindStorePolicy(StorePolicy<T> delegate, StorePolicy<T> backing) {
+        this(delegate, backing, 256, 1000, 10_000);
+    }
+
+    public WriteBehindStorePolicy(StorePolicy<T> delegate, StorePolicy<T> backing,
+                                  int batchSize, long flushIntervalMillis, int maxDirty) {
+        this(delegate, backing, batchSize, flushIntervalMillis, maxDirty, 10);
+    }
+
+    public WriteBehindStorePolicy(StorePolicy<T> delegate, StorePolicy<T> backing,
+                                  int batchSize, long flushIntervalMillis, int maxDirty, long maxBlockMillis) {
+        if (batchSize <= 0 || flushIntervalMillis <= 0 || maxDirty < batchSize || maxBlockMillis < 0) {
+            throw new IllegalArgumentException("Invalid write-behind configuration");
+        }
+        this.delegate = Objects.requireNonNull(delegate, "Delegate store cannot be null");
+        this.backing = Objects.requireNonNull(backing, "Backing store cannot be null");
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        this.maxDirty = maxDirty;
+        this.maxBlockNanos = TimeUnit.MILLISECONDS.toNanos(maxBlockMillis);
+
+        this.flusher = new Thread(this::runFlusher, "snappy-cache-write-behind");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    @Override
+    public Node<T> get(int key) {
+        return delegate.get(key);
+    }
+
+    @Override
+    public void put(int key, Node<T> value) {
+        delegate.put(key, value);
+        markDirty(key, value);
+    }
+
+    @Override
+    public void remove(int key) {
+        delegate.remove(key);
+        markDirty(key, tombstone);
+    }
+
+    @Override
+    public void evict(int key) {
+        delegate.evict(key);
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    @Override
+    public Collection<Node<T>> values() {
+        return delegate.values();
+    }
+
+    @Override
+    public Spliterator<Node<T>> spliterator() {
+        return delegate.spliterator();
+    }
+
+    @Override
+    public int size() {
+        return delegate.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return delegate.isEmpty();
+    }
+
+    public int dirtySize() {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            return dirty.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long rejectedWrites() {
+        return rejected.sum();
+    }
+
+    public void flush() {
+        while (writeBatch()) {
+            // keep draining until nothing is left
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        flusher.interrupt();
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    @Override
+    public void awaitCapacity() {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            long remaining = maxBlockNanos;
+            while (dirty.size() + inFlight >= maxDirty && !closed) {
+                if (remaining <= 0) {
+                    rejected.increment();
+                    throw new IllegalStateException("Write-behind queue is full with " + dirty.size() + " pending writes");
+                }
+                flushRequested.signal();
+                try {
+                    remaining = notFull.awaitNanos(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for the write-behind queue", e);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void markDirty(int key, Node<T> node) {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            dirty.put(key, node);
+            if (dirty.size() >= batchSize) {
+                flushRequested.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void runFlusher() {
+        while (!closed) {
+            try {
+                awaitBatch();
+                writeBatch();
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                // the failed batch was requeued, back off until the next tick
+                LockSupport.parkNanos(flushIntervalNanos);
+            }
+        }
+    }
+
+    private void awaitBatch() throws InterruptedException {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            long remaining = flushIntervalNanos;
+            while (dirty.size() < batchSize && remaining > 0) {
+                remaining = flushRequested.awaitNanos(remaining);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean writeBatch() {
+        writeLock.lock();
+        try {
+            Map<Integer, Node<T>> batch = takeBatch();
+            if (batch.isEmpty()) {
+                return false;
+            }
+
+            Map<Integer, Node<T>> puts = new LinkedHashMap<>();
+            List<Integer> removals = new ArrayList<>();
+            batch.forEach((key, node) -> {
+                if (node == tombstone) {
+                    removals.add(key);
+                } else {
+                    puts.put(key, new Node<>(node.value()));
+                }
+            });
+
+            boolean written = false;
+            try {
+                if (!puts.isEmpty()) backing.putAll(puts);
+                if (!removals.isEmpty()) backing.removeAll(removals);
+                written = true;
+            } finally {
+                completeBatch(batch, written);
+            }
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private Map<Integer, Node<T>> takeBatch() {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            Map<Integer, Node<T>> batch = new LinkedHashMap<>();
+            Iterator<Map.Entry<Integer, Node<T>>> it = dirty.entrySet().iterator();
+            while (it.hasNext() && batch.size() < batchSize) {
+                Map.Entry<Integer, Node<T>> entry = it.next();
+                batch.put(entry.getKey(), entry.getValue());
+                it.remove();
+            }
+            inFlight += batch.size();
+            return batch;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void completeBatch(Map<Integer, Node<T>> batch, boolean written) {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            inFlight -= batch.size();
+            if (written) {
+                notFull.signalAll();
+            } else {
+                batch.forEach(dirty::putIfAbsent);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+}
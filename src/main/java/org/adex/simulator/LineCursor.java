@@ -0,0 +1,81 @@
+package org.adex.simulator;
+
+import java.nio.ByteBuffer;
+
+final class LineCursor {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private ByteBuffer buffer;
+    private int position;
+    private int end;
+    private boolean valid;
+
+    LineCursor reset(ByteBuffer buffer, int start, int end) {
+        this.buffer = buffer;
+        this.position = start;
+        this.end = end;
+        return this;
+    }
+
+    boolean valid() {
+        return valid;
+    }
+
+    boolean hasNext() {
+        skipSeparators();
+        return position < end;
+    }
+
+    long nextLong() {
+        skipSeparators();
+        valid = false;
+        boolean negative = position < end && buffer.get(position) == '-';
+        if (negative) {
+            position++;
+        }
+        long value = 0;
+        int digits = 0;
+        while (position < end) {
+            byte b = buffer.get(position);
+            if (b < '0' || b > '9') {
+                break;
+            }
+            value = value * 10 + (b - '0');
+            digits++;
+            position++;
+        }
+        valid = digits > 0 && (position == end || isSeparator(buffer.get(position)));
+        skipToken();
+        return negative ? -value : value;
+    }
+
+    long nextTokenHash() {
+        skipSeparators();
+        long hash = FNV_OFFSET;
+        int start = position;
+        while (position < end && !isSeparator(buffer.get(position))) {
+            hash = (hash ^ (buffer.get(position) & 0xff)) * FNV_PRIME;
+            position++;
+        }
+        valid = position > start;
+        return hash;
+    }
+
+    void skipToken() {
+        while (position < end && !isSeparator(buffer.get(position))) {
+            position++;
+        }
+    }
+
+    private void skipSeparators() {
+        while (position < end && isSeparator(buffer.get(position))) {
+            position++;
+        }
+    }
+
+    private static boolean isSeparator(byte b) {
+        return b == ' ' || b == '\t' || b == ',' || b == '\r';
+    }
+}
@@ -0,0 +1,10 @@
+package org.adex.simulator;
+
+import org.adex.service.eviction.EvictionPolicy;
+
+public record SimulationResult(EvictionPolicy.PolicyType policy, int capacity, long requests, long hits) {
+
+    public double hitRatio() {
+        return requests == 0 ? 0.0 : (double) hits / requests;
+    }
+}
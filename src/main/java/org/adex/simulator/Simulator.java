@@ -0,0 +1,116 @@
+package org.adex.simulator;
+
+import org.adex.service.LRUCache;
+import org.adex.service.eviction.EvictionPolicy;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+public class Simulator {
+
+    private final Path trace;
+    private final TraceFormat format;
+    private final List<EvictionPolicy.PolicyType> policies;
+    private final List<Integer> capacities;
+
+    public Simulator(Path trace, TraceFormat format, List<EvictionPolicy.PolicyType> policies, List<Integer> capacities) {
+        this.trace = Objects.requireNonNull(trace, "Trace cannot be null");
+        this.format = Objects.requireNonNull(format, "Format cannot be null");
+        this.policies = List.copyOf(policies);
+        this.capacities = List.copyOf(capacities);
+    }
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            String[] pair = arg.replaceFirst("^--", "").split("=", 2);
+            options.put(pair[0], pair.length > 1 ? pair[1] : "");
+        }
+        if (!options.containsKey("trace")) {
+            System.err.println("Usage: Simulator --trace=<file> [--format=ARC|LIRS|WIKIPEDIA|CSV]"
+                    + " [--capacities=1000,10000] [--policies=LRU,LFU] [--csv=<file>]");
+            System.exit(2);
+        }
+
+        Simulator simulator = new Simulator(
+                Path.of(options.get("trace")),
+                TraceFormat.valueOf(options.getOrDefault("format", "CSV")),
+                Arrays.stream(options.getOrDefault("policies", "LRU,LFU").split(","))
+                        .map(String::trim).map(EvictionPolicy.PolicyType::valueOf).toList(),
+                Arrays.stream(options.getOrDefault("capacities", "1000,10000,100000").split(","))
+                        .map(String::trim).map(Integer::valueOf).toList());
+
+        List<SimulationResult> results = simulator.run(ForkJoinPool.commonPool());
+        System.out.print(table(results));
+        if (options.containsKey("csv")) {
+            Files.writeString(Path.of(options.get("csv")), csv(results));
+        }
+    }
+
+    public List<SimulationResult> run(ForkJoinPool pool) {
+        List<ForkJoinTask<SimulationResult>> tasks = new ArrayList<>();
+        for (EvictionPolicy.PolicyType policy : policies) {
+            for (int capacity : capacities) {
+                tasks.add(pool.submit(() -> simulate(policy, capacity)));
+            }
+        }
+        return tasks.stream().map(ForkJoinTask::join).toList();
+    }
+
+    SimulationResult simulate(EvictionPolicy.PolicyType policy, int capacity) {
+        LRUCache<Long> cache = new LRUCache<>(capacity, 0);
+        cache.withPolicy(policy);
+        long[] hits = {0};
+        try {
+            long requests = TraceReader.read(trace, format, key -> {
+                Long boxed = key;
+                if (cache.get(boxed) != null) {
+                    hits[0]++;
+                } else {
+                    cache.put(boxed);
+                }
+            });
+            return new SimulationResult(policy, capacity, requests, hits[0]);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static String table(List<SimulationResult> results) {
+        StringBuilder table = new StringBuilder(String.format("%-8s %12s %14s %10s%n", "policy", "capacity", "requests", "hit ratio"));
+        for (SimulationResult result : results) {
+            table.append(String.format("%-8s %12d %14d %9.2f%%%n",
+                    result.policy(), result.capacity(), result.requests(), result.hitRatio() * 100));
+        }
+        return table.toString();
+    }
+
+    public static String csv(List<SimulationResult> results) {
+        SortedSet<Integer> capacities = new TreeSet<>();
+        Set<EvictionPolicy.PolicyType> policies = new LinkedHashSet<>();
+        Map<String, Double> ratios = new HashMap<>();
+        for (SimulationResult result : results) {
+            capacities.add(result.capacity());
+            policies.add(result.policy());
+            ratios.put(result.policy() + "@" + result.capacity(), result.hitRatio());
+        }
+
+        StringBuilder csv = new StringBuilder("capacity");
+        policies.forEach(policy -> csv.append(',').append(policy));
+        csv.append('\n');
+        for (int capacity : capacities) {
+            csv.append(capacity);
+            for (EvictionPolicy.PolicyType policy : policies) {
+                Double ratio = ratios.get(policy + "@" + capacity);
+                csv.append(',').append(ratio == null ? "" : String.format(Locale.ROOT, "%.6f", ratio));
+            }
+            csv.append('\n');
+        }
+        return csv.toString();
+    }
+}
@@ -0,0 +1,45 @@
+package org.adex.simulator;
+
+import java.util.function.LongConsumer;
+
+public enum TraceFormat {
+    ARC {
+        @Override
+        void parse(LineCursor line, LongConsumer keys) {
+            long start = line.nextLong();
+            if (!line.valid()) return;
+            long count = line.nextLong();
+            if (!line.valid()) count = 1;
+            for (long i = 0; i < count; i++) {
+                keys.accept(start + i);
+            }
+        }
+    },
+    LIRS {
+        @Override
+        void parse(LineCursor line, LongConsumer keys) {
+            long key = line.nextLong();
+            if (line.valid()) keys.accept(key);
+        }
+    },
+    WIKIPEDIA {
+        @Override
+        void parse(LineCursor line, LongConsumer keys) {
+            line.skipToken();
+            if (!line.hasNext()) return;
+            line.nextTokenHash();
+            if (!line.hasNext()) return;
+            long url = line.nextTokenHash();
+            if (line.valid()) keys.accept(url);
+        }
+    },
+    CSV {
+        @Override
+        void parse(LineCursor line, LongConsumer keys) {
+            long key = line.nextLong();
+            if (line.valid()) keys.accept(key);
+        }
+    };
+
+    abstract void parse(LineCursor line, LongConsumer keys);
+}
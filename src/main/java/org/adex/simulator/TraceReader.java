@@ -0,0 +1,58 @@
+package org.adex.simulator;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.LongConsumer;
+
+public final class TraceReader {
+
+    private static final long WINDOW_SIZE = 64L << 20;
+
+    private TraceReader() {
+    }
+
+    public static long read(Path trace, TraceFormat format, LongConsumer keys) throws IOException {
+        return read(trace, format, keys, WINDOW_SIZE);
+    }
+
+    static long read(Path trace, TraceFormat format, LongConsumer keys, long windowSize) throws IOException {
+        long[] requests = {0};
+        LongConsumer counting = key -> {
+            requests[0]++;
+            keys.accept(key);
+        };
+        LineCursor cursor = new LineCursor();
+
+        try (FileChannel channel = FileChannel.open(trace, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long offset = 0;
+            while (offset < size) {
+                int length = (int) Math.min(windowSize, size - offset);
+                boolean last = offset + length == size;
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+
+                int lineStart = 0;
+                for (int i = 0; i < length; i++) {
+                    if (window.get(i) == '\n') {
+                        format.parse(cursor.reset(window, lineStart, i), counting);
+                        lineStart = i + 1;
+                    }
+                }
+                if (last) {
+                    if (lineStart < length) {
+                        format.parse(cursor.reset(window, lineStart, length), counting);
+                    }
+                    break;
+                }
+                if (lineStart == 0) {
+                    throw new IOException("Line longer than " + windowSize + " bytes at offset " + offset);
+                }
+                offset += lineStart;
+            }
+        }
+        return requests[0];
+    }
+}
@@ -0,0 +1,108 @@
+package org.adex.benchmarks;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+public final class BenchmarkBaseline {
+
+    private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+
+    record Result(String mode, double score, double allocatedBytesPerOp) {
+    }
+
+    record Regression(String benchmark, String metric, double baseline, double current, double changePercent) {
+        @Override
+        public String toString() {
+            return String.format("%-100s %-10s %14.3f -> %14.3f (%+.1f%%)",
+                    benchmark, metric, baseline, current, changePercent);
+        }
+    }
+
+    private BenchmarkBaseline() {
+    }
+
+    public static List<Regression> compare(Path baselineDirectory, Path currentDirectory, double thresholdPercent) {
+        Map<String, Result> baseline = load(baselineDirectory);
+        Map<String, Result> current = load(currentDirectory);
+        if (current.keySet().stream().noneMatch(baseline::containsKey)) {
+            throw new IllegalStateException("Baseline in " + baselineDirectory
+                    + " shares no benchmarks with the results in " + currentDirectory);
+        }
+
+        List<Regression> regressions = new ArrayList<>();
+        current.forEach((key, now) -> {
+            Result before = baseline.get(key);
+            if (before == null) {
+                return;
+            }
+
+            double change = percentChange(before.score(), now.score());
+            boolean higherIsBetter = "thrpt".equals(now.mode());
+            if (higherIsBetter ? change < -thresholdPercent : change > thresholdPercent) {
+                regressions.add(new Regression(key, "score", before.score(), now.score(), change));
+            }
+
+            double allocationChange = percentChange(before.allocatedBytesPerOp(), now.allocatedBytesPerOp());
+            if (allocationChange > thresholdPercent && now.allocatedBytesPerOp() - before.allocatedBytesPerOp() > 8) {
+                regressions.add(new Regression(key, "alloc B/op", before.allocatedBytesPerOp(),
+                        now.allocatedBytesPerOp(), allocationChange));
+            }
+        });
+        return regressions;
+    }
+
+    static Map<String, Result> load(Path directory) {
+        Map<String, Result> results = new TreeMap<>();
+        if (!Files.isDirectory(directory)) {
+            throw new IllegalStateException("Benchmark results directory " + directory + " does not exist");
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.filter(f -> f.toString().endsWith(".json")).sorted().toList()) {
+                results.putAll(parse(Files.readString(file)));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (results.isEmpty()) {
+            throw new IllegalStateException("No benchmark results found in " + directory);
+        }
+        return results;
+    }
+
+    @SuppressWarnings("unchecked")
+    static Map<String, Result> parse(String json) {
+        Map<String, Result> results = new TreeMap<>();
+        for (Object element : (List<Object>) Json.parse(json)) {
+            Map<String, Object> run = (Map<String, Object>) element;
+            Map<String, Object> primary = (Map<String, Object>) run.get("primaryMetric");
+            Map<String, Object> secondary = (Map<String, Object>) run.getOrDefault("secondaryMetrics", Map.of());
+            Map<String, Object> allocation = (Map<String, Object>) secondary.get(ALLOCATION_METRIC);
+
+            results.put(key(run), new Result(
+                    (String) run.get("mode"),
+                    ((Number) primary.get("score")).doubleValue(),
+                    allocation == null ? 0 : ((Number) allocation.get("score")).doubleValue()));
+        }
+        return results;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String key(Map<String, Object> run) {
+        StringBuilder key = new StringBuilder((String) run.get("benchmark"));
+        Map<String, Object> params = (Map<String, Object>) run.getOrDefault("params", Map.of());
+        new TreeMap<>(params).forEach((name, value) -> key.append(' ').append(name).append('=').append(value));
+        key.append(" threads=").append(((Number) run.get("threads")).intValue());
+        return key.toString();
+    }
+
+    private static double percentChange(double before, double now) {
+        return before == 0 ? 0 : (now - before) / before * 100.0;
+    }
+}
@@ -0,0 +1,59 @@
+package org.adex.benchmarks;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BenchmarkBaselineTest {
+
+    @Test
+    void givenMatchingRuns_whenComparing_thenOnlyRegressionsAreReported() throws IOException {
+        Path baseline = results(run("a.get", 100, 16), run("a.put", 100, 16));
+        Path current = results(run("a.get", 80, 16), run("a.put", 99, 64));
+
+        List<BenchmarkBaseline.Regression> regressions = BenchmarkBaseline.compare(baseline, current, 10);
+
+        assertAll("Throughput drops and allocation growth above the threshold should be flagged",
+                () -> assertEquals(2, regressions.size()),
+                () -> assertEquals("score", regressions.get(0).metric()),
+                () -> assertTrue(regressions.get(0).benchmark().startsWith("a.get")),
+                () -> assertEquals("alloc B/op", regressions.get(1).metric()),
+                () -> assertTrue(regressions.get(1).benchmark().startsWith("a.put"))
+        );
+    }
+
+    @Test
+    void givenMissingOrUnrelatedBaseline_whenComparing_thenIllegalStateExceptionIsThrown() throws IOException {
+        Path current = results(run("a.get", 100, 16));
+        Path empty = Files.createTempDirectory("baseline");
+        Path unrelated = results(run("b.get", 100, 16));
+
+        assertAll("An absent baseline must not read as a clean run",
+                () -> assertThrows(IllegalStateException.class,
+                        () -> BenchmarkBaseline.compare(empty.resolve("misspelled"), current, 10)),
+                () -> assertThrows(IllegalStateException.class,
+                        () -> BenchmarkBaseline.compare(empty, current, 10)),
+                () -> assertThrows(IllegalStateException.class,
+                        () -> BenchmarkBaseline.compare(unrelated, current, 10))
+        );
+    }
+
+    private static Path results(String... runs) throws IOException {
+        Path directory = Files.createTempDirectory("benchmarks");
+        Files.writeString(directory.resolve("threads-1.json"), "[" + String.join(",", runs) + "]");
+        return directory;
+    }
+
+    private static String run(String benchmark, double score, double allocated) {
+        return """
+                {"benchmark": "%s", "mode": "thrpt", "threads": 1, "params": {"capacity": "10000"},
+                 "primaryMetric": {"score": %s},
+                 "secondaryMetrics": {"gc.alloc.rate.norm": {"score": %s}}}
+                """.formatted(benchmark, score, allocated);
+    }
+}
@@ -0,0 +1,92 @@
+package org.adex.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Runs {@link CacheSuiteBenchmark} and {@link CacheReaderWriterBenchmark} at thread counts from 1 to 2x cores with the GC allocation profiler,
+ * writing one JMH JSON file per thread count, then diffs the run against a stored baseline.
+ * <p>
+ * Usage: {@code BenchmarkSuite [--threads=1,2,4] [--results=target/benchmarks/current]
+ * [--baseline=benchmarks/baseline] [--threshold=10] [--update-baseline]}
+ */
+public class BenchmarkSuite {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            String[] pair = arg.replaceFirst("^--", "").split("=", 2);
+            options.put(pair[0], pair.length > 1 ? pair[1] : "");
+        }
+
+        Path results = Path.of(options.getOrDefault("results", "target/benchmarks/current"));
+        Path baseline = Path.of(options.getOrDefault("baseline", "benchmarks/baseline"));
+        double threshold = Double.parseDouble(options.getOrDefault("threshold", "10"));
+        Files.createDirectories(results);
+
+        for (int threads : threadCounts(options.get("threads"))) {
+            Options opt = new OptionsBuilder()
+                    .include(CacheSuiteBenchmark.class.getSimpleName())
+                    .include(CacheReaderWriterBenchmark.class.getSimpleName())
+                    .threads(threads)
+                    .addProfiler(GCProfiler.class)
+                    .result(results.resolve("threads-" + threads + ".json").toString())
+                    .resultFormat(ResultFormatType.JSON)
+                    .build();
+            new Runner(opt).run();
+        }
+
+        if (options.containsKey("update-baseline")) {
+            updateBaseline(results, baseline);
+            return;
+        }
+
+        List<BenchmarkBaseline.Regression> regressions = BenchmarkBaseline.compare(baseline, results, threshold);
+        if (regressions.isEmpty()) {
+            System.out.println("No regressions above " + threshold + "% against " + baseline);
+        } else {
+            System.out.println("Regressions above " + threshold + "% against " + baseline + ":");
+            regressions.forEach(System.out::println);
+            System.exit(1);
+        }
+    }
+
+    private static List<Integer> threadCounts(String requested) {
+        List<Integer> counts = new ArrayList<>();
+        if (requested != null) {
+            for (String count : requested.split(",")) {
+                counts.add(Integer.parseInt(count.trim()));
+            }
+            return counts;
+        }
+        int max = Runtime.getRuntime().availableProcessors() * 2;
+        for (int threads = 1; threads < max; threads *= 2) {
+            counts.add(threads);
+        }
+        counts.add(max);
+        return counts;
+    }
+
+    private static void updateBaseline(Path results, Path baseline) throws IOException {
+        Files.createDirectories(baseline);
+        try (Stream<Path> files = Files.list(results)) {
+            for (Path file : files.filter(f -> f.toString().endsWith(".json")).toList()) {
+                Files.copy(file, baseline.resolve(file.getFileName()), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        System.out.println("Baseline updated in " + baseline);
+    }
+}
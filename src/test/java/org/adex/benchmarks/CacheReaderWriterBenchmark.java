@@ -0,0 +1,71 @@
+package org.adex.benchmarks;
+
+import org.adex.service.LRUCache;
+import org.adex.service.eviction.EvictionPolicy;
+import org.adex.service.store.StorePolicy;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+public class CacheReaderWriterBenchmark {
+
+    @Param({"ZIPFIAN", "UNIFORM", "SCAN", "HOTSPOT"})
+    public KeyDistribution distribution;
+
+    @Param({"LRU", "LFU"})
+    public EvictionPolicy.PolicyType policy;
+
+    @Param({"In_MEMORY"})
+    public StorePolicy.StorePolicyType store;
+
+    @Param({"10000"})
+    public int capacity;
+
+    @Param({"false", "true"})
+    public boolean flatCombining;
+
+    private LRUCache<Integer> cache;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        cache = new LRUCache<>(capacity);
+        cache.withPolicy(policy);
+        cache.withStore(store);
+        if (flatCombining) {
+            cache.withFlatCombining();
+        }
+        for (int i = 0; i < capacity; i++) {
+            cache.put(i);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Keys {
+        KeyDistribution.KeyGenerator generator;
+
+        @Setup(Level.Trial)
+        public void setup(CacheReaderWriterBenchmark benchmark) {
+            generator = benchmark.distribution.create(benchmark.capacity * 2);
+        }
+    }
+
+    @Benchmark
+    @Group("readerWriter")
+    @GroupThreads(3)
+    public Integer reader(Keys keys) {
+        return cache.get(keys.generator.next());
+    }
+
+    @Benchmark
+    @Group("readerWriter")
+    @GroupThreads(1)
+    public void writer(Keys keys) {
+        cache.put(keys.generator.next());
+    }
+}
@@ -0,0 +1,190 @@
+package org.adex.benchmarks;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+final class Json {
+
+    private final String text;
+    private int position;
+
+    private Json(String text) {
+        this.text = text;
+    }
+
+    static Object parse(String text) {
+        Json json = new Json(text);
+        Object value = json.value();
+        json.whitespace();
+        if (json.position != text.length()) {
+            throw json.error("Trailing content");
+        }
+        return value;
+    }
+
+    private Object value() {
+        whitespace();
+        if (position >= text.length()) {
+            throw error("Unexpected end of input");
+        }
+        char c = text.charAt(position);
+        return switch (c) {
+            case '{' -> object();
+            case '[' -> array();
+            case '"' -> string();
+            case 't' -> literal("true", Boolean.TRUE);
+            case 'f' -> literal("false", Boolean.FALSE);
+            case 'n' -> literal("null", null);
+            case 'N' -> literal("NaN", Double.NaN);
+            default -> number();
+        };
+    }
+
+    private Map<String, Object> object() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        position++;
+        whitespace();
+        if (peek('}')) {
+            position++;
+            return map;
+        }
+        do {
+            whitespace();
+            String key = string();
+            whitespace();
+            expect(':');
+            map.put(key, value());
+            whitespace();
+        } while (consume(','));
+        expect('}');
+        return map;
+    }
+
+    private List<Object> array() {
+        List<Object> list = new ArrayList<>();
+        position++;
+        whitespace();
+        if (peek(']')) {
+            position++;
+            return list;
+        }
+        do {
+            list.add(value());
+            whitespace();
+        } while (consume(','));
+        expect(']');
+        return list;
+    }
+
+    private String string() {
+        expect('"');
+        StringBuilder builder = new StringBuilder();
+        while (true) {
+            char c = next("Unterminated string");
+            if (c == '"') {
+                return builder.toString();
+            }
+            if (c < 0x20) {
+                throw error("Unescaped control character");
+            }
+            if (c != '\\') {
+                builder.append(c);
+                continue;
+            }
+            char escaped = next("Unterminated escape");
+            switch (escaped) {
+                case '"', '\\', '/' -> builder.append(escaped);
+                case 'n' -> builder.append('\n');
+                case 't' -> builder.append('\t');
+                case 'r' -> builder.append('\r');
+                case 'b' -> builder.append('\b');
+                case 'f' -> builder.append('\f');
+                case 'u' -> {
+                    int code = 0;
+                    for (int i = 0; i < 4; i++) {
+                        int digit = Character.digit(next("Truncated unicode escape"), 16);
+                        if (digit < 0) {
+                            throw error("Invalid unicode escape");
+                        }
+                        code = code * 16 + digit;
+                    }
+                    builder.append((char) code);
+                }
+                default -> throw error("Invalid escape '\\" + escaped + "'");
+            }
+        }
+    }
+
+    private Object number() {
+        int start = position;
+        consume('-');
+        if (!consume('0') && digits() == 0) {
+            throw error("Unexpected character");
+        }
+        if (consume('.') && digits() == 0) {
+            throw error("Expected digit after decimal point");
+        }
+        if (consume('e') || consume('E')) {
+            if (!consume('+')) {
+                consume('-');
+            }
+            if (digits() == 0) {
+                throw error("Expected digit in exponent");
+            }
+        }
+        return Double.parseDouble(text.substring(start, position));
+    }
+
+    private int digits() {
+        int start = position;
+        while (position < text.length() && text.charAt(position) >= '0' && text.charAt(position) <= '9') {
+            position++;
+        }
+        return position - start;
+    }
+
+    private char next(String message) {
+        if (position >= text.length()) {
+            throw error(message);
+        }
+        return text.charAt(position++);
+    }
+
+    private Object literal(String literal, Object value) {
+        if (!text.startsWith(literal, position)) {
+            throw error("Expected " + literal);
+        }
+        position += literal.length();
+        return value;
+    }
+
+    private void whitespace() {
+        while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+            position++;
+        }
+    }
+
+    private boolean peek(char c) {
+        return position < text.length() && text.charAt(position) == c;
+    }
+
+    private boolean consume(char c) {
+        if (peek(c)) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(char c) {
+        if (!consume(c)) {
+            throw error("Expected '" + c + "'");
+        }
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " at offset " + position);
+    }
+}
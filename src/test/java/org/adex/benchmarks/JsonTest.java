@@ -0,0 +1,61 @@
+package org.adex.benchmarks;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonTest {
+
+    @Test
+    void givenJmhStyleDocument_whenParsing_thenValuesAreDecoded() {
+        Object parsed = Json.parse("""
+                [{"benchmark": "a.b\\u0043", "threads": 4, "score": -1.5e3, "ok": true,
+                  "missing": null, "error": NaN, "params": {"tab": "x\\ty"}, "list": [0, 0.25, 1E+2]}]
+                """);
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> run = (Map<String, Object>) ((List<Object>) parsed).get(0);
+        assertAll("Every JSON value type should round-trip",
+                () -> assertEquals("a.bC", run.get("benchmark")),
+                () -> assertEquals(4.0, run.get("threads")),
+                () -> assertEquals(-1500.0, run.get("score")),
+                () -> assertEquals(Boolean.TRUE, run.get("ok")),
+                () -> assertTrue(run.containsKey("missing")),
+                () -> assertNull(run.get("missing")),
+                () -> assertTrue(Double.isNaN((Double) run.get("error"))),
+                () -> assertEquals(Map.of("tab", "x\ty"), run.get("params")),
+                () -> assertEquals(List.of(0.0, 0.25, 100.0), run.get("list"))
+        );
+    }
+
+    @Test
+    void givenTruncatedStrings_whenParsing_thenIllegalArgumentExceptionIsThrown() {
+        assertAll("Unterminated input must be rejected, not overrun",
+                () -> assertThrows(IllegalArgumentException.class, () -> Json.parse("\"abc")),
+                () -> assertThrows(IllegalArgumentException.class, () -> Json.parse("\"abc\\")),
+                () -> assertThrows(IllegalArgumentException.class, () -> Json.parse("\"\\u00")),
+                () -> assertThrows(IllegalArgumentException.class, () -> Json.parse("\"\\u00zz\"")),
+                () -> assertThrows(IllegalArgumentException.class, () -> Json.parse("\"\\q\"")),
+                () -> assertThrows(IllegalArgumentException.class, () -> Json.parse("{\"key\": [1, 2")),
+                () -> assertThrows(IllegalArgumentException.class, () -> Json.parse("{\"key\""))
+        );
+    }
+
+    @Test
+    void givenMalformedNumbers_whenParsing_thenIllegalArgumentExceptionIsThrown() {
+        assertAll("Only the JSON number grammar should be accepted",
+                () -> assertThrows(IllegalArgumentException.class, () -> Json.parse("+-.")),
+                () -> assertThrows(IllegalArgumentException.class, () -> Json.parse("+1")),
+                () -> assertThrows(IllegalArgumentException.class, () -> Json.parse("-")),
+                () -> assertThrows(IllegalArgumentException.class, () -> Json.parse(".5")),
+                () -> assertThrows(IllegalArgumentException.class, () -> Json.parse("1.")),
+                () -> assertThrows(IllegalArgumentException.class, () -> Json.parse("1e")),
+                () -> assertThrows(IllegalArgumentException.class, () -> Json.parse("01")),
+                () -> assertThrows(IllegalArgumentException.class, () -> Json.parse("1-2")),
+                () -> assertThrows(IllegalArgumentException.class, () -> Json.parse("[1,]"))
+        );
+    }
+}
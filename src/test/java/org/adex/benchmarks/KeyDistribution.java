@@ -0,0 +1,81 @@
+package org.adex.benchmarks;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+public enum KeyDistribution {
+    ZIPFIAN {
+        @Override
+        KeyGenerator create(int keySpace) {
+            return new ZipfianGenerator(keySpace, 0.99);
+        }
+    },
+    UNIFORM {
+        @Override
+        KeyGenerator create(int keySpace) {
+            return () -> ThreadLocalRandom.current().nextInt(keySpace);
+        }
+    },
+    SCAN {
+        @Override
+        KeyGenerator create(int keySpace) {
+            int[] next = {ThreadLocalRandom.current().nextInt(keySpace)};
+            return () -> {
+                int key = next[0];
+                next[0] = key + 1 == keySpace ? 0 : key + 1;
+                return key;
+            };
+        }
+    },
+    HOTSPOT {
+        @Override
+        KeyGenerator create(int keySpace) {
+            int hotKeys = Math.max(1, keySpace / 10);
+            return () -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                return random.nextInt(100) < 90
+                        ? random.nextInt(hotKeys)
+                        : hotKeys + random.nextInt(Math.max(1, keySpace - hotKeys));
+            };
+        }
+    };
+
+    abstract KeyGenerator create(int keySpace);
+
+    @FunctionalInterface
+    interface KeyGenerator {
+        int next();
+    }
+
+    static final class ZipfianGenerator implements KeyGenerator {
+        private final int items;
+        private final double theta;
+        private final double zetaN;
+        private final double alpha;
+        private final double eta;
+
+        ZipfianGenerator(int items, double theta) {
+            this.items = items;
+            this.theta = theta;
+            this.zetaN = zeta(items, theta);
+            this.alpha = 1.0 / (1.0 - theta);
+            this.eta = (1 - Math.pow(2.0 / items, 1 - theta)) / (1 - zeta(2, theta) / zetaN);
+        }
+
+        @Override
+        public int next() {
+            double u = ThreadLocalRandom.current().nextDouble();
+            double uz = u * zetaN;
+            if (uz < 1.0) return 0;
+            if (uz < 1.0 + Math.pow(0.5, theta)) return 1;
+            return (int) Math.min(items - 1, items * Math.pow(eta * u - eta + 1, alpha));
+        }
+
+        private static double zeta(int n, double theta) {
+            double sum = 0;
+            for (int i = 1; i <= n; i++) {
+                sum += 1 / Math.pow(i, theta);
+            }
+            return sum;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package org.adex.benchmarks;
+
+import org.adex.service.LRUCache;
+import org.adex.service.eviction.EvictionPolicy;
+import org.adex.service.stats.LatencyHistogram;
+import org.adex.service.stats.LatencyStats.Operation;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load generator: requests are scheduled at a fixed arrival rate and latency is measured from
+ * the intended start time, so a stalled cache is charged for every request that queued behind it.
+ * <p>
+ * Usage: {@code LoadGenerator --rate=200000 --duration=10 --threads=8 --capacity=100000 --keys=200000
+ * --mix=90:9:1 --batch=16 --policies=LRU,LFU}
+ */
+public class LoadGenerator {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9, 99.99};
+
+    private final int rate;
+    private final int durationSeconds;
+    private final int threads;
+    private final int capacity;
+    private final int keys;
+    private final int[] mix;
+    private final int batch;
+
+    LoadGenerator(int rate, int durationSeconds, int threads, int capacity, int keys, int[] mix, int batch) {
+        this.rate = rate;
+        this.durationSeconds = durationSeconds;
+        this.threads = threads;
+        this.capacity = capacity;
+        this.keys = keys;
+        this.mix = mix;
+        this.batch = batch;
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            String[] pair = arg.replaceFirst("^--", "").split("=", 2);
+            options.put(pair[0], pair.length > 1 ? pair[1] : "");
+        }
+
+        String[] mix = options.getOrDefault("mix", "90:9:1").split(":");
+        LoadGenerator generator = new LoadGenerator(
+                Integer.parseInt(options.getOrDefault("rate", "100000")),
+                Integer.parseInt(options.getOrDefault("duration", "10")),
+                Integer.parseInt(options.getOrDefault("threads", "4")),
+                Integer.parseInt(options.getOrDefault("capacity", "10000")),
+                Integer.parseInt(options.getOrDefault("keys", "20000")),
+                new int[]{Integer.parseInt(mix[0]), Integer.parseInt(mix[1]), Integer.parseInt(mix[2])},
+                Integer.parseInt(options.getOrDefault("batch", "16")));
+
+        for (String policy : options.getOrDefault("policies", "LRU,LFU").split(",")) {
+            EvictionPolicy.PolicyType type = EvictionPolicy.PolicyType.valueOf(policy.trim());
+            print(type, generator.run(type));
+        }
+    }
+
+    Map<Operation, LatencyHistogram> run(EvictionPolicy.PolicyType type) throws InterruptedException {
+        LRUCache<Integer> cache = new LRUCache<>(capacity);
+        cache.withPolicy(type);
+        for (int i = 0; i < capacity; i++) {
+            cache.put(i);
+        }
+
+        Map<Operation, LatencyHistogram> histograms = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            histograms.put(operation, new LatencyHistogram());
+        }
+
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        long startAt = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100);
+        long endAt = startAt + TimeUnit.SECONDS.toNanos(durationSeconds);
+        AtomicLong sequence = new AtomicLong();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            executor.execute(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (true) {
+                    long intended = startAt + sequence.getAndIncrement() * intervalNanos;
+                    if (intended >= endAt) {
+                        return;
+                    }
+                    waitUntil(intended);
+
+                    Operation operation = pick(random.nextInt(100));
+                    execute(cache, operation, random);
+                    histograms.get(operation).record(System.nanoTime() - intended);
+                }
+            });
+        }
+
+        executor.shutdown();
+        executor.awaitTermination(durationSeconds + 60L, TimeUnit.SECONDS);
+        return histograms;
+    }
+
+    private Operation pick(int roll) {
+        if (roll < mix[0]) return Operation.GET;
+        if (roll < mix[0] + mix[1]) return Operation.PUT;
+        return Operation.PUT_ALL;
+    }
+
+    private void execute(LRUCache<Integer> cache, Operation operation, ThreadLocalRandom random) {
+        switch (operation) {
+            case GET -> cache.get(random.nextInt(keys));
+            case PUT -> cache.put(random.nextInt(keys));
+            case PUT_ALL -> {
+                List<Integer> values = new ArrayList<>(batch);
+                for (int i = 0; i < batch; i++) {
+                    values.add(random.nextInt(keys));
+                }
+                cache.put(values, false);
+            }
+        }
+    }
+
+    private static void waitUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            if (remaining > 50_000) {
+                LockSupport.parkNanos(remaining - 50_000);
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    private static void print(EvictionPolicy.PolicyType type, Map<Operation, LatencyHistogram> histograms) {
+        System.out.printf("%n%s policy (latency in microseconds, corrected for coordinated omission)%n", type);
+        System.out.printf("%-8s %10s", "op", "count");
+        for (double percentile : PERCENTILES) {
+            System.out.printf(" %10s", "p" + percentile);
+        }
+        System.out.printf(" %10s%n", "max");
+
+        histograms.forEach((operation, histogram) -> {
+            System.out.printf("%-8s %10d", operation, histogram.count());
+            for (double percentile : PERCENTILES) {
+                System.out.printf(" %10.1f", histogram.valueAtPercentile(percentile) / 1_000.0);
+            }
+            System.out.printf(" %10.1f%n", histogram.max() / 1_000.0);
+        });
+    }
+}
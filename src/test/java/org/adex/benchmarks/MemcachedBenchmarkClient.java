@@ -0,0 +1,161 @@
+package org.adex.benchmarks;
+
+import org.adex.server.MemcachedServer;
+import org.adex.service.LRUCache;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-loop throughput client for the memcached text protocol. Each connection sends a pipeline of
+ * requests in one write and waits for all responses before sending the next one.
+ * <p>
+ * Usage: {@code MemcachedBenchmarkClient [--host=localhost --port=11211] --connections=8 --pipeline=16
+ * --duration=10 --keys=100000 --value-size=100 --read-percent=90 [--virtual-threads]}
+ * <p>
+ * Without {@code --port} an in-process server is started on an ephemeral port.
+ */
+public class MemcachedBenchmarkClient {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            String[] pair = arg.replaceFirst("^--", "").split("=", 2);
+            options.put(pair[0], pair.length > 1 ? pair[1] : "");
+        }
+
+        int connections = Integer.parseInt(options.getOrDefault("connections", "8"));
+        int pipeline = Integer.parseInt(options.getOrDefault("pipeline", "16"));
+        int duration = Integer.parseInt(options.getOrDefault("duration", "10"));
+        int keys = Integer.parseInt(options.getOrDefault("keys", "100000"));
+        int valueSize = Integer.parseInt(options.getOrDefault("value-size", "100"));
+        int readPercent = Integer.parseInt(options.getOrDefault("read-percent", "90"));
+
+        MemcachedServer server = null;
+        InetSocketAddress address;
+        if (options.containsKey("port")) {
+            address = new InetSocketAddress(options.getOrDefault("host", "localhost"),
+                    Integer.parseInt(options.get("port")));
+        } else {
+            server = new MemcachedServer(new LRUCache<>(keys, 0));
+            if (options.containsKey("virtual-threads")) {
+                server.withVirtualThreads();
+            }
+            address = server.start(new InetSocketAddress("localhost", 0));
+        }
+
+        LongAdder requests = new LongAdder();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(duration);
+        List<Thread> workers = new ArrayList<>();
+        for (int c = 0; c < connections; c++) {
+            workers.add(Thread.ofPlatform().name("memcached-client-" + c).start(() ->
+                    drive(address, pipeline, keys, valueSize, readPercent, deadline, requests)));
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        if (server != null) {
+            server.close();
+        }
+
+        System.out.printf("%d connections, pipeline %d, %d%% reads: %,.0f requests/s%n",
+                connections, pipeline, readPercent, requests.sum() / (double) duration);
+    }
+
+    private static void drive(InetSocketAddress address, int pipeline, int keys, int valueSize,
+                              int readPercent, long deadline, LongAdder requests) {
+        byte[] value = new byte[valueSize];
+        Arrays.fill(value, (byte) 'x');
+        ByteBuffer request = ByteBuffer.allocateDirect(pipeline * (valueSize + 64));
+        ByteBuffer response = ByteBuffer.allocateDirect(Math.max(64 * 1024, pipeline * (valueSize + 64)));
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        try (SocketChannel channel = SocketChannel.open(address)) {
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            while (System.nanoTime() < deadline) {
+                request.clear();
+                for (int i = 0; i < pipeline; i++) {
+                    String key = "key:" + random.nextInt(keys);
+                    if (random.nextInt(100) < readPercent) {
+                        request.put(("get " + key + "\r\n").getBytes(StandardCharsets.US_ASCII));
+                    } else {
+                        request.put(("set " + key + " 0 0 " + valueSize + "\r\n").getBytes(StandardCharsets.US_ASCII))
+                                .put(value)
+                                .put((byte) '\r').put((byte) '\n');
+                    }
+                }
+                request.flip();
+                while (request.hasRemaining()) {
+                    channel.write(request);
+                }
+
+                response.clear();
+                int completed = 0;
+                int scanned = 0;
+                while (completed < pipeline) {
+                    if (channel.read(response) < 0) {
+                        throw new IOException("Server closed the connection");
+                    }
+                    int[] progress = countTerminators(response, scanned);
+                    completed += progress[0];
+                    scanned = progress[1];
+                    if (!response.hasRemaining()) {
+                        response.limit(response.position()).position(scanned);
+                        response.compact();
+                        scanned = 0;
+                    }
+                }
+                requests.add(pipeline);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static int[] countTerminators(ByteBuffer response, int from) {
+        int completed = 0;
+        int lineStart = from;
+        for (int i = from; i < response.position() - 1; i++) {
+            if (response.get(i) == '\r' && response.get(i + 1) == '\n') {
+                byte first = response.get(lineStart);
+                if (first == 'V') {
+                    int length = parseLength(response, lineStart, i);
+                    if (i + 2 + length + 2 > response.position()) {
+                        return new int[]{completed, lineStart};
+                    }
+                    i += 2 + length;
+                } else if (first == 'E' || first == 'S' || first == 'N') {
+                    completed++;
+                }
+                lineStart = i + 2;
+                i++;
+            }
+        }
+        return new int[]{completed, lineStart};
+    }
+
+    private static int parseLength(ByteBuffer response, int lineStart, int lineEnd) {
+        int start = lineEnd;
+        while (response.get(start - 1) != ' ') {
+            start--;
+        }
+        int length = 0;
+        for (int i = start; i < lineEnd; i++) {
+            length = length * 10 + (response.get(i) - '0');
+        }
+        return length;
+    }
+}
@@ -0,0 +1,149 @@
+package org.adex.cluster;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.adex.server.CacheEntry;
+import org.adex.server.MemcachedClient;
+import org.adex.server.MemcachedServer;
+import org.adex.service.LRUCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClusterClientTest {
+    private static final int NODES = 3;
+    private static final int KEYS = 300;
+
+    private final List<MemcachedServer> servers = new ArrayList<>();
+    private final List<InetSocketAddress> addresses = new ArrayList<>();
+    private ClusterClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        for (int i = 0; i < NODES; i++) {
+            MemcachedServer server = new MemcachedServer(new LRUCache<>(10_000, 0));
+            servers.add(server);
+            addresses.add(server.start(new InetSocketAddress("localhost", 0)));
+        }
+        client = new ClusterClient(addresses);
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.close();
+        servers.forEach(MemcachedServer::close);
+    }
+
+    @Test
+    void givenKeysSpreadOverNodes_whenGettingAll_thenEveryValueIsReturned() {
+        List<String> keys = keys();
+        keys.forEach(key -> client.set(entry(key)));
+
+        Map<String, CacheEntry> entries = client.getAll(keys);
+
+        assertEquals(KEYS, entries.size());
+        keys.forEach(key -> assertArrayEquals(bytes(key), entries.get(key).data()));
+    }
+
+    @Test
+    void givenKeys_whenStored_thenEachNodeHoldsOnlyItsShare() {
+        List<String> keys = keys();
+        keys.forEach(key -> client.set(entry(key)));
+
+        for (InetSocketAddress address : addresses) {
+            try (MemcachedClient node = new MemcachedClient(address)) {
+                Map<String, CacheEntry> held = node.getAll(keys);
+                assertFalse(held.isEmpty(), "Every node should own some keys");
+                held.keySet().forEach(key -> assertEquals(address, client.nodeFor(key)));
+            }
+        }
+    }
+
+    @Test
+    void givenNodeRemoved_whenGetting_thenKeysOnRemainingNodesAreStillFound() {
+        List<String> keys = keys();
+        keys.forEach(key -> client.set(entry(key)));
+        InetSocketAddress leaving = addresses.get(0);
+        List<String> survivors = keys.stream().filter(key -> !client.nodeFor(key).equals(leaving)).toList();
+
+        client.removeNode(leaving);
+
+        assertEquals(survivors.size(), client.getAll(survivors).size());
+        assertFalse(client.nodes().contains(leaving));
+    }
+
+    @Test
+    void givenKey_whenDeleted_thenMisses() {
+        client.set(entry("gone"));
+
+        assertTrue(client.delete("gone"));
+        assertNull(client.get("gone"));
+        assertFalse(client.delete("gone"));
+    }
+
+    @Test
+    void givenDroppedConnection_whenRetrying_thenClientReconnects() throws IOException {
+        client.set(entry("key"));
+        int owner = addresses.indexOf(client.nodeFor("key"));
+        servers.get(owner).close();
+        MemcachedServer restarted = new MemcachedServer(new LRUCache<>(10_000, 0));
+        servers.set(owner, restarted);
+        restarted.start(addresses.get(owner));
+
+        assertThrows(UncheckedIOException.class, () -> client.get("key"));
+        client.set(entry("key"));
+
+        assertArrayEquals(bytes("key"), client.get("key").data());
+    }
+
+    @Test
+    void givenVirtualThreadFanOut_whenGettingAll_thenCarriersAreNotPinned() throws IOException {
+        List<String> keys = keys();
+        keys.forEach(key -> client.set(entry(key)));
+
+        Path file = Files.createTempFile("snappy-cache", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO);
+            recording.start();
+            for (int i = 0; i < 10; i++) {
+                assertEquals(KEYS, client.getAll(keys).size());
+            }
+            recording.stop();
+            recording.dump(file);
+
+            List<RecordedEvent> pinned = RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> "jdk.VirtualThreadPinned".equals(event.getEventType().getName()))
+                    .toList();
+            assertTrue(pinned.isEmpty(), "Blocking socket I/O should not pin carrier threads");
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static List<String> keys() {
+        return IntStream.range(0, KEYS).mapToObj(i -> "key:" + i).toList();
+    }
+
+    private static CacheEntry entry(String key) {
+        return new CacheEntry(key, 0, bytes(key));
+    }
+
+    private static byte[] bytes(String key) {
+        return ("value-" + key).getBytes(StandardCharsets.US_ASCII);
+    }
+}
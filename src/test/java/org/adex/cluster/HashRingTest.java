@@ -0,0 +1,91 @@
+package org.adex.cluster;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HashRingTest {
+    private static final int KEYS = 100_000;
+
+    @Test
+    void givenVirtualNodes_whenAssigningKeys_thenLoadIsBalanced() {
+        HashRing<String> ring = ringOf("a", "b", "c", "d");
+
+        Map<String, Integer> load = new HashMap<>();
+        IntStream.range(0, KEYS).forEach(i -> load.merge(ring.nodeFor("key:" + i), 1, Integer::sum));
+
+        int expected = KEYS / 4;
+        load.values().forEach(count ->
+                assertTrue(Math.abs(count - expected) < expected * 0.2, "Unbalanced load " + load));
+    }
+
+    @Test
+    void givenNewNode_whenJoining_thenOnlyKeysMovingToItAreRemapped() {
+        HashRing<String> ring = ringOf("a", "b", "c", "d");
+        Map<Integer, String> before = assignments(ring);
+
+        ring.add("e");
+        Map<Integer, String> after = assignments(ring);
+
+        int moved = 0;
+        for (int i = 0; i < KEYS; i++) {
+            if (!before.get(i).equals(after.get(i))) {
+                moved++;
+                assertEquals("e", after.get(i), "Keys should only move to the joining node");
+            }
+        }
+        assertTrue(Math.abs(moved - KEYS / 5) < KEYS / 5 * 0.25, "Moved " + moved + " keys");
+    }
+
+    @Test
+    void givenNodeLeaving_whenRemoved_thenOnlyItsKeysAreRemapped() {
+        HashRing<String> ring = ringOf("a", "b", "c");
+        Map<Integer, String> before = assignments(ring);
+
+        assertTrue(ring.remove("b"));
+        Map<Integer, String> after = assignments(ring);
+
+        for (int i = 0; i < KEYS; i++) {
+            if (!before.get(i).equals("b")) {
+                assertEquals(before.get(i), after.get(i));
+            }
+        }
+        assertFalse(ring.nodes().contains("b"));
+    }
+
+    @Test
+    void givenKeys_whenPartitioning_thenEachKeyIsGroupedUnderItsOwner() {
+        HashRing<String> ring = ringOf("a", "b");
+
+        Map<String, List<String>> partitions = ring.partition(List.of("k1", "k2", "k3", "k4"));
+
+        partitions.forEach((node, keys) -> keys.forEach(key -> assertEquals(node, ring.nodeFor(key))));
+        assertEquals(4, partitions.values().stream().mapToInt(List::size).sum());
+    }
+
+    @Test
+    void givenEmptyRing_whenLookingUp_thenThrowsException() {
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> new HashRing<String>(10).nodeFor("key"));
+        assertEquals("Hash ring has no nodes", exception.getMessage());
+    }
+
+    private static HashRing<String> ringOf(String... nodes) {
+        HashRing<String> ring = new HashRing<>(ClusterClient.DEFAULT_VIRTUAL_NODES);
+        for (String node : nodes) {
+            ring.add(node);
+        }
+        return ring;
+    }
+
+    private static Map<Integer, String> assignments(HashRing<String> ring) {
+        Map<Integer, String> assignments = new HashMap<>();
+        IntStream.range(0, KEYS).forEach(i -> assignments.put(i, ring.nodeFor("key:" + i)));
+        return assignments;
+    }
+}
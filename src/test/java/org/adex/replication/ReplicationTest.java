@@ -0,0 +1,212 @@
+package org.adex.replication;
+
+import org.adex.server.CacheEntry;
+import org.adex.service.Cache;
+import org.adex.service.LRUCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplicationTest {
+    private static final int CAPACITY = 100;
+
+    private LRUCache<CacheEntry> primaryCache;
+    private ReplicationPrimary primary;
+    private InetSocketAddress address;
+    private LRUCache<CacheEntry> followerCache;
+    private ReplicationFollower follower;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        primaryCache = new LRUCache<>(CAPACITY, 0);
+        primary = new ReplicationPrimary(primaryCache);
+        address = primary.start(new InetSocketAddress("localhost", 0));
+        followerCache = new LRUCache<>(CAPACITY, 0);
+        follower = new ReplicationFollower(followerCache, address);
+    }
+
+    @AfterEach
+    void tearDown() {
+        follower.close();
+        primary.close();
+    }
+
+    @Test
+    void givenMutationsOnPrimary_whenReplicated_thenFollowerConverges() throws InterruptedException {
+        follower.start();
+        awaitFollowers(1);
+
+        for (int i = 0; i < 50; i++) {
+            primaryCache.put(entry("key:" + i, "v" + i));
+        }
+        primaryCache.put(entry("key:1", "updated"));
+        primaryCache.remove(CacheEntry.probe("key:2"));
+        awaitCaughtUp();
+
+        assertAll("Follower should mirror puts, updates and removals",
+                () -> assertEquals(49, followerCache.size()),
+                () -> assertEquals("updated", value(followerCache, "key:1")),
+                () -> assertNull(followerCache.get(CacheEntry.probe("key:2"))),
+                () -> assertEquals(primary.lastSequence(), follower.appliedSequence())
+        );
+    }
+
+    @Test
+    void givenEvictionsOnPrimary_whenReplicated_thenFollowerDropsTheSameEntries() throws InterruptedException {
+        follower.start();
+        awaitFollowers(1);
+
+        for (int i = 0; i < CAPACITY; i++) {
+            primaryCache.put(entry("key:" + i, "v"));
+        }
+        primaryCache.get(CacheEntry.probe("key:0"));
+        primaryCache.put(entry("overflow", "v"));
+        awaitCaughtUp();
+
+        assertAll("Eviction follows the primary's recency, not the follower's",
+                () -> assertNotNull(followerCache.get(CacheEntry.probe("key:0"))),
+                () -> assertNull(followerCache.get(CacheEntry.probe("key:1"))),
+                () -> assertEquals(CAPACITY, followerCache.size())
+        );
+    }
+
+    @Test
+    void givenLateFollower_whenConnecting_thenReceivesSnapshotAndPromotesWarm() throws InterruptedException {
+        for (int i = 0; i < 20; i++) {
+            primaryCache.put(entry("key:" + i, "v" + i));
+        }
+
+        follower.start();
+        awaitFollowers(1);
+        primaryCache.put(entry("after", "snapshot"));
+        awaitCaughtUp();
+
+        Cache<CacheEntry> promoted = follower.promote();
+        assertAll("Promoted follower should serve the full dataset",
+                () -> assertEquals(21, promoted.size()),
+                () -> assertEquals("v7", value(promoted, "key:7")),
+                () -> assertEquals("snapshot", value(promoted, "after")),
+                () -> assertFalse(follower.connected())
+        );
+    }
+
+    @Test
+    void givenConnectedFollower_whenCaughtUp_thenLagIsZero() throws InterruptedException {
+        follower.start();
+        awaitFollowers(1);
+        primaryCache.put(entry("key", "v"));
+        awaitCaughtUp();
+
+        List<FollowerStatus> statuses = primary.followers();
+        assertEquals(1, statuses.size());
+        assertEquals(0, statuses.get(0).lagRecords());
+        assertEquals(0, statuses.get(0).lagMillis());
+        assertTrue(follower.lagMillis() >= 0);
+    }
+
+    @Test
+    void givenFollowerOverflowingBacklog_whenPrimaryWrites_thenFollowerIsDroppedAndDisconnected() throws Exception {
+        LRUCache<CacheEntry> cache = new LRUCache<>(CAPACITY, 0);
+        ReplicationPrimary lagging = new ReplicationPrimary(cache, 1);
+        for (int i = 0; i < 10; i++) {
+            cache.put(entry("before:" + i, "v"));
+        }
+        InetSocketAddress laggingAddress = lagging.start(new InetSocketAddress("localhost", 0));
+        try (Socket socket = new Socket(laggingAddress.getHostString(), laggingAddress.getPort())) {
+            await(() -> lagging.followers().size() == 1);
+            for (int i = 0; i < 10_000 && !lagging.followers().isEmpty(); i++) {
+                cache.put(entry("key:" + (i % CAPACITY), "v" + i));
+            }
+            socket.setSoTimeout(5_000);
+            byte[] drain = new byte[64 * 1024];
+            while (socket.getInputStream().read(drain) >= 0) {
+                // read until the primary closes the connection
+            }
+
+            assertAll("A follower that overflows its backlog should be dropped and then closed",
+                    () -> assertTrue(lagging.followers().isEmpty()),
+                    () -> assertTrue(lagging.lastSequence() > 1)
+            );
+        } finally {
+            lagging.close();
+        }
+    }
+
+    private void awaitFollowers(int count) throws InterruptedException {
+        await(() -> primary.followers().size() == count);
+    }
+
+    private void awaitCaughtUp() throws InterruptedException {
+        await(() -> primary.followers().stream().allMatch(status -> status.lagRecords() == 0)
+                && follower.appliedSequence() == primary.lastSequence());
+    }
+
+    @Test
+    void givenLargeQueuedRecords_whenDrainingBatch_thenBatchIsCappedByBytes() {
+        BlockingQueue<ReplicationRecord> queue = new ArrayBlockingQueue<>(16);
+        for (int i = 0; i < 10; i++) {
+            queue.add(largeRecord(i, ReplicationPrimary.MAX_BATCH_BYTES / 3));
+        }
+        List<ReplicationRecord> batch = new ArrayList<>();
+
+        ReplicationPrimary.drainBatch(queue.poll(), queue, batch);
+        long bytes = batch.stream().mapToLong(ReplicationRecord::size).sum();
+
+        assertAll("A batch should stop growing once it reaches the byte limit",
+                () -> assertEquals(2, batch.size()),
+                () -> assertTrue(bytes <= ReplicationPrimary.MAX_BATCH_BYTES),
+                () -> assertEquals(8, queue.size())
+        );
+    }
+
+    @Test
+    void givenOversizedFrame_whenWritten_thenFrameBufferIsNotRetained() throws IOException {
+        FrameWriter writer = new FrameWriter(Channels.newChannel(OutputStream.nullOutputStream()));
+        int initial = writer.retainedCapacity();
+
+        writer.write(List.of(largeRecord(0, 1024 * 1024)));
+        int grown = writer.retainedCapacity();
+        writer.write(List.of(largeRecord(1, FrameWriter.MAX_RETAINED_BUFFER + 1)));
+
+        assertAll("Frames above the retained size should use a temporary buffer",
+                () -> assertTrue(grown > initial),
+                () -> assertTrue(grown <= FrameWriter.MAX_RETAINED_BUFFER),
+                () -> assertEquals(grown, writer.retainedCapacity())
+        );
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Timed out waiting for replication");
+            Thread.sleep(10);
+        }
+    }
+
+    private static CacheEntry entry(String key, String value) {
+        return new CacheEntry(key, 0, value.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static String value(Cache<CacheEntry> cache, String key) {
+        return new String(cache.get(CacheEntry.probe(key)).data(), StandardCharsets.US_ASCII);
+    }
+
+    private static ReplicationRecord largeRecord(long sequence, int size) {
+        return new ReplicationRecord(ReplicationRecord.PUT, sequence, new CacheEntry("large:" + sequence, 0, new byte[size]));
+    }
+}
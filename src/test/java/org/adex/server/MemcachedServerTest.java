@@ -0,0 +1,239 @@
+package org.adex.server;
+
+import org.adex.service.LRUCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MemcachedServerTest {
+
+    private MemcachedServer server;
+    private Socket socket;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (socket != null) {
+            socket.close();
+        }
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    @Test
+    void givenSelectorServer_whenSetThenGet_thenValueIsReturned() throws IOException {
+        connect(false);
+
+        send("set greeting 42 0 5\r\nhello\r\n");
+        assertEquals("STORED", readLine());
+
+        send("get greeting missing\r\n");
+        assertAll("Hit should be returned and miss skipped",
+                () -> assertEquals("VALUE greeting 42 5", readLine()),
+                () -> assertEquals("hello", readLine()),
+                () -> assertEquals("END", readLine())
+        );
+    }
+
+    @Test
+    void givenVirtualThreadServer_whenPipelining_thenResponsesArriveInOrder() throws IOException {
+        connect(true);
+
+        send("set a 0 0 1\r\n1\r\nset b 0 0 1 noreply\r\n2\r\nadd a 0 0 1\r\n3\r\n"
+                + "replace c 0 0 1\r\n4\r\ndelete b\r\ndelete b\r\nget a b\r\nversion\r\nbogus\r\n");
+
+        assertAll("Pipelined commands should be answered in order",
+                () -> assertEquals("STORED", readLine()),
+                () -> assertEquals("NOT_STORED", readLine()),
+                () -> assertEquals("NOT_STORED", readLine()),
+                () -> assertEquals("DELETED", readLine()),
+                () -> assertEquals("NOT_FOUND", readLine()),
+                () -> assertEquals("VALUE a 0 1", readLine()),
+                () -> assertEquals("1", readLine()),
+                () -> assertEquals("END", readLine()),
+                () -> assertEquals("VERSION snappy-cache", readLine()),
+                () -> assertEquals("ERROR", readLine())
+        );
+    }
+
+    @Test
+    void givenValueLargerThanPooledBuffer_whenStoring_thenBufferGrowsAndValueRoundTrips() throws IOException {
+        connect(false);
+        byte[] value = new byte[200_000];
+        Arrays.fill(value, (byte) 'x');
+
+        OutputStream out = socket.getOutputStream();
+        out.write(("set big 0 0 " + value.length + "\r\n").getBytes(StandardCharsets.US_ASCII));
+        out.write(value);
+        out.write("\r\n".getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+        assertEquals("STORED", readLine());
+
+        send("get big\r\n");
+        assertEquals("VALUE big 0 " + value.length, readLine());
+        assertArrayEquals(value, new DataInputStream(socket.getInputStream()).readNBytes(value.length));
+        assertEquals("", readLine());
+        assertEquals("END", readLine());
+    }
+
+    @Test
+    void givenBinaryProtocol_whenSetGetAndDelete_thenStatusesMatch() throws IOException {
+        connect(false);
+
+        write(binaryRequest(BinaryProtocol.SET, "key", ByteBuffer.allocate(8).putInt(7).putInt(0).array(), "value", 1));
+        write(binaryRequest(BinaryProtocol.GETK, "key", new byte[0], "", 2));
+        write(binaryRequest(BinaryProtocol.GETQ, "missing", new byte[0], "", 3));
+        write(binaryRequest(BinaryProtocol.DELETE, "key", new byte[0], "", 4));
+        write(binaryRequest(BinaryProtocol.GET, "key", new byte[0], "", 5));
+        write(binaryRequest(BinaryProtocol.NOOP, "", new byte[0], "", 6));
+
+        BinaryResponse set = readBinary();
+        BinaryResponse get = readBinary();
+        BinaryResponse delete = readBinary();
+        BinaryResponse miss = readBinary();
+        BinaryResponse noop = readBinary();
+
+        assertAll("Binary responses should carry status, opaque and payload",
+                () -> assertEquals(BinaryProtocol.STATUS_OK, set.status()),
+                () -> assertEquals(1, set.opaque()),
+                () -> assertEquals(2, get.opaque()),
+                () -> assertEquals(7, ByteBuffer.wrap(get.body(), 0, 4).getInt()),
+                () -> assertEquals("keyvalue", new String(get.body(), 4, get.body().length - 4, StandardCharsets.US_ASCII)),
+                () -> assertEquals(BinaryProtocol.STATUS_OK, delete.status()),
+                () -> assertEquals(BinaryProtocol.STATUS_KEY_NOT_FOUND, miss.status()),
+                () -> assertEquals(5, miss.opaque()),
+                () -> assertEquals(6, noop.opaque())
+        );
+    }
+
+    @Test
+    void givenCollidingKeys_whenGetting_thenOtherKeyIsNotReturned() throws IOException {
+        connect(false);
+
+        send("set Aa 0 0 1\r\n1\r\nget BB\r\n");
+
+        assertEquals("STORED", readLine());
+        assertEquals("END", readLine());
+    }
+
+    @Test
+    void givenMalformedStorageLine_whenDataBlockFollows_thenBlockIsSkipped() throws IOException {
+        connect(false);
+
+        send("set key notanumber 0 5\r\nget x\r\nset other 0 0 1\r\n1\r\nget other\r\n");
+
+        assertAll("Data block of a rejected command must not be parsed as a command",
+                () -> assertEquals("CLIENT_ERROR bad command line format", readLine()),
+                () -> assertEquals("STORED", readLine()),
+                () -> assertEquals("VALUE other 0 1", readLine()),
+                () -> assertEquals("1", readLine()),
+                () -> assertEquals("END", readLine())
+        );
+    }
+
+    @Test
+    void givenStorageLineWithoutLength_whenProcessing_thenConnectionIsClosed() throws IOException {
+        connect(false);
+
+        send("set key 0 0\r\nversion\r\n");
+
+        assertThrows(IOException.class, this::readLine);
+    }
+
+    @Test
+    void givenMoreKeysThanTokenLimit_whenGetting_thenEveryKeyIsLookedUp() throws IOException {
+        connect(true);
+        StringBuilder get = new StringBuilder("get");
+        for (int i = 0; i < 600; i++) {
+            get.append(" k").append(i);
+        }
+
+        send("set k599 0 0 1\r\nz\r\n" + get + "\r\n");
+
+        assertAll("Keys beyond a single token batch should still be served",
+                () -> assertEquals("STORED", readLine()),
+                () -> assertEquals("VALUE k599 0 1", readLine()),
+                () -> assertEquals("z", readLine()),
+                () -> assertEquals("END", readLine())
+        );
+    }
+
+    private void connect(boolean virtualThreads) throws IOException {
+        server = new MemcachedServer(new LRUCache<>(1_000, 0));
+        server.withBufferSize(64 * 1024);
+        if (virtualThreads) {
+            server.withVirtualThreads();
+        }
+        InetSocketAddress address = server.start(new InetSocketAddress("localhost", 0));
+        socket = new Socket(address.getHostString(), address.getPort());
+        socket.setSoTimeout(5_000);
+    }
+
+    private void send(String request) throws IOException {
+        write(request.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private void write(byte[] request) throws IOException {
+        socket.getOutputStream().write(request);
+        socket.getOutputStream().flush();
+    }
+
+    private String readLine() throws IOException {
+        InputStream in = socket.getInputStream();
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        int previous = -1;
+        int current;
+        while ((current = in.read()) != -1) {
+            if (previous == '\r' && current == '\n') {
+                byte[] bytes = line.toByteArray();
+                return new String(bytes, 0, bytes.length - 1, StandardCharsets.US_ASCII);
+            }
+            line.write(current);
+            previous = current;
+        }
+        throw new IOException("Connection closed");
+    }
+
+    private static byte[] binaryRequest(byte opcode, String key, byte[] extras, String value, int opaque) {
+        byte[] keyBytes = key.getBytes(StandardCharsets.US_ASCII);
+        byte[] valueBytes = value.getBytes(StandardCharsets.US_ASCII);
+        ByteBuffer request = ByteBuffer.allocate(BinaryProtocol.HEADER_LENGTH + extras.length + keyBytes.length + valueBytes.length)
+                .put(BinaryProtocol.REQUEST_MAGIC)
+                .put(opcode)
+                .putShort((short) keyBytes.length)
+                .put((byte) extras.length)
+                .put((byte) 0)
+                .putShort((short) 0)
+                .putInt(extras.length + keyBytes.length + valueBytes.length)
+                .putInt(opaque)
+                .putLong(0)
+                .put(extras)
+                .put(keyBytes)
+                .put(valueBytes);
+        return request.array();
+    }
+
+    private BinaryResponse readBinary() throws IOException {
+        DataInputStream in = new DataInputStream(socket.getInputStream());
+        byte[] header = in.readNBytes(BinaryProtocol.HEADER_LENGTH);
+        ByteBuffer buffer = ByteBuffer.wrap(header);
+        assertEquals(BinaryProtocol.RESPONSE_MAGIC, buffer.get(0));
+        byte[] body = in.readNBytes(buffer.getInt(8));
+        return new BinaryResponse(buffer.getShort(6), buffer.getInt(12), body);
+    }
+
+    private record BinaryResponse(short status, int opaque, byte[] body) {
+    }
+}
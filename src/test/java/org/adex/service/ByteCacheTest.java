@@ -0,0 +1,256 @@
+package org.adex.service;
+
+import org.adex.service.codec.DeflateCodec;
+import org.adex.service.stats.CompressionStats;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ByteCacheTest {
+    private static final int SLAB_SIZE = 4096;
+
+    @Test
+    void givenStoredBytes_whenGet_thenPinnedReadOnlySliceIsReturned() {
+        ByteCache<String> cache = new ByteCache<>(SLAB_SIZE, SLAB_SIZE);
+        ByteBuffer source = bytes("hello world");
+        cache.put("greeting", source);
+
+        try (ByteCache.Lease lease = cache.get("greeting")) {
+            ByteBuffer value = lease.value();
+            cache.remove("greeting");
+            for (int i = 0; i < SLAB_SIZE / 64; i++) {
+                cache.put("filler-" + i, bytes("overwritten"));
+            }
+
+            assertAll("Pinned slice should stay valid while its entry is removed and the pool churns",
+                    () -> assertEquals(11, source.remaining()),
+                    () -> assertTrue(value.isDirect()),
+                    () -> assertTrue(value.isReadOnly()),
+                    () -> assertThrows(ReadOnlyBufferException.class, () -> value.put(0, (byte) 'H')),
+                    () -> assertEquals("hello world", string(value)),
+                    () -> assertNull(cache.get("greeting")),
+                    () -> assertNull(cache.get("missing")),
+                    () -> assertEquals(SLAB_SIZE / 64 - 1, cache.size())
+            );
+        }
+        cache.put("after", bytes("released"));
+
+        assertAll("Releasing the lease should return its slot to the pool",
+                () -> assertEquals("released", string(cache, "after")),
+                () -> assertEquals(SLAB_SIZE / 64, cache.size())
+        );
+    }
+
+    @Test
+    void givenStoredBytes_whenTransferred_thenChannelReceivesPayload() throws IOException {
+        ByteCache<String> cache = new ByteCache<>(16 * SLAB_SIZE, SLAB_SIZE);
+        cache.put("page", bytes("<html></html>"));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        try (WritableByteChannel channel = Channels.newChannel(out)) {
+            long written = cache.transferTo("page", channel);
+            long missing = cache.transferTo("missing", channel);
+
+            assertAll("Hits should be written straight to the channel",
+                    () -> assertEquals(13, written),
+                    () -> assertEquals(-1, missing),
+                    () -> assertEquals("<html></html>", out.toString(StandardCharsets.UTF_8))
+            );
+        }
+    }
+
+    @Test
+    void givenReplacementAndRemoval_whenQueried_thenSlotsAreReused() {
+        ByteCache<String> cache = new ByteCache<>(SLAB_SIZE, SLAB_SIZE);
+        for (int i = 0; i < 1_000; i++) {
+            cache.put("key", bytes("value-" + i));
+        }
+        cache.put("other", bytes("x"));
+        boolean removed = cache.remove("other");
+
+        assertAll("Freed slots should be recycled without growing the pool",
+                () -> assertEquals("value-999", string(cache, "key")),
+                () -> assertTrue(removed),
+                () -> assertFalse(cache.remove("other")),
+                () -> assertEquals(1, cache.size()),
+                () -> assertEquals(ByteCache.LENGTH_PREFIX + 9, cache.usedBytes()),
+                () -> assertEquals(SLAB_SIZE, cache.allocatedBytes())
+        );
+    }
+
+    @Test
+    void givenFullPool_whenPutting_thenUnreferencedEntriesAreEvictedFirst() {
+        ByteCache<Integer> cache = new ByteCache<>(SLAB_SIZE, SLAB_SIZE);
+        int slots = SLAB_SIZE / 64;
+        for (int i = 0; i < slots; i++) {
+            cache.put(i, bytes("v" + i));
+        }
+        string(cache, 0);
+        cache.put(slots, bytes("new"));
+
+        assertAll("Second-chance eviction should keep recently read entries",
+                () -> assertEquals(slots, cache.size()),
+                () -> assertNotNull(string(cache, 0)),
+                () -> assertNull(cache.get(1)),
+                () -> assertEquals("new", string(cache, slots))
+        );
+    }
+
+    @Test
+    void givenFailedOverwrite_whenPutting_thenPreviousValueIsDropped() {
+        ByteCache<String> cache = new ByteCache<>(SLAB_SIZE, SLAB_SIZE);
+        cache.put("key", bytes("old"));
+
+        boolean stored = cache.put("key", ByteBuffer.allocate(SLAB_SIZE));
+
+        assertAll("A rejected overwrite must not leave the stale value readable",
+                () -> assertFalse(stored),
+                () -> assertNull(cache.get("key")),
+                () -> assertEquals(0, cache.size()),
+                () -> assertEquals(0, cache.usedBytes())
+        );
+    }
+
+    @Test
+    void givenSizeDistributionShift_whenPutting_thenSlabsAreReassigned() {
+        ByteCache<Integer> cache = new ByteCache<>(4 * SLAB_SIZE, SLAB_SIZE);
+        for (int i = 0; i < 4 * SLAB_SIZE / 64; i++) {
+            cache.put(i, bytes("small-" + i));
+        }
+        ByteBuffer large = ByteBuffer.allocate(1000);
+        boolean first = cache.put(-1, large.duplicate());
+        for (int i = 0; i < 200; i++) {
+            cache.put(-2 - i, large.duplicate());
+        }
+        long resident = IntStream.rangeClosed(1, 201)
+                .filter(i -> string(cache, -i) != null)
+                .count();
+
+        assertAll("Slabs should move from the idle class to the class under pressure",
+                () -> assertTrue(first),
+                () -> assertTrue(resident > SLAB_SIZE / 1024, "resident large values: " + resident),
+                () -> assertEquals(4 * SLAB_SIZE, cache.allocatedBytes())
+        );
+    }
+
+    @Test
+    void givenOversizedValue_whenPutting_thenRejected() {
+        ByteCache<String> cache = new ByteCache<>(SLAB_SIZE, SLAB_SIZE);
+
+        assertAll("Values must fit in a single slab",
+                () -> assertFalse(cache.put("big", ByteBuffer.allocate(SLAB_SIZE))),
+                () -> assertTrue(cache.put("fits", ByteBuffer.allocate(SLAB_SIZE - ByteCache.LENGTH_PREFIX))),
+                () -> assertThrows(IllegalArgumentException.class, () -> new ByteCache<>(SLAB_SIZE, 1000))
+        );
+    }
+
+    @Test
+    void givenCompression_whenStoringLargeValues_thenMemoryShrinksAndReadsAreTransparent() throws IOException {
+        ByteCache<String> cache = new ByteCache<String>(16 * SLAB_SIZE, SLAB_SIZE).withCompression(new DeflateCodec(), 128);
+        String html = "<li class=\"item\">entry</li>".repeat(100);
+        cache.put("page", bytes(html));
+        cache.put("small", bytes("short"));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long written = cache.transferTo("page", Channels.newChannel(out));
+        CompressionStats stats = cache.compressionStats();
+
+        assertAll("Compressed entries should be stored smaller and read back unchanged",
+                () -> assertTrue(cache.usedBytes() < html.length() / 5),
+                () -> assertEquals(html, string(cache, "page")),
+                () -> assertEquals("short", string(cache, "small")),
+                () -> assertEquals(html.length(), written),
+                () -> assertEquals(html, out.toString(StandardCharsets.UTF_8)),
+                () -> assertEquals(1, stats.compressedCount()),
+                () -> assertTrue(stats.compressionRatio() > 2)
+        );
+    }
+
+    @Test
+    void givenConcurrentReadersAndWriters_whenRunning_thenPayloadsAreNeverTorn() throws Exception {
+        ByteCache<Integer> cache = new ByteCache<>(8 * SLAB_SIZE, SLAB_SIZE);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int seed = t;
+                futures.add(executor.submit(() -> {
+                    ByteArrayOutputStream out = new ByteArrayOutputStream();
+                    WritableByteChannel channel = Channels.newChannel(out);
+                    for (int i = 0; i < 5_000; i++) {
+                        int key = (i * 31 + seed) % 200;
+                        if (i % 3 == 0) {
+                            cache.put(key, bytes("payload-" + key));
+                        } else {
+                            out.reset();
+                            if (cache.transferTo(key, channel) >= 0) {
+                                assertEquals("payload-" + key, out.toString(StandardCharsets.UTF_8));
+                            }
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void givenWriterRecyclingSlots_whenReaderHoldsLease_thenPayloadIsNotTorn() throws Exception {
+        ByteCache<Integer> cache = new ByteCache<>(SLAB_SIZE, SLAB_SIZE);
+        ExecutorService writer = Executors.newSingleThreadExecutor();
+        try {
+            for (int round = 0; round < 50; round++) {
+                int key = round;
+                cache.put(key, bytes("payload-" + key));
+                try (ByteCache.Lease lease = cache.get(key)) {
+                    writer.submit(() -> {
+                        for (int i = 0; i < 2 * SLAB_SIZE / 64; i++) {
+                            cache.put(1_000 + i, bytes("payload-" + (1_000 + i)));
+                        }
+                    }).get();
+
+                    assertAll("Slice held by a lease must not observe a recycled slot",
+                            () -> assertNull(cache.get(key)),
+                            () -> assertEquals("payload-" + key, string(lease.value()))
+                    );
+                }
+            }
+        } finally {
+            writer.shutdown();
+        }
+    }
+
+    private static ByteBuffer bytes(String value) {
+        return ByteBuffer.wrap(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static <K> String string(ByteCache<K> cache, K key) {
+        try (ByteCache.Lease lease = cache.get(key)) {
+            return lease == null ? null : string(lease.value());
+        }
+    }
+
+    private static String string(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,75 @@
+package org.adex.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LRUCacheBulkOperationsTest {
+    private static final int ENTRIES = 10_000;
+
+    private LRUCache<Integer> cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new LRUCache<>(ENTRIES);
+        IntStream.range(0, ENTRIES).forEach(cache::put);
+    }
+
+    @Test
+    void givenLowThreshold_whenForEach_thenVisitsEveryEntry() {
+        LongAdder visited = new LongAdder();
+        Set<Integer> values = ConcurrentHashMap.newKeySet();
+
+        cache.forEach(1, value -> {
+            visited.increment();
+            values.add(value);
+        });
+
+        assertEquals(ENTRIES, visited.sum());
+        assertEquals(ENTRIES, values.size());
+    }
+
+    @Test
+    void givenThresholdAboveSize_whenForEach_thenRunsOnCallerThread() {
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+
+        cache.forEach(Long.MAX_VALUE, value -> threads.add(Thread.currentThread()));
+
+        assertEquals(Set.of(Thread.currentThread()), threads);
+    }
+
+    @Test
+    void givenPredicate_whenSearching_thenReturnsMatchOrNull() {
+        Integer found = cache.search(1, value -> value == 4_242 ? value : null);
+        Integer missing = cache.search(1, value -> value < 0 ? value : null);
+
+        assertEquals(4_242, found);
+        assertNull(missing);
+    }
+
+    @Test
+    void givenTransformer_whenReducing_thenCombinesAllEntries() {
+        long expectedSum = (long) ENTRIES * (ENTRIES - 1) / 2;
+        Integer max = cache.reduce(1, value -> value, Math::max);
+
+        assertAll("Reductions should cover every entry",
+                () -> assertEquals(ENTRIES - 1, max),
+                () -> assertEquals(expectedSum, cache.reduceToLong(1, value -> value, 0, Long::sum)),
+                () -> assertEquals(ENTRIES / 2, cache.reduceToLong(1, value -> value % 2 == 0 ? 1 : 0, 0, Long::sum))
+        );
+    }
+
+    @Test
+    void givenNonPositiveThreshold_whenBulkOperation_thenThrowsException() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> cache.forEach(0, value -> {
+                }));
+        assertEquals("Parallelism threshold must be positive", exception.getMessage());
+    }
+}
@@ -0,0 +1,141 @@
+package org.adex.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LRUCacheFlatCombiningTest {
+    private static final int THREAD_COUNT = 8;
+    private static final int OPERATIONS_PER_THREAD = 5_000;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(THREAD_COUNT);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void givenConcurrentPuts_whenCombining_thenEveryValueIsApplied() throws Exception {
+        LRUCache<Integer> cache = new LRUCache<>(THREAD_COUNT * OPERATIONS_PER_THREAD);
+        cache.withFlatCombining();
+
+        runConcurrently(thread -> {
+            for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                cache.put(thread * OPERATIONS_PER_THREAD + i);
+            }
+        });
+
+        assertEquals(THREAD_COUNT * OPERATIONS_PER_THREAD, cache.size());
+        for (int i = 0; i < THREAD_COUNT * OPERATIONS_PER_THREAD; i++) {
+            assertEquals(i, cache.get(i));
+        }
+    }
+
+    @Test
+    void givenConcurrentPutsWithEviction_whenCombining_thenCapacityIsRespected() throws Exception {
+        LRUCache<Integer> cache = new LRUCache<>(100);
+        cache.withFlatCombining();
+
+        runConcurrently(thread -> {
+            for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                cache.put(thread * OPERATIONS_PER_THREAD + i);
+                cache.remove(thread * OPERATIONS_PER_THREAD + i - 1);
+            }
+        });
+
+        assertAll("Eviction should stay consistent under combining",
+                () -> assertTrue(cache.size() <= 100),
+                () -> assertEquals(cache.size(), cache.get().size())
+        );
+    }
+
+    @Test
+    void givenRemove_whenCombining_thenReturnsRemovedValue() {
+        LRUCache<Integer> cache = new LRUCache<>(4);
+        cache.withFlatCombining();
+        cache.put(1);
+
+        assertEquals(1, cache.remove(1));
+        assertNull(cache.remove(1));
+    }
+
+    @Test
+    void givenFailingWeigher_whenCombining_thenExceptionReachesTheCaller() {
+        LRUCache<Integer> cache = new LRUCache<>(4);
+        cache.withMaximumWeight(10, value -> -1);
+        cache.withFlatCombining();
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> cache.put(1));
+        assertEquals("Weight cannot be negative", exception.getMessage());
+        assertTrue(cache.isEmpty());
+    }
+
+    @Test
+    void givenHeldLock_whenCombinerWaits_thenItDoesNotHammerTheLockWithTryLock() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+        ReentrantLock lock = new ReentrantLock() {
+            @Override
+            public boolean tryLock() {
+                attempts.incrementAndGet();
+                return super.tryLock();
+            }
+        };
+        FlatCombiner<Integer> combiner = new FlatCombiner<>((operation, value, tags) -> value * 2);
+
+        lock.lock();
+        Future<Integer> result;
+        try {
+            result = executor.submit(() -> combiner.submit(lock, FlatCombiner.Operation.PUT, 21, new String[0]));
+            while (!lock.hasQueuedThreads()) {
+                Thread.onSpinWait();
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        assertAll("A waiting combiner should spin on its slot rather than on the contended lock",
+                () -> assertEquals(42, result.get(30, TimeUnit.SECONDS)),
+                () -> assertEquals(0, attempts.get())
+        );
+    }
+
+    private void runConcurrently(ThreadTask task) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREAD_COUNT; t++) {
+            int thread = t;
+            futures.add(executor.submit(() -> {
+                start.await();
+                task.run(thread);
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+    }
+
+    @FunctionalInterface
+    private interface ThreadTask {
+        void run(int thread);
+    }
+}
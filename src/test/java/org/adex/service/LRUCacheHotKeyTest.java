@@ -0,0 +1,224 @@
+package org.adex.service;
+
+import org.adex.service.stats.CacheStats;
+import org.adex.service.stats.HotKey;
+import org.adex.service.stats.LatencyStats;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LRUCacheHotKeyTest {
+
+    @Test
+    void givenSkewedReads_whenReplicated_thenHotKeysAreReportedAndServed() {
+        LRUCache<String> cache = new LRUCache<>(1_000, 0);
+        cache.withHotKeyReplication(64, 4);
+        cache.recordStats();
+        for (int i = 0; i < 500; i++) {
+            cache.put("key-" + i);
+        }
+
+        for (int round = 0; round < 20_000; round++) {
+            cache.get(round % 2 == 0 ? "celebrity" : "key-" + (round % 500));
+            cache.get("celebrity");
+            if (round == 0) {
+                cache.put("celebrity");
+            }
+        }
+        List<HotKey<String>> top = cache.hotKeys(1);
+        CacheStats stats = cache.stats();
+
+        assertAll("The dominant key should be detected and still read correctly",
+                () -> assertEquals("celebrity", top.get(0).value()),
+                () -> assertEquals("celebrity", cache.get("celebrity")),
+                () -> assertTrue(stats.hotKeys().containsKey("celebrity")),
+                () -> assertEquals(39_998, stats.hitCount()),
+                () -> assertEquals(2, stats.missCount())
+        );
+    }
+
+    @Test
+    void givenReplicatedKey_whenCacheLockIsHeld_thenReadIsServedLocally() throws Exception {
+        LRUCache<String> cache = new LRUCache<>(100, 0);
+        cache.withHotKeyReplication(16, 2);
+        cache.put("hot");
+        for (int i = 0; i < 5_000; i++) {
+            cache.get("hot");
+        }
+
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = Thread.ofPlatform().start(() -> {
+            cache.lock.lock();
+            try {
+                locked.countDown();
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                cache.lock.unlock();
+            }
+        });
+        locked.await();
+        String value;
+        try {
+            value = cache.get("hot");
+        } finally {
+            release.countDown();
+            holder.join();
+        }
+
+        assertEquals("hot", value);
+    }
+
+    @Test
+    void givenReplicatedKey_whenServedLocally_thenLatencyIsRecorded() {
+        LRUCache<String> cache = new LRUCache<>(100, 0);
+        cache.withHotKeyReplication(16, 2);
+        cache.recordLatencies();
+        cache.put("hot");
+        for (int i = 0; i < 5_000; i++) {
+            cache.get("hot");
+        }
+
+        assertEquals(5_000, cache.latencies().histogram(LatencyStats.Operation.GET).count());
+    }
+
+    @Test
+    void givenReplicatedKey_whenServedLocally_thenEveryHitIsSampledByTheMissRatioCurve() {
+        LRUCache<String> cache = new LRUCache<>(256, 0);
+        cache.withHotKeyReplication(16, 2);
+        cache.withMissRatioCurve(1_000);
+        cache.recordStats();
+        cache.put("hot");
+        for (int round = 0; round < 200; round++) {
+            cache.put("cold:" + round);
+        }
+        for (int round = 0; round < 200; round++) {
+            for (int i = 0; i < 50; i++) {
+                cache.get("hot");
+            }
+            cache.get("cold:" + round);
+        }
+
+        assertAll("Replica hits should feed the statistics and the miss-ratio curve",
+                () -> assertEquals(200 * 51, cache.stats().hitCount()),
+                () -> assertTrue(cache.missRatioCurve().hitRatio(1) > 0.9,
+                        "hit ratio: " + cache.missRatioCurve().hitRatio(1))
+        );
+    }
+
+    @Test
+    void givenVirtualThread_whenReadingHotKey_thenReadGoesThroughTheCache() throws Exception {
+        LRUCache<String> cache = new LRUCache<>(100, 0);
+        cache.withHotKeyReplication(16, 2);
+        cache.put("hot");
+        CountDownLatch warmed = new CountDownLatch(1);
+        CountDownLatch go = new CountDownLatch(1);
+        AtomicReference<String> value = new AtomicReference<>();
+        Thread reader = Thread.ofVirtual().start(() -> {
+            for (int i = 0; i < 5_000; i++) {
+                cache.get("hot");
+            }
+            warmed.countDown();
+            try {
+                go.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            value.set(cache.get("hot"));
+        });
+        warmed.await();
+
+        boolean blocked;
+        cache.lock.lock();
+        try {
+            go.countDown();
+            reader.join(200);
+            blocked = reader.isAlive();
+        } finally {
+            cache.lock.unlock();
+        }
+        reader.join();
+
+        assertAll("Virtual threads have no long-lived thread-local replica to read from",
+                () -> assertTrue(blocked),
+                () -> assertEquals("hot", value.get())
+        );
+    }
+
+    @Test
+    void givenReplicatedKey_whenRemoved_thenReplicaIsInvalidated() {
+        LRUCache<String> cache = new LRUCache<>(100, 0);
+        cache.withHotKeyReplication(16, 2);
+        cache.put("hot");
+        for (int i = 0; i < 5_000; i++) {
+            cache.get("hot");
+        }
+
+        cache.remove("hot");
+        String afterRemoval = cache.get("hot");
+        cache.put("hot");
+        cache.purge();
+        String afterPurge = cache.get("hot");
+
+        assertAll("Mutations should invalidate thread-local replicas",
+                () -> assertNull(afterRemoval),
+                () -> assertNull(afterPurge)
+        );
+    }
+
+    @Test
+    void givenConcurrentReadersAndWriter_whenReplicated_thenReadsNeverSeeRemovedValues() throws Exception {
+        LRUCache<Integer> cache = new LRUCache<>(100, 0);
+        cache.withHotKeyReplication(16, 2);
+        cache.put(1);
+        AtomicBoolean running = new AtomicBoolean(true);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> readers = new ArrayList<>();
+            for (int t = 0; t < 3; t++) {
+                readers.add(executor.submit(() -> {
+                    while (running.get()) {
+                        Integer value = cache.get(1);
+                        assertTrue(value == null || value == 1);
+                    }
+                }));
+            }
+            for (int i = 0; i < 2_000; i++) {
+                cache.remove(1);
+                assertNull(cache.get(1));
+                cache.put(1);
+            }
+            running.set(false);
+            for (Future<?> reader : readers) {
+                reader.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(1, cache.get(1));
+    }
+
+    @Test
+    void givenInvalidConfiguration_whenEnabled_thenRejected() {
+        LRUCache<String> cache = new LRUCache<>(10, 0);
+
+        assertAll("Replicated keys must fit within the tracked keys",
+                () -> assertThrows(IllegalArgumentException.class, () -> cache.withHotKeyReplication(4, 8)),
+                () -> assertThrows(IllegalArgumentException.class, () -> cache.withHotKeyReplication(0, 0)),
+                () -> assertTrue(cache.hotKeys(5).isEmpty())
+        );
+    }
+}
@@ -0,0 +1,107 @@
+package org.adex.service;
+
+import org.adex.service.listener.RemovalCause;
+import org.adex.service.listener.RemovalNotification;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LRUCacheRemovalListenerTest {
+    private static final int CACHE_CAPACITY = 2;
+
+    private LRUCache<Integer> cache;
+    private List<RemovalNotification<Integer>> notifications;
+
+    @BeforeEach
+    void setUp() {
+        cache = new LRUCache<>(CACHE_CAPACITY);
+        notifications = new CopyOnWriteArrayList<>();
+        cache.withRemovalListener(notifications::add, Runnable::run);
+    }
+
+    @Test
+    void givenFullCache_whenPutting_thenEvictedValueIsNotifiedWithSizeCause() {
+        cache.put(1);
+        cache.put(2);
+        cache.put(3);
+
+        assertEquals(List.of(new RemovalNotification<>(1, RemovalCause.SIZE)), notifications);
+    }
+
+    @Test
+    void givenEntry_whenRemoved_thenNotifiedWithExplicitCause() {
+        cache.put(1);
+
+        assertEquals(1, cache.remove(1));
+        assertNull(cache.remove(1));
+
+        assertEquals(List.of(new RemovalNotification<>(1, RemovalCause.EXPLICIT)), notifications);
+    }
+
+    @Test
+    void givenEntry_whenReplacedByEqualValue_thenNotifiedWithReplacedCause() {
+        String first = new String("value");
+        String second = new String("value");
+        LRUCache<String> strings = new LRUCache<>(CACHE_CAPACITY);
+        List<RemovalNotification<String>> removed = new CopyOnWriteArrayList<>();
+        strings.withRemovalListener(removed::add, Runnable::run);
+
+        strings.put(first);
+        strings.put(second);
+
+        assertEquals(1, removed.size());
+        assertSame(first, removed.get(0).value());
+        assertEquals(RemovalCause.REPLACED, removed.get(0).cause());
+    }
+
+    @Test
+    void givenExpiredEntry_whenGet_thenNotifiedWithExpiredCause() throws InterruptedException {
+        cache.ttl(10);
+        cache.put(1);
+        Thread.sleep(30);
+
+        assertNull(cache.get(1));
+        assertEquals(0, cache.size());
+        assertEquals(List.of(new RemovalNotification<>(1, RemovalCause.EXPIRED)), notifications);
+    }
+
+    @Test
+    void givenListener_whenNotified_thenCacheLockIsNotHeld() {
+        List<Boolean> lockHeld = new CopyOnWriteArrayList<>();
+        cache.withRemovalListener(notification -> lockHeld.add(cache.lock.isHeldByCurrentThread()), Runnable::run);
+
+        cache.put(1);
+        cache.put(2);
+        cache.put(3);
+
+        assertEquals(List.of(false), lockHeld);
+    }
+
+    @Test
+    void givenExecutor_whenEvicting_thenListenerRunsOffTheCallerThread() throws InterruptedException {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        CountDownLatch delivered = new CountDownLatch(3);
+        List<Thread> threads = new CopyOnWriteArrayList<>();
+        cache = new LRUCache<>(1);
+        cache.withRemovalListener(notification -> {
+            threads.add(Thread.currentThread());
+            delivered.countDown();
+        }, executor);
+
+        for (int i = 0; i < 4; i++) {
+            cache.put(i);
+        }
+
+        assertTrue(delivered.await(5, TimeUnit.SECONDS));
+        executor.shutdownNow();
+        assertFalse(threads.contains(Thread.currentThread()));
+    }
+}
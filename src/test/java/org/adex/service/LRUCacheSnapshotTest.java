@@ -0,0 +1,209 @@
+package org.adex.service;
+
+import org.adex.service.persistence.Serializer;
+import org.adex.service.persistence.WriteAheadLog;
+import org.adex.service.stats.CacheStatsMBeans;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LRUCacheSnapshotTest {
+    private static final Serializer<Integer> INTEGERS = new Serializer<>() {
+        @Override
+        public byte[] serialize(Integer value) {
+            return ByteBuffer.allocate(4).putInt(value).array();
+        }
+
+        @Override
+        public Integer deserialize(byte[] bytes) {
+            return ByteBuffer.wrap(bytes).getInt();
+        }
+    };
+
+    private Path directory;
+    private Path file;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory("snappy-cache-snapshot");
+        file = directory.resolve("cache.snapshot");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Test
+    void givenSnapshot_whenLoaded_thenRecencyOrderIsPreserved() {
+        LRUCache<Integer> cache = new LRUCache<>(100, 0);
+        IntStream.rangeClosed(1, 100).forEach(cache::put);
+        cache.get(5);
+        assertEquals(100, cache.saveSnapshot(file, INTEGERS));
+
+        LRUCache<Integer> restored = new LRUCache<>(100, 0);
+        int loaded = restored.loadSnapshot(file, INTEGERS);
+        Integer head = restored.peek();
+        restored.put(101);
+
+        assertAll("Most recent entries should be at the head and the coldest evicted first",
+                () -> assertEquals(100, loaded),
+                () -> assertEquals(5, head),
+                () -> assertNull(restored.get(1)),
+                () -> assertEquals(2, restored.get(2)),
+                () -> assertEquals(100, restored.size())
+        );
+    }
+
+    @Test
+    void givenSmallerCache_whenLoaded_thenOnlyHottestEntriesAreRestored() {
+        LRUCache<Integer> cache = new LRUCache<>(100, 0);
+        IntStream.rangeClosed(1, 100).forEach(cache::put);
+        cache.saveSnapshot(file, INTEGERS);
+
+        LRUCache<Integer> restored = new LRUCache<>(10, 0);
+        int loaded = restored.loadSnapshot(file, INTEGERS);
+
+        assertAll("Loading should stop once the cache is full instead of evicting hot entries",
+                () -> assertEquals(10, loaded),
+                () -> assertEquals(10, restored.size()),
+                () -> assertEquals(100, restored.get(100)),
+                () -> assertEquals(91, restored.get(91)),
+                () -> assertNull(restored.get(90))
+        );
+    }
+
+    @Test
+    void givenLiveEntries_whenLoaded_thenLiveEntriesStayHottest() {
+        LRUCache<Integer> cache = new LRUCache<>(100, 0);
+        IntStream.rangeClosed(1, 10).forEach(cache::put);
+        cache.saveSnapshot(file, INTEGERS);
+
+        LRUCache<Integer> restored = new LRUCache<>(100, 0);
+        restored.put(42);
+        restored.put(3);
+        restored.loadSnapshot(file, INTEGERS);
+
+        assertAll("Restored entries should be appended behind traffic that arrived first",
+                () -> assertEquals(11, restored.size()),
+                () -> assertEquals(3, restored.peek())
+        );
+    }
+
+    @Test
+    void givenManyChunks_whenLoaded_thenEveryEntryIsRestored() {
+        LRUCache<Integer> cache = new LRUCache<>(20_000, 0);
+        IntStream.range(0, 20_000).forEach(cache::put);
+        cache.saveSnapshot(file, INTEGERS);
+
+        LRUCache<Integer> restored = new LRUCache<>(20_000, 0);
+
+        assertAll("Chunks should be decoded in parallel and applied in order",
+                () -> assertEquals(20_000, restored.loadSnapshot(file, INTEGERS)),
+                () -> assertEquals(19_999, restored.peek()),
+                () -> assertEquals(cache.stream().mapToLong(i -> i).sum(), restored.stream().mapToLong(i -> i).sum())
+        );
+    }
+
+    @Test
+    void givenConfiguredSnapshots_whenClosedAndReopened_thenEntriesAreWarm() throws IOException {
+        LRUCache<Integer> cache = new LRUCache<>(100, 0);
+        cache.withSnapshots(file, INTEGERS, 0);
+        IntStream.range(0, 50).forEach(cache::put);
+        cache.close();
+
+        LRUCache<Integer> reopened = new LRUCache<>(100, 0);
+        reopened.withSnapshots(file, INTEGERS, 0);
+
+        assertAll("Closing should write a snapshot that the next instance loads",
+                () -> assertTrue(Files.exists(file)),
+                () -> assertEquals(50, reopened.size()),
+                () -> assertEquals(49, reopened.peek())
+        );
+    }
+
+    @Test
+    void givenFailingSnapshot_whenClosed_thenRemainingResourcesAreStillReleased() throws Exception {
+        Serializer<Integer> failing = new Serializer<>() {
+            @Override
+            public byte[] serialize(Integer value) {
+                throw new IllegalStateException("Cannot serialize " + value);
+            }
+
+            @Override
+            public Integer deserialize(byte[] bytes) {
+                return INTEGERS.deserialize(bytes);
+            }
+        };
+        WriteAheadLog<Integer> log = new WriteAheadLog<>(Files.createDirectory(directory.resolve("wal")), INTEGERS);
+        LRUCache<Integer> cache = new LRUCache<>(100, 0);
+        cache.withSnapshots(file, failing, 0);
+        cache.recordStats("snapshot-close");
+        cache.withHeapPressureScaling(0.9, 0.8);
+        cache.withWriteAheadLog(log);
+        cache.put(1);
+
+        assertThrows(IllegalStateException.class, cache::close);
+
+        assertAll("A failed snapshot on close should not leak the stats bean or the log",
+                () -> assertFalse(ManagementFactory.getPlatformMBeanServer()
+                        .isRegistered(CacheStatsMBeans.objectName("snapshot-close"))),
+                () -> assertThrows(IllegalStateException.class, log::checkWritable),
+                () -> assertDoesNotThrow(cache::close)
+        );
+    }
+
+    @Test
+    void givenSmallCache_whenLoadingLargeSnapshot_thenTrailingChunksAreNeverDecoded() {
+        int entries = 12 * 4096;
+        LRUCache<Integer> cache = new LRUCache<>(entries, 0);
+        IntStream.range(0, entries).forEach(cache::put);
+        cache.saveSnapshot(file, INTEGERS);
+        AtomicInteger decoded = new AtomicInteger();
+        Serializer<Integer> counting = new Serializer<>() {
+            @Override
+            public byte[] serialize(Integer value) {
+                return INTEGERS.serialize(value);
+            }
+
+            @Override
+            public Integer deserialize(byte[] bytes) {
+                decoded.incrementAndGet();
+                return INTEGERS.deserialize(bytes);
+            }
+        };
+
+        LRUCache<Integer> restored = new LRUCache<>(100, 0);
+        int loaded = restored.loadSnapshot(file, counting);
+
+        assertAll("Chunks beyond the read-ahead window should not be decoded once the cache is full",
+                () -> assertEquals(100, loaded),
+                () -> assertEquals(entries - 1, restored.peek()),
+                () -> assertTrue(decoded.get() <= 9 * 4096, "decoded entries: " + decoded.get())
+        );
+    }
+
+    @Test
+    void givenCorruptSnapshot_whenLoaded_thenRejected() throws IOException {
+        Files.write(file, new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12});
+        LRUCache<Integer> cache = new LRUCache<>(10, 0);
+
+        assertThrows(IllegalStateException.class, () -> cache.loadSnapshot(file, INTEGERS));
+    }
+}
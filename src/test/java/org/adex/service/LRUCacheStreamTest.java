@@ -0,0 +1,92 @@
+package org.adex.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LRUCacheStreamTest {
+
+    @Test
+    void givenEntries_whenStreaming_thenEveryValueIsVisited() {
+        LRUCache<Integer> cache = new LRUCache<>(1_000);
+        IntStream.range(0, 1_000).forEach(cache::put);
+
+        assertAll("Sequential and parallel streams should see the same values",
+                () -> assertEquals(1_000, cache.stream().count()),
+                () -> assertEquals(IntStream.range(0, 1_000).sum(), cache.parallelStream().mapToInt(i -> i).sum()),
+                () -> assertEquals(cache.stream().collect(Collectors.toSet()),
+                        cache.parallelStream().collect(Collectors.toSet()))
+        );
+    }
+
+    @Test
+    void givenStream_whenIterating_thenRecencyIsNotDisturbed() {
+        LRUCache<Integer> cache = new LRUCache<>(3);
+        cache.put(1);
+        cache.put(2);
+        cache.put(3);
+
+        cache.stream().forEach(value -> {
+        });
+        cache.put(4);
+
+        assertAll("Oldest entry should still be evicted first",
+                () -> assertNull(cache.get(1)),
+                () -> assertEquals(2, cache.get(2)),
+                () -> assertEquals(3, cache.size())
+        );
+    }
+
+    @Test
+    void givenExpiredEntries_whenStreaming_thenTheyAreSkipped() throws InterruptedException {
+        LRUCache<Integer> cache = new LRUCache<>(4, 10);
+        cache.put(1);
+        Thread.sleep(30);
+        cache.put(2);
+
+        assertEquals(List.of(2), cache.stream().toList());
+    }
+
+    @Test
+    void givenLargeCache_whenSplitting_thenSpliteratorIsConcurrentAndSplits() {
+        LRUCache<Integer> cache = new LRUCache<>(10_000);
+        IntStream.range(0, 10_000).forEach(cache::put);
+
+        Spliterator<Integer> spliterator = cache.spliterator();
+
+        assertAll("Spliterator should support parallel scans",
+                () -> assertTrue(spliterator.hasCharacteristics(Spliterator.CONCURRENT)),
+                () -> assertTrue(spliterator.hasCharacteristics(Spliterator.NONNULL)),
+                () -> assertNotNull(spliterator.trySplit())
+        );
+    }
+
+    @Test
+    void givenConcurrentWriters_whenStreaming_thenScanCompletesWithoutBlockingThem() throws Exception {
+        LRUCache<Integer> cache = new LRUCache<>(10_000);
+        IntStream.range(0, 10_000).forEach(cache::put);
+        AtomicBoolean running = new AtomicBoolean(true);
+
+        CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> {
+            int i = 10_000;
+            while (running.get()) {
+                cache.put(i++);
+            }
+        });
+        for (int i = 0; i < 5; i++) {
+            assertTrue(cache.parallelStream().count() > 0);
+        }
+        running.set(false);
+        writer.get(5, TimeUnit.SECONDS);
+
+        assertEquals(10_000, cache.size());
+    }
+}
@@ -0,0 +1,103 @@
+package org.adex.service;
+
+import org.adex.service.stats.LatencyStats;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LRUCacheTagTest {
+
+    @Test
+    void givenTaggedEntries_whenTagInvalidated_thenOnlyThatGroupIsRemoved() {
+        LRUCache<String> cache = new LRUCache<>(100, 0);
+        cache.put("product-1-page", "product:1", "category:shoes");
+        cache.put("product-1-card", "product:1");
+        cache.put("product-2-page", "product:2", "category:shoes");
+        cache.put("home");
+
+        int invalidated = cache.invalidateTag("product:1");
+
+        assertAll("Invalidation should remove every entry carrying the tag and nothing else",
+                () -> assertEquals(2, invalidated),
+                () -> assertNull(cache.get("product-1-page")),
+                () -> assertNull(cache.get("product-1-card")),
+                () -> assertEquals("product-2-page", cache.get("product-2-page")),
+                () -> assertEquals("home", cache.get("home")),
+                () -> assertEquals(1, cache.tagged("category:shoes")),
+                () -> assertEquals(0, cache.tagged("product:1")),
+                () -> assertEquals(0, cache.invalidateTag("product:1"))
+        );
+    }
+
+    @Test
+    void givenFlatCombiningAndLatencies_whenPuttingTagged_thenPutIsCombinedAndMeasured() {
+        LRUCache<String> cache = new LRUCache<>(100, 0);
+        cache.withFlatCombining();
+        cache.recordLatencies();
+        cache.put("page", "section:news");
+        cache.put("card", "section:news");
+        cache.put("home");
+
+        assertAll("Tagged puts should take the same instrumented path as plain puts",
+                () -> assertEquals(3, cache.latencies().histogram(LatencyStats.Operation.PUT).count()),
+                () -> assertEquals(2, cache.tagged("section:news")),
+                () -> assertEquals(2, cache.invalidateTag("section:news")),
+                () -> assertEquals("home", cache.get("home"))
+        );
+    }
+
+    @Test
+    void givenEvictedEntries_whenTagInvalidated_thenIndexNoLongerReferencesThem() {
+        LRUCache<Integer> cache = new LRUCache<>(10, 0);
+        IntStream.range(0, 10).forEach(i -> cache.put(i, "batch"));
+        IntStream.range(10, 15).forEach(cache::put);
+
+        assertAll("Eviction should keep the inverted index in sync",
+                () -> assertEquals(5, cache.tagged("batch")),
+                () -> assertEquals(5, cache.invalidateTag("batch")),
+                () -> assertEquals(5, cache.size())
+        );
+    }
+
+    @Test
+    void givenExpiredEntries_whenCleanedUp_thenTheyLeaveTheIndex() throws InterruptedException {
+        LRUCache<String> cache = new LRUCache<>(10, 20);
+        cache.put("a", "group");
+        cache.put("b", "group");
+        Thread.sleep(50);
+        cache.cleanUp();
+
+        assertEquals(0, cache.tagged("group"));
+    }
+
+    @Test
+    void givenRetaggedValue_whenPutAgain_thenPreviousTagsAreReplaced() {
+        LRUCache<String> cache = new LRUCache<>(10, 0);
+        cache.put("fragment", "old", "old");
+        cache.put("fragment", "new");
+        cache.put("plain", "x");
+        cache.put("plain");
+
+        assertAll("Tags describe the latest put of a value",
+                () -> assertEquals(0, cache.tagged("old")),
+                () -> assertEquals(1, cache.tagged("new")),
+                () -> assertEquals(1, cache.tagged("x")),
+                () -> assertEquals(1, cache.invalidateTag("new")),
+                () -> assertNull(cache.get("fragment")),
+                () -> assertThrows(NullPointerException.class, () -> cache.put("v", (String) null))
+        );
+    }
+
+    @Test
+    void givenPurge_whenQueried_thenIndexIsEmpty() {
+        LRUCache<String> cache = new LRUCache<>(10, 0);
+        cache.put("a", "t");
+        cache.remove("a");
+        cache.put("b", "t");
+        cache.purge();
+
+        assertEquals(0, cache.tagged("t"));
+    }
+}
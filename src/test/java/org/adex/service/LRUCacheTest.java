@@ -141,6 +141,157 @@ public class LRUCacheTest {
         );
     }
 
+    @Test
+    void givenMissingKey_whenCompute_thenStoresComputedValue() {
+        Cache<Counter> counters = new LRUCache<>(CACHE_CAPACITY);
+
+        Counter actual = counters.compute(new Counter("hits", 0),
+                (key, current) -> current == null ? key.increment() : current.increment());
+
+        assertEquals(1, actual.count());
+        assertEquals(1, counters.get(new Counter("hits", 0)).count());
+    }
+
+    @Test
+    void givenExistingKey_whenMerge_thenCombinesWithCurrentValue() {
+        Cache<Counter> counters = new LRUCache<>(CACHE_CAPACITY);
+        counters.put(new Counter("hits", 2));
+
+        Counter actual = counters.merge(new Counter("hits", 3),
+                (current, value) -> new Counter(current.name(), current.count() + value.count()));
+
+        assertAll("Merged value should replace the cached one",
+                () -> assertEquals(5, actual.count()),
+                () -> assertEquals(1, counters.size()),
+                () -> assertSame(actual, counters.peek())
+        );
+    }
+
+    @Test
+    void givenExistingKey_whenComputeIfAbsent_thenMappingFunctionIsNotCalled() {
+        Cache<Counter> counters = new LRUCache<>(CACHE_CAPACITY);
+        Counter cached = new Counter("hits", 7);
+        counters.put(cached);
+
+        Counter actual = counters.computeIfAbsent(new Counter("hits", 0), key -> {
+            throw new AssertionError("Mapping function should not be called");
+        });
+
+        assertSame(cached, actual);
+    }
+
+    @Test
+    void givenMissingKey_whenComputeIfPresent_thenNothingIsStored() {
+        Cache<Counter> counters = new LRUCache<>(CACHE_CAPACITY);
+
+        Counter actual = counters.computeIfPresent(new Counter("hits", 0), (key, current) -> current.increment());
+
+        assertNull(actual);
+        assertTrue(counters.isEmpty());
+    }
+
+    @Test
+    void givenNullResult_whenCompute_thenEntryIsRemoved() {
+        Cache<Counter> counters = new LRUCache<>(CACHE_CAPACITY);
+        counters.put(new Counter("hits", 1));
+
+        counters.compute(new Counter("hits", 0), (key, current) -> null);
+
+        assertAll("Entry should be removed",
+                () -> assertTrue(counters.isEmpty()),
+                () -> assertNull(counters.peek()),
+                () -> assertNull(counters.get(new Counter("hits", 0)))
+        );
+    }
+
+    @Test
+    void givenResultWithDifferentHash_whenCompute_thenThrowsException() {
+        Cache<Counter> counters = new LRUCache<>(CACHE_CAPACITY);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> counters.compute(new Counter("hits", 0), (key, current) -> new Counter("misses", 1)));
+        assertTrue(counters.isEmpty());
+    }
+
+    @Test
+    void givenMaximumWeight_whenPuttingHeavyValues_thenEvictsUntilWeightFits() {
+        LRUCache<String> weighted = new LRUCache<>(CACHE_CAPACITY);
+        weighted.withMaximumWeight(10, String::length);
+
+        weighted.put("aaaa");
+        weighted.put("bbbb");
+        weighted.put("cccccc");
+
+        assertAll("Oldest entries should be evicted until the new one fits",
+                () -> assertEquals(10, weighted.weight()),
+                () -> assertEquals(2, weighted.size()),
+                () -> assertNull(weighted.get("aaaa")),
+                () -> assertEquals("cccccc", weighted.peek())
+        );
+    }
+
+    @Test
+    void givenMaximumWeight_whenPuttingOversizedValue_thenCacheIsNotFlushed() {
+        LRUCache<String> weighted = new LRUCache<>(CACHE_CAPACITY);
+        weighted.withMaximumWeight(10, String::length);
+        weighted.put("aaaa");
+        weighted.put("bbbb");
+
+        weighted.put("this value is far too heavy");
+
+        assertAll("Oversized entry should be rejected on its own",
+                () -> assertEquals(8, weighted.weight()),
+                () -> assertEquals(2, weighted.size()),
+                () -> assertNull(weighted.get("this value is far too heavy"))
+        );
+    }
+
+    @Test
+    void givenMaximumWeight_whenReplacingAndRemoving_thenWeightIsTrackedIncrementally() {
+        LRUCache<Counter> weighted = new LRUCache<>(CACHE_CAPACITY);
+        weighted.withMaximumWeight(100, Counter::count);
+
+        weighted.put(new Counter("a", 10));
+        weighted.put(new Counter("b", 20));
+        weighted.put(new Counter("a", 5));
+        assertEquals(25, weighted.weight());
+
+        weighted.remove(new Counter("b", 0));
+        assertEquals(5, weighted.weight());
+
+        weighted.purge();
+        assertEquals(0, weighted.weight());
+    }
+
+    @Test
+    void givenHeapPressure_whenSignalled_thenEffectiveCapacityShrinksAndEvicts() {
+        LRUCache<Integer> scaled = new LRUCache<>(100);
+        IntStream.range(0, 100).forEach(scaled::put);
+
+        scaled.onHeapPressure();
+
+        assertAll("Cache should shrink below its configured capacity",
+                () -> assertEquals(75, scaled.effectiveCapacity()),
+                () -> assertEquals(75, scaled.size()),
+                () -> assertEquals(100, scaled.capacity()),
+                () -> assertNull(scaled.get(0)),
+                () -> assertEquals(99, scaled.get(99))
+        );
+    }
+
+    @Test
+    void givenShrunkCache_whenPressureEases_thenCapacityGrowsBackToConfiguredValue() {
+        LRUCache<Integer> scaled = new LRUCache<>(100);
+        scaled.onHeapPressure();
+        scaled.onHeapPressure();
+
+        scaled.onHeapRelief();
+        scaled.onHeapRelief();
+        scaled.onHeapRelief();
+
+        assertEquals(100, scaled.effectiveCapacity());
+    }
+
     // Helper methods
     private void assertMostRecentlyAccessed(Cache<Dummy> cache, Dummy expected) {
         Dummy head = cache.peek();
@@ -157,6 +308,22 @@ public class LRUCacheTest {
 
     private record Dummy(int value) {}
 
+    private record Counter(String name, int count) {
+        Counter increment() {
+            return new Counter(name, count + 1);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Counter other && name.equals(other.name);
+        }
+
+        @Override
+        public int hashCode() {
+            return name.hashCode();
+        }
+    }
+
     private static class TestLRUCache<T> extends LRUCache<T> {
         @SafeVarargs
         final void putAll(T... items) {
@@ -0,0 +1,130 @@
+package org.adex.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReadMostlyCacheTest {
+    private static final int CACHE_CAPACITY = 3;
+
+    private ReadMostlyCache<Integer> cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ReadMostlyCache<>(CACHE_CAPACITY);
+    }
+
+    @Test
+    void givenEntries_whenGet_thenReturnsPublishedValues() {
+        cache.put(List.of(1, 2, 3), false);
+
+        assertAll("All entries should be readable from the snapshot",
+                () -> assertEquals(1, cache.get(1)),
+                () -> assertEquals(2, cache.get(2)),
+                () -> assertEquals(3, cache.get(3)),
+                () -> assertNull(cache.get(4)),
+                () -> assertEquals(3, cache.size()),
+                () -> assertEquals(3, cache.peek())
+        );
+    }
+
+    @Test
+    void givenFullCache_whenPutting_thenOldestInsertionIsEvicted() {
+        cache.put(List.of(1, 2, 3), false);
+        cache.get(1);
+
+        cache.put(4);
+
+        assertAll("Eviction should be first-in first-out",
+                () -> assertNull(cache.get(1)),
+                () -> assertEquals(List.of(2, 3, 4), cache.get()),
+                () -> assertEquals(CACHE_CAPACITY, cache.size())
+        );
+    }
+
+    @Test
+    void givenReplacement_whenReplacingAll_thenOnlyNewEntriesRemain() {
+        cache.put(List.of(1, 2), false);
+
+        cache.replaceAll(List.of(7, 8));
+
+        assertAll("Snapshot should be swapped as a whole",
+                () -> assertNull(cache.get(1)),
+                () -> assertEquals(List.of(7, 8), cache.get())
+        );
+    }
+
+    @Test
+    void givenCollidingHashes_whenProbing_thenEachValueIsFound() {
+        ReadMostlyCache<Integer> large = new ReadMostlyCache<>(1_000);
+        large.put(IntStream.range(0, 1_000).map(i -> i << 16).boxed().toList(), false);
+
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals(i << 16, large.get(i << 16));
+        }
+        assertNull(large.get(1));
+    }
+
+    @Test
+    void givenEntry_whenRemovedOrComputed_thenSnapshotIsRepublished() {
+        cache.put(1);
+
+        assertEquals(1, cache.remove(1));
+        assertNull(cache.remove(1));
+        assertEquals(5, cache.computeIfAbsent(5, key -> key));
+        assertNull(cache.computeIfPresent(5, (key, value) -> null));
+        assertTrue(cache.isEmpty());
+    }
+
+    @Test
+    void givenBatchedWrites_whenBatchCompletes_thenSnapshotIsPublishedOnce() {
+        cache.put(1);
+        List<List<Integer>> visible = new ArrayList<>();
+
+        cache.batch(batch -> {
+            batch.put(2);
+            visible.add(List.copyOf(batch.get()));
+            batch.remove(1);
+            batch.merge(3, (current, value) -> value);
+            visible.add(List.copyOf(batch.get()));
+            batch.computeIfPresent(2, (key, value) -> null);
+            assertEquals(1, batch.computeIfAbsent(1, key -> key));
+        });
+
+        assertAll("Writes inside a batch should become visible together when it completes",
+                () -> assertEquals(List.of(List.of(1), List.of(1)), visible),
+                () -> assertEquals(List.of(3, 1), cache.get()),
+                () -> assertNull(cache.get(2)),
+                () -> assertEquals(1, cache.peek())
+        );
+    }
+
+    @Test
+    void givenConcurrentReaders_whenWriterReplacesSnapshot_thenReadersNeverSeeTornState() throws Exception {
+        ReadMostlyCache<Integer> config = new ReadMostlyCache<>(100);
+        config.replaceAll(IntStream.range(0, 100).boxed().toList());
+        AtomicBoolean running = new AtomicBoolean(true);
+
+        CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> {
+            int round = 0;
+            while (running.get()) {
+                int offset = (++round % 2) * 100;
+                config.replaceAll(IntStream.range(offset, offset + 100).boxed().toList());
+            }
+        });
+
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(100, config.get().size());
+        }
+        running.set(false);
+        writer.get(5, TimeUnit.SECONDS);
+    }
+}
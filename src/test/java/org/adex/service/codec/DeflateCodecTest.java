@@ -0,0 +1,164 @@
+package org.adex.service.codec;
+
+import org.adex.service.persistence.CompressingSerializer;
+import org.adex.service.persistence.Serializer;
+import org.adex.service.stats.CompressionStats;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeflateCodecTest {
+    private static final Serializer<String> STRINGS = new Serializer<>() {
+        @Override
+        public byte[] serialize(String value) {
+            return value.getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public String deserialize(byte[] bytes) {
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    };
+
+    @Test
+    void givenRepetitiveValue_whenCompressed_thenRoundTripsAndShrinks() {
+        ValueCompressor compressor = new ValueCompressor(new DeflateCodec(), 64);
+        byte[] raw = "{\"status\":\"ok\",\"items\":[]}".repeat(200).getBytes(StandardCharsets.UTF_8);
+        ByteBuffer source = ByteBuffer.wrap(raw);
+
+        ByteBuffer compressed = compressor.compress(source);
+        int compressedLength = compressed.remaining();
+        ByteBuffer restored = compressor.decompress(compressed, raw.length);
+        byte[] bytes = new byte[restored.remaining()];
+        restored.get(bytes);
+        CompressionStats stats = compressor.stats();
+
+        assertAll("Compressible values should shrink and decompress to the original",
+                () -> assertEquals(raw.length, source.remaining()),
+                () -> assertTrue(compressedLength * 5 < raw.length),
+                () -> assertArrayEquals(raw, bytes),
+                () -> assertEquals(1, stats.compressedCount()),
+                () -> assertEquals(1, stats.decompressionCount()),
+                () -> assertTrue(stats.compressionRatio() > 5)
+        );
+    }
+
+    @Test
+    void givenSmallOrIncompressibleValue_whenCompressed_thenStoredRaw() {
+        ValueCompressor compressor = new ValueCompressor(new DeflateCodec(), 64);
+        byte[] random = new byte[4096];
+        new Random(42).nextBytes(random);
+
+        assertAll("Values below the threshold or that do not shrink should be left alone",
+                () -> assertNull(compressor.compress(ByteBuffer.wrap(new byte[16]))),
+                () -> assertNull(compressor.compress(ByteBuffer.wrap(random))),
+                () -> assertEquals(1, compressor.stats().compressionCount()),
+                () -> assertEquals(0, compressor.stats().compressedCount()),
+                () -> assertEquals(1.0, compressor.stats().compressionRatio())
+        );
+    }
+
+    @Test
+    void givenCompressingSerializer_whenRoundTripped_thenValuesSurvive() {
+        CompressingSerializer<String> serializer =
+                new CompressingSerializer<>(STRINGS, new ValueCompressor(new DeflateCodec(), 32));
+        String large = "<div class=\"row\"></div>".repeat(100);
+
+        byte[] compressed = serializer.serialize(large);
+        byte[] raw = serializer.serialize("tiny");
+
+        assertAll("Serializer should frame compressed and raw values",
+                () -> assertTrue(compressed.length < large.length() / 5),
+                () -> assertEquals(large, serializer.deserialize(compressed)),
+                () -> assertEquals(1 + 4, raw.length),
+                () -> assertEquals("tiny", serializer.deserialize(raw)),
+                () -> assertThrows(IllegalStateException.class, () -> serializer.deserialize(new byte[]{9, 0}))
+        );
+    }
+
+    @Test
+    void givenManyVirtualThreads_whenCompressing_thenCodecStateIsReused() throws InterruptedException {
+        DeflateCodec codec = new DeflateCodec();
+        ValueCompressor compressor = new ValueCompressor(codec, 64);
+        byte[] raw = "<span>cell</span>".repeat(100).getBytes(StandardCharsets.UTF_8);
+
+        for (int i = 0; i < 100; i++) {
+            Thread.ofVirtual().start(() -> {
+                ByteBuffer compressed = compressor.compress(ByteBuffer.wrap(raw));
+                ByteBuffer restored = compressor.decompress(compressed, raw.length);
+                compressor.release(compressed);
+                compressor.release(restored);
+            }).join();
+        }
+
+        assertAll("Short-lived threads should share pooled deflaters, inflaters and scratch buffers",
+                () -> assertEquals(100, compressor.stats().decompressionCount()),
+                () -> assertEquals(1, codec.pooledDeflaters()),
+                () -> assertEquals(1, codec.pooledInflaters()),
+                () -> assertEquals(2, compressor.pooledBuffers())
+        );
+    }
+
+    @Test
+    void givenHugeValue_whenReleased_thenScratchBufferIsNotPooled() {
+        ValueCompressor compressor = new ValueCompressor(new DeflateCodec(), 64);
+        byte[] small = "<span>cell</span>".repeat(100).getBytes(StandardCharsets.UTF_8);
+        byte[] huge = "<span>cell</span>".repeat(ValueCompressor.MAX_POOLED_SCRATCH_SIZE / 8).getBytes(StandardCharsets.UTF_8);
+
+        ByteBuffer compressed = compressor.compress(ByteBuffer.wrap(huge));
+        ByteBuffer restored = compressor.decompress(compressed, huge.length);
+        compressor.release(compressed);
+        compressor.release(restored);
+        int afterHuge = compressor.pooledBuffers();
+        compressor.release(compressor.compress(ByteBuffer.wrap(small)));
+
+        assertAll("Scratch buffers above the size cap should be left to the garbage collector",
+                () -> assertTrue(restored.capacity() > ValueCompressor.MAX_POOLED_SCRATCH_SIZE),
+                () -> assertEquals(0, afterHuge),
+                () -> assertEquals(1, compressor.pooledBuffers())
+        );
+    }
+
+    @Test
+    void givenCodecUsingTheRawMarker_whenSerializerIsCreated_thenRejected() {
+        ValueCodec clashing = new ValueCodec() {
+            @Override
+            public byte id() {
+                return 0;
+            }
+
+            @Override
+            public int maxCompressedLength(int length) {
+                return length;
+            }
+
+            @Override
+            public int compress(ByteBuffer source, ByteBuffer target) {
+                return -1;
+            }
+
+            @Override
+            public void decompress(ByteBuffer source, ByteBuffer target) {
+                target.put(source);
+            }
+        };
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new CompressingSerializer<>(STRINGS, new ValueCompressor(clashing, 32)));
+    }
+
+    @Test
+    void givenCorruptInput_whenDecompressed_thenRejected() {
+        DeflateCodec codec = new DeflateCodec();
+
+        assertAll("Corrupt payloads should not be silently accepted",
+                () -> assertThrows(IllegalStateException.class,
+                        () -> codec.decompress(ByteBuffer.wrap(new byte[]{(byte) 0xFF, 1, 2, 3}), ByteBuffer.allocate(10))),
+                () -> assertThrows(IllegalArgumentException.class, () -> new DeflateCodec(12))
+        );
+    }
+}
@@ -0,0 +1,129 @@
+package org.adex.service.events;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.adex.service.LRUCache;
+import org.adex.service.listener.MutationListener;
+import org.adex.service.listener.RemovalCause;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheEventsTest {
+
+    @Test
+    void givenExpiredEntries_whenCleanUpRecorded_thenSweepEventCarriesCounts() throws Exception {
+        LRUCache<Integer> cache = new LRUCache<>(10, 10);
+        IntStream.range(0, 3).forEach(cache::put);
+        Thread.sleep(30);
+
+        List<RecordedEvent> events = record("org.adex.cache.ExpirationSweep", () -> {
+            assertEquals(3, cache.cleanUp());
+        });
+
+        assertEquals(1, events.size());
+        assertEquals(3, events.get(0).getInt("expired"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void givenWeightBound_whenPutEvictsSeveralEntries_thenEvictionBatchIsRecorded() throws Exception {
+        LRUCache<String> cache = new LRUCache<>(10);
+        cache.withMaximumWeight(6, String::length);
+        cache.put("aa");
+        cache.put("bb");
+        cache.put("cc");
+
+        List<RecordedEvent> events = record("org.adex.cache.EvictionBatch", () -> cache.put("dddddd"));
+
+        assertEquals(1, events.size());
+        assertEquals(3, events.get(0).getInt("evicted"));
+        assertEquals("weight", events.get(0).getString("reason"));
+    }
+
+    @Test
+    void givenZeroThreshold_whenGetRecorded_thenEventReportsHit() throws Exception {
+        LRUCache<Integer> cache = new LRUCache<>(10);
+        cache.put(42);
+
+        List<RecordedEvent> events = record("org.adex.cache.Get", () -> cache.get(42));
+
+        assertEquals(1, events.size());
+        assertTrue(events.get(0).getBoolean("hit"));
+        assertEquals(42, events.get(0).getInt("keyHash"));
+    }
+
+    @Test
+    void givenFlatCombining_whenPutBlocksOnHeldLock_thenLockWaitIsRecorded() throws Exception {
+        LRUCache<Integer> cache = new LRUCache<>(10);
+        cache.withFlatCombining();
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        cache.withMutationListener(new MutationListener<>() {
+            @Override
+            public void onPut(Integer value) {
+                if (value == 1) {
+                    entered.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }
+
+            @Override
+            public void onRemoval(Integer value, RemovalCause cause) {
+            }
+        });
+        Thread holder = new Thread(() -> cache.put(1), "lock-holder");
+        Thread waiter = new Thread(() -> cache.put(2), "lock-waiter");
+
+        List<RecordedEvent> events = record("org.adex.cache.LockWait", () -> {
+            try {
+                holder.start();
+                entered.await();
+                waiter.start();
+                while (waiter.getState() != Thread.State.WAITING) {
+                    Thread.sleep(1);
+                }
+                Thread.sleep(50);
+                release.countDown();
+                holder.join();
+                waiter.join();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        assertAll("A combining thread that blocks on the cache lock should be recorded",
+                () -> assertTrue(events.stream().anyMatch(event ->
+                        "org.adex.cache.LockWait".equals(event.getEventType().getName())
+                                && "lock-waiter".equals(event.getThread().getJavaName())
+                                && event.getDuration().toMillis() >= 40)),
+                () -> assertEquals(2, cache.size())
+        );
+    }
+
+    private static List<RecordedEvent> record(String eventName, Runnable action) throws Exception {
+        Path file = Files.createTempFile("snappy-cache", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(eventName).withThreshold(Duration.ZERO);
+            recording.start();
+            action.run();
+            recording.stop();
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
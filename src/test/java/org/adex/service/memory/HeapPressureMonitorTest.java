@@ -0,0 +1,155 @@
+package org.adex.service.memory;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HeapPressureMonitorTest {
+    private static final long POLL_INTERVAL_MILLIS = 60 * 60 * 1000;
+
+    private final AtomicInteger pressure = new AtomicInteger();
+    private final AtomicInteger relief = new AtomicInteger();
+    private HeapPressureMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        monitor = new HeapPressureMonitor(0.99, 0.01, POLL_INTERVAL_MILLIS, new HeapPressureMonitor.Listener() {
+            @Override
+            public void onPressure() {
+                pressure.incrementAndGet();
+            }
+
+            @Override
+            public void onRelief() {
+                relief.incrementAndGet();
+            }
+        }).start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        monitor.close();
+    }
+
+    @Test
+    void givenOccupancyAboveHighWatermark_whenChecked_thenSignalsPressure() {
+        monitor.check(1.0);
+
+        assertEquals(1, pressure.get());
+        assertEquals(0, relief.get());
+    }
+
+    @Test
+    void givenOccupancyBetweenWatermarks_whenChecked_thenSignalsNothing() {
+        monitor.check(0.5);
+
+        assertEquals(0, pressure.get());
+        assertEquals(0, relief.get());
+    }
+
+    @Test
+    void givenOccupancyBelowLowWatermark_whenChecked_thenSignalsRelief() {
+        monitor.check(0.0);
+
+        assertEquals(0, pressure.get());
+        assertEquals(1, relief.get());
+    }
+
+    @Test
+    void givenNoCollectionSinceLastPoll_whenPolled_thenPressureIsSignalledOncePerCollection() {
+        monitor.poll(1, 1.0);
+        monitor.poll(1, 1.0);
+        monitor.poll(1, 1.0);
+        monitor.poll(2, 1.0);
+
+        assertEquals(2, pressure.get());
+        assertEquals(0, relief.get());
+    }
+
+    @Test
+    void givenStartedMonitor_whenClosed_thenCollectionThresholdsAreRestored() {
+        List<MemoryPoolMXBean> pools = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(MemoryPoolMXBean::isCollectionUsageThresholdSupported)
+                .toList();
+        monitor.close();
+        List<Long> before = pools.stream().map(MemoryPoolMXBean::getCollectionUsageThreshold).toList();
+
+        HeapPressureMonitor other = new HeapPressureMonitor(0.9, 0.5, POLL_INTERVAL_MILLIS, new HeapPressureMonitor.Listener() {
+            @Override
+            public void onPressure() {
+            }
+
+            @Override
+            public void onRelief() {
+            }
+        }).start();
+        List<Long> during = pools.stream().map(MemoryPoolMXBean::getCollectionUsageThreshold).toList();
+        other.close();
+        List<Long> after = pools.stream().map(MemoryPoolMXBean::getCollectionUsageThreshold).toList();
+
+        assertAll("Closing should leave the JVM-wide thresholds as they were",
+                () -> assertNotEquals(before, during),
+                () -> assertEquals(before, after)
+        );
+    }
+
+    @Test
+    void givenTwoMonitors_whenOneIsClosed_thenTheOtherKeepsItsThreshold() {
+        List<MemoryPoolMXBean> pools = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(MemoryPoolMXBean::isCollectionUsageThresholdSupported)
+                .toList();
+        monitor.close();
+        List<Long> before = pools.stream().map(MemoryPoolMXBean::getCollectionUsageThreshold).toList();
+
+        HeapPressureMonitor strict = quietMonitor(0.6).start();
+        List<Long> strictOnly = pools.stream().map(MemoryPoolMXBean::getCollectionUsageThreshold).toList();
+        HeapPressureMonitor lenient = quietMonitor(0.9).start();
+        List<Long> both = pools.stream().map(MemoryPoolMXBean::getCollectionUsageThreshold).toList();
+        strict.close();
+        List<Long> lenientOnly = pools.stream().map(MemoryPoolMXBean::getCollectionUsageThreshold).toList();
+        HeapPressureMonitor reopened = quietMonitor(0.9).start();
+        lenient.close();
+        List<Long> reopenedOnly = pools.stream().map(MemoryPoolMXBean::getCollectionUsageThreshold).toList();
+        reopened.close();
+        List<Long> after = pools.stream().map(MemoryPoolMXBean::getCollectionUsageThreshold).toList();
+
+        assertAll("Monitors should share the JVM-wide thresholds instead of clobbering each other",
+                () -> assertEquals(strictOnly, both),
+                () -> assertNotEquals(strictOnly, lenientOnly),
+                () -> assertNotEquals(before, lenientOnly),
+                () -> assertEquals(lenientOnly, reopenedOnly),
+                () -> assertEquals(before, after)
+        );
+    }
+
+    @Test
+    void givenInvertedWatermarks_whenCreated_thenThrowsException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new HeapPressureMonitor(0.5, 0.8, POLL_INTERVAL_MILLIS, null));
+    }
+
+    @Test
+    void givenRunningJvm_whenReadingOccupancy_thenReturnsFraction() {
+        double occupancy = monitor.occupancy();
+        assertTrue(occupancy >= 0 && occupancy <= 1);
+    }
+
+    private static HeapPressureMonitor quietMonitor(double highWatermark) {
+        return new HeapPressureMonitor(highWatermark, 0.5, POLL_INTERVAL_MILLIS, new HeapPressureMonitor.Listener() {
+            @Override
+            public void onPressure() {
+            }
+
+            @Override
+            public void onRelief() {
+            }
+        });
+    }
+}
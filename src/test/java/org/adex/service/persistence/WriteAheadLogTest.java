@@ -0,0 +1,283 @@
+package org.adex.service.persistence;
+
+import org.adex.service.LRUCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WriteAheadLogTest {
+    private static final int CAPACITY = 10_000;
+    private static final Serializer<Integer> INTEGERS = new Serializer<>() {
+        @Override
+        public byte[] serialize(Integer value) {
+            return ByteBuffer.allocate(4).putInt(value).array();
+        }
+
+        @Override
+        public Integer deserialize(byte[] bytes) {
+            return ByteBuffer.wrap(bytes).getInt();
+        }
+    };
+
+    private Path directory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory("snappy-cache-wal");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    @Test
+    void givenPutsAndRemovals_whenReopened_thenStateIsReplayed() {
+        try (WriteAheadLog<Integer> log = new WriteAheadLog<>(directory, INTEGERS)) {
+            LRUCache<Integer> cache = new LRUCache<>(CAPACITY, 0);
+            cache.withWriteAheadLog(log);
+            for (int i = 0; i < 100; i++) {
+                cache.put(i);
+            }
+            for (int i = 0; i < 100; i += 2) {
+                cache.remove(i);
+            }
+        }
+
+        try (WriteAheadLog<Integer> log = new WriteAheadLog<>(directory, INTEGERS)) {
+            LRUCache<Integer> cache = new LRUCache<>(CAPACITY, 0);
+            cache.withWriteAheadLog(log);
+
+            assertAll("Reopened cache should contain only the surviving entries",
+                    () -> assertEquals(50, cache.size()),
+                    () -> assertEquals(1, cache.get(1)),
+                    () -> assertNull(cache.get(2)),
+                    () -> assertEquals(150, log.durableSequence())
+            );
+        }
+    }
+
+    @Test
+    void givenConcurrentWriters_whenSyncingAlways_thenEveryAcknowledgedPutIsDurable() throws Exception {
+        int threads = 8;
+        int perThread = 200;
+        try (WriteAheadLog<Integer> log = new WriteAheadLog<>(directory, INTEGERS)) {
+            LRUCache<Integer> cache = new LRUCache<>(CAPACITY, 0);
+            cache.withWriteAheadLog(log);
+
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int t = 0; t < threads; t++) {
+                    int base = t * perThread;
+                    futures.add(executor.submit(() -> {
+                        for (int i = 0; i < perThread; i++) {
+                            cache.put(base + i);
+                        }
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } finally {
+                executor.shutdown();
+            }
+            assertEquals(threads * perThread, log.durableSequence());
+        }
+
+        LRUCache<Integer> recovered = new LRUCache<>(CAPACITY, 0);
+        try (WriteAheadLog<Integer> log = new WriteAheadLog<>(directory, INTEGERS)) {
+            recovered.withWriteAheadLog(log);
+        }
+        assertEquals(threads * perThread, recovered.size());
+    }
+
+    @Test
+    void givenTornTail_whenReopened_thenLogIsTruncatedToLastCompleteRecord() throws IOException {
+        try (WriteAheadLog<Integer> log = new WriteAheadLog<>(directory, INTEGERS)) {
+            LRUCache<Integer> cache = new LRUCache<>(CAPACITY, 0);
+            cache.withWriteAheadLog(log);
+            for (int i = 0; i < 10; i++) {
+                cache.put(i);
+            }
+        }
+
+        Path segment;
+        try (Stream<Path> files = Files.list(directory)) {
+            segment = files.filter(path -> path.toString().endsWith(".wal")).findFirst().orElseThrow();
+        }
+        long intact = Files.size(segment);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.allocate(9).putInt(64).putInt(42).put((byte) 1).flip());
+        }
+
+        LRUCache<Integer> recovered = new LRUCache<>(CAPACITY, 0);
+        try (WriteAheadLog<Integer> log = new WriteAheadLog<>(directory, INTEGERS)) {
+            recovered.withWriteAheadLog(log);
+            recovered.put(10);
+        }
+
+        LRUCache<Integer> reopened = new LRUCache<>(CAPACITY, 0);
+        try (WriteAheadLog<Integer> log = new WriteAheadLog<>(directory, INTEGERS)) {
+            reopened.withWriteAheadLog(log);
+        }
+
+        assertAll("Torn tail should be discarded and the log should remain appendable",
+                () -> assertEquals(11, recovered.size()),
+                () -> assertEquals(intact, Files.size(segment)),
+                () -> assertEquals(11, reopened.size()),
+                () -> assertEquals(10, reopened.get(10))
+        );
+    }
+
+    @Test
+    void givenCompaction_whenReopened_thenOldSegmentsAreDeletedAndStateIsPreserved() throws IOException {
+        try (WriteAheadLog<Integer> log = new WriteAheadLog<>(directory, INTEGERS).withSegmentSize(1024)) {
+            LRUCache<Integer> cache = new LRUCache<>(CAPACITY, 0);
+            cache.withWriteAheadLog(log);
+            for (int round = 0; round < 20; round++) {
+                for (int i = 0; i < 50; i++) {
+                    cache.put(i);
+                }
+            }
+            cache.remove(0);
+            cache.compactLog();
+            cache.put(1_000);
+        }
+
+        List<String> names;
+        try (Stream<Path> files = Files.list(directory)) {
+            names = files.map(path -> path.getFileName().toString()).sorted().toList();
+        }
+
+        LRUCache<Integer> recovered = new LRUCache<>(CAPACITY, 0);
+        try (WriteAheadLog<Integer> log = new WriteAheadLog<>(directory, INTEGERS)) {
+            recovered.withWriteAheadLog(log);
+        }
+
+        assertAll("Compaction should replace history with a snapshot of live entries",
+                () -> assertEquals(1, names.stream().filter(name -> name.endsWith(".snapshot")).count()),
+                () -> assertEquals(1, names.stream().filter(name -> name.endsWith(".wal")).count()),
+                () -> assertEquals(50, recovered.size()),
+                () -> assertNull(recovered.get(0)),
+                () -> assertEquals(1_000, recovered.get(1_000))
+        );
+    }
+
+    @Test
+    void givenCacheFilledBeforeLogWasAttached_whenCompactedAndReopened_thenSnapshotIsReplayed() {
+        try (WriteAheadLog<Integer> log = new WriteAheadLog<>(directory, INTEGERS)) {
+            LRUCache<Integer> cache = new LRUCache<>(CAPACITY, 0);
+            for (int i = 0; i < 10; i++) {
+                cache.put(i);
+            }
+            cache.withWriteAheadLog(log);
+            cache.compactLog();
+        }
+
+        LRUCache<Integer> recovered = new LRUCache<>(CAPACITY, 0);
+        try (WriteAheadLog<Integer> log = new WriteAheadLog<>(directory, INTEGERS)) {
+            recovered.withWriteAheadLog(log);
+        }
+
+        assertAll("A snapshot taken at sequence zero should still be replayed",
+                () -> assertEquals(10, recovered.size()),
+                () -> assertEquals(9, recovered.get(9))
+        );
+    }
+
+    @Test
+    void givenClosedLog_whenWriting_thenWriteIsRejectedBeforeTheMutation() {
+        LRUCache<Integer> cache = new LRUCache<>(2, 0);
+        WriteAheadLog<Integer> log = new WriteAheadLog<>(directory, INTEGERS);
+        cache.withWriteAheadLog(log);
+        cache.put(1);
+        log.close();
+
+        IllegalStateException put = assertThrows(IllegalStateException.class, () -> cache.put(2));
+        IllegalStateException remove = assertThrows(IllegalStateException.class, () -> cache.remove(1));
+
+        assertAll("A closed log should reject writes without touching the cache",
+                () -> assertEquals("Log is not open", put.getMessage()),
+                () -> assertEquals("Log is not open", remove.getMessage()),
+                () -> assertEquals(1, cache.size()),
+                () -> assertEquals(1, cache.get(1)),
+                () -> assertNull(cache.get(2))
+        );
+    }
+
+    @Test
+    void givenDetachedLog_whenWriting_thenCacheAcceptsWritesWithoutLogging() {
+        LRUCache<Integer> cache = new LRUCache<>(CAPACITY, 0);
+        WriteAheadLog<Integer> log = new WriteAheadLog<>(directory, INTEGERS);
+        cache.withWriteAheadLog(log);
+        cache.put(1);
+
+        WriteAheadLog<Integer> detached = cache.detachWriteAheadLog();
+        detached.close();
+        cache.put(2);
+        cache.remove(1);
+
+        LRUCache<Integer> recovered = new LRUCache<>(CAPACITY, 0);
+        try (WriteAheadLog<Integer> reopened = new WriteAheadLog<>(directory, INTEGERS)) {
+            recovered.withWriteAheadLog(reopened);
+        }
+
+        assertAll("A detached log should no longer see or block cache writes",
+                () -> assertSame(log, detached),
+                () -> assertEquals(1, cache.size()),
+                () -> assertEquals(2, cache.get(2)),
+                () -> assertEquals(1, log.durableSequence()),
+                () -> assertEquals(1, recovered.size()),
+                () -> assertEquals(1, recovered.get(1)),
+                () -> assertThrows(IllegalStateException.class, cache::detachWriteAheadLog)
+        );
+    }
+
+    @Test
+    void givenCacheWithLog_whenCacheIsClosed_thenLogIsClosed() {
+        LRUCache<Integer> cache = new LRUCache<>(CAPACITY, 0);
+        WriteAheadLog<Integer> log = new WriteAheadLog<>(directory, INTEGERS);
+        cache.withWriteAheadLog(log);
+        cache.put(1);
+
+        cache.close();
+
+        assertAll("Closing the cache should close its log",
+                () -> assertThrows(IllegalStateException.class, log::checkWritable),
+                () -> assertThrows(IllegalStateException.class, cache::compactLog),
+                () -> assertEquals(1, log.durableSequence())
+        );
+    }
+
+    @Test
+    void givenInvalidConfiguration_whenConfigured_thenRejected() {
+        WriteAheadLog<Integer> log = new WriteAheadLog<>(directory, INTEGERS);
+
+        assertAll("Invalid configuration should be rejected",
+                () -> assertThrows(IllegalArgumentException.class, () -> log.withSyncPolicy(SyncPolicy.INTERVAL, 0)),
+                () -> assertThrows(IllegalArgumentException.class, () -> log.withSegmentSize(16)),
+                () -> assertThrows(IllegalStateException.class, () -> log.compact(Stream.empty()))
+        );
+    }
+}
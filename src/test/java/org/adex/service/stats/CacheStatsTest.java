@@ -0,0 +1,169 @@
+package org.adex.service.stats;
+
+import org.adex.service.LRUCache;
+import org.adex.service.listener.RemovalCause;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheStatsTest {
+    private LRUCache<Integer> cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new LRUCache<>(2);
+        cache.recordStats();
+    }
+
+    @Test
+    void givenHitsAndMisses_whenSnapshotTaken_thenCountsAndHitRateAreReported() {
+        cache.put(1);
+        cache.get(1);
+        cache.get(1);
+        cache.get(2);
+
+        CacheStats stats = cache.stats();
+
+        assertAll("Snapshot should reflect recorded operations",
+                () -> assertEquals(2, stats.hitCount()),
+                () -> assertEquals(1, stats.missCount()),
+                () -> assertEquals(1, stats.putCount()),
+                () -> assertEquals(2.0 / 3, stats.hitRate(), 1e-9)
+        );
+    }
+
+    @Test
+    void givenEvictionsAndRemovals_whenSnapshotTaken_thenCountedByCause() {
+        cache.put(1);
+        cache.put(2);
+        cache.put(3);
+        cache.remove(3);
+
+        CacheStats stats = cache.stats();
+
+        assertEquals(1, stats.evictionCount());
+        assertEquals(1, stats.removalCount(RemovalCause.EXPLICIT));
+        assertEquals(0, stats.expirationCount());
+    }
+
+    @Test
+    void givenComputeIfAbsent_whenMappingFunctionRuns_thenLoadIsRecorded() {
+        cache.computeIfAbsent(1, key -> key);
+        cache.computeIfAbsent(2, key -> null);
+        assertThrows(IllegalStateException.class, () -> cache.computeIfAbsent(3, key -> {
+            throw new IllegalStateException("load failed");
+        }));
+
+        CacheStats stats = cache.stats();
+
+        assertEquals(1, stats.loadSuccessCount());
+        assertEquals(2, stats.loadFailureCount());
+        assertTrue(stats.totalLoadTime() >= 0);
+    }
+
+    @Test
+    void givenSnapshot_whenCacheChangesLater_thenSnapshotIsUnchanged() {
+        CacheStats before = cache.stats();
+        cache.put(1);
+        cache.get(1);
+
+        assertEquals(0, before.hitCount());
+        assertThrows(UnsupportedOperationException.class,
+                () -> before.removalCounts().put(RemovalCause.SIZE, 1L));
+    }
+
+    @Test
+    void givenStatsDisabled_whenOperating_thenSnapshotIsEmpty() {
+        LRUCache<Integer> plain = new LRUCache<>(2);
+        plain.put(1);
+        plain.get(1);
+
+        assertEquals(CacheStats.empty(), plain.stats());
+        assertEquals(Map.of(), plain.stats().removalCounts());
+    }
+
+    @Test
+    void givenNamedCache_whenRecordingStats_thenExposedAsMBean() throws Exception {
+        LRUCache<Integer> named = new LRUCache<>(2);
+        named.recordStats("orders");
+        named.put(1);
+        named.get(1);
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = CacheStatsMBeans.objectName("orders");
+        try {
+            assertTrue(server.isRegistered(name));
+            assertEquals(1L, server.getAttribute(name, "HitCount"));
+        } finally {
+            named.close();
+        }
+        assertFalse(server.isRegistered(name));
+    }
+
+    @Test
+    void givenTwoCachesWithSameName_whenRecordingStats_thenSecondRegistrationIsRejected() throws Exception {
+        LRUCache<Integer> first = new LRUCache<>(2);
+        LRUCache<Integer> second = new LRUCache<>(2);
+        first.recordStats("shared");
+        first.put(1);
+        first.get(1);
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = CacheStatsMBeans.objectName("shared");
+        try {
+            assertThrows(IllegalStateException.class, () -> second.recordStats("shared"));
+            second.close();
+
+            assertAll("A name collision must not steal or drop the existing registration",
+                    () -> assertTrue(server.isRegistered(name)),
+                    () -> assertEquals(1L, server.getAttribute(name, "HitCount"))
+            );
+        } finally {
+            first.close();
+        }
+        assertFalse(server.isRegistered(name));
+    }
+
+    @Test
+    void givenRegisteredView_whenReadingCounterAttributes_thenExpensiveSuppliersAreNotInvoked() throws Exception {
+        AtomicInteger counterReads = new AtomicInteger();
+        AtomicInteger curveReads = new AtomicInteger();
+        AtomicInteger hotKeyReads = new AtomicInteger();
+        ObjectName name = CacheStatsMBeans.register("counters-only",
+                () -> {
+                    counterReads.incrementAndGet();
+                    return CacheStats.empty();
+                },
+                () -> {
+                    curveReads.incrementAndGet();
+                    return new TreeMap<>();
+                },
+                () -> {
+                    hotKeyReads.incrementAndGet();
+                    return Map.of();
+                });
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            server.getAttribute(name, "HitCount");
+            server.getAttribute(name, "MissCount");
+            server.getAttribute(name, "HitRate");
+
+            assertAll("Counter attributes should not compute the miss-ratio curve or hot keys",
+                    () -> assertEquals(3, counterReads.get()),
+                    () -> assertEquals(0, curveReads.get()),
+                    () -> assertEquals(0, hotKeyReads.get())
+            );
+        } finally {
+            CacheStatsMBeans.unregister(name);
+        }
+    }
+}
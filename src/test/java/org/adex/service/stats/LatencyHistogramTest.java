@@ -0,0 +1,71 @@
+package org.adex.service.stats;
+
+import org.adex.service.LRUCache;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    void givenUniformValues_whenQueryingPercentiles_thenWithinOnePercent() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long i = 1; i <= 100_000; i++) {
+            histogram.record(i * 1_000);
+        }
+
+        assertAll("Percentiles should track the recorded distribution",
+                () -> assertEquals(100_000, histogram.count()),
+                () -> assertEquals(50_000_000, histogram.valueAtPercentile(50), 500_000),
+                () -> assertEquals(99_000_000, histogram.valueAtPercentile(99), 990_000),
+                () -> assertEquals(100_000_000, histogram.valueAtPercentile(100)),
+                () -> assertEquals(100_000_000, histogram.max())
+        );
+    }
+
+    @Test
+    void givenBucketBoundaries_whenIndexing_thenBucketsAreContiguous() {
+        int previous = LatencyHistogram.indexOf(0);
+        for (long value = 1; value < 1 << 20; value++) {
+            int index = LatencyHistogram.indexOf(value);
+            assertTrue(index == previous || index == previous + 1, "Gap at " + value);
+            assertTrue(LatencyHistogram.highestEquivalentValue(index) >= value);
+            previous = index;
+        }
+    }
+
+    @Test
+    void givenConcurrentWriters_whenRecording_thenNoSampleIsLost() throws InterruptedException {
+        LatencyHistogram histogram = new LatencyHistogram();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        IntStream.range(0, 4).forEach(t -> executor.execute(() ->
+                IntStream.range(0, 10_000).forEach(i -> histogram.record(i))));
+
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(40_000, histogram.count());
+    }
+
+    @Test
+    void givenLatencyRecording_whenOperating_thenEachOperationIsTracked() {
+        LRUCache<Integer> cache = new LRUCache<>(16);
+        cache.recordLatencies();
+
+        cache.put(1);
+        cache.put(List.of(2, 3), false);
+        cache.get(1);
+        cache.get(4);
+
+        LatencyStats latencies = cache.latencies();
+        assertEquals(1, latencies.histogram(LatencyStats.Operation.PUT).count());
+        assertEquals(1, latencies.histogram(LatencyStats.Operation.PUT_ALL).count());
+        assertEquals(2, latencies.histogram(LatencyStats.Operation.GET).count());
+    }
+}
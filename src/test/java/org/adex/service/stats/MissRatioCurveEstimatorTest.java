@@ -0,0 +1,64 @@
+package org.adex.service.stats;
+
+import org.adex.service.LRUCache;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MissRatioCurveEstimatorTest {
+
+    @Test
+    void givenCyclicTrace_whenEstimating_thenCurveStepsAtWorkingSetSize() {
+        MissRatioCurveEstimator estimator = new MissRatioCurveEstimator(4_000, 256);
+        for (int round = 0; round < 50; round++) {
+            for (int key = 0; key < 1_000; key++) {
+                estimator.record(key);
+            }
+        }
+
+        assertTrue(estimator.samplingRate() < 1.0, "Sampling rate should drop once the budget is full");
+        assertEquals(0.0, estimator.hitRatio(500), 0.03);
+        assertEquals(0.98, estimator.hitRatio(1_200), 0.03);
+    }
+
+    @Test
+    void givenSkewedTrace_whenEstimating_thenCloseToSimulatedLruHitRatio() {
+        int capacity = 500;
+        LRUCache<Integer> actual = new LRUCache<>(capacity, 0);
+        MissRatioCurveEstimator estimator = new MissRatioCurveEstimator(capacity * 4, 512);
+        Random random = new Random(42);
+
+        long hits = 0;
+        int requests = 200_000;
+        for (int i = 0; i < requests; i++) {
+            int key = (int) Math.floor(Math.pow(random.nextDouble(), 3) * 10_000);
+            estimator.record(key);
+            if (actual.get(key) != null) {
+                hits++;
+            } else {
+                actual.put(key);
+            }
+        }
+
+        assertEquals((double) hits / requests, estimator.hitRatio(capacity), 0.05);
+    }
+
+    @Test
+    void givenCacheWithEstimator_whenReadingStats_thenCurveIsExposed() {
+        LRUCache<Integer> cache = new LRUCache<>(100);
+        cache.withMissRatioCurve(128);
+        for (int round = 0; round < 5; round++) {
+            for (int key = 0; key < 50; key++) {
+                cache.get(key);
+            }
+        }
+
+        CacheStats stats = cache.stats();
+
+        assertEquals(5, stats.estimatedHitRatios().size());
+        assertEquals(0.8, stats.estimatedHitRatios().get(100), 0.01);
+        assertEquals(0.0, stats.estimatedHitRatios().get(25), 0.01);
+    }
+}
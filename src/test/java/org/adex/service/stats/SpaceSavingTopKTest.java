@@ -0,0 +1,64 @@
+package org.adex.service.stats;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpaceSavingTopKTest {
+
+    @Test
+    void givenSkewedStream_whenTracked_thenHeavyHittersAreReported() {
+        SpaceSavingTopK<Integer> topK = new SpaceSavingTopK<>(32, 0);
+        Random random = new Random(7);
+        for (int i = 0; i < 100_000; i++) {
+            int key = i % 4 == 0 ? i % 3 : 1_000 + random.nextInt(50_000);
+            topK.record(key, key, 1);
+        }
+
+        List<HotKey<Integer>> top = topK.top(3);
+
+        assertAll("The three hot keys should dominate the summary",
+                () -> assertEquals(3, top.size()),
+                () -> assertTrue(top.stream().allMatch(hot -> hot.value() < 3)),
+                () -> assertTrue(top.get(0).guaranteedCount() > 8_000),
+                () -> assertEquals(Set.of(0, 1, 2), topK.heavyHitters(3, 1_000)),
+                () -> assertEquals(100_000, topK.total())
+        );
+    }
+
+    @Test
+    void givenDecay_whenPopularityShifts_thenNewHotKeyOvertakesOldOne() {
+        SpaceSavingTopK<String> topK = new SpaceSavingTopK<>(8, 1_000);
+        for (int i = 0; i < 10_000; i++) {
+            topK.record("old".hashCode(), "old", 1);
+        }
+        for (int i = 0; i < 3_000; i++) {
+            topK.record("new".hashCode(), "new", 1);
+        }
+
+        assertAll("Halving counts periodically should let recent traffic win",
+                () -> assertEquals("new", topK.top(1).get(0).value()),
+                () -> assertTrue(topK.count("old".hashCode()) < topK.count("new".hashCode())),
+                () -> assertThrows(IllegalArgumentException.class, () -> topK.record(1, "x", 0))
+        );
+    }
+
+    @Test
+    void givenFullSummary_whenNewKeyArrives_thenMinimumIsReplacedWithError() {
+        SpaceSavingTopK<Integer> topK = new SpaceSavingTopK<>(2, 0);
+        topK.record(1, 1, 5);
+        topK.record(2, 2, 3);
+        topK.record(3, 3, 1);
+
+        assertAll("Space-Saving should inherit the evicted counter as error",
+                () -> assertEquals(0, topK.count(2)),
+                () -> assertEquals(4, topK.count(3)),
+                () -> assertEquals(1, topK.guaranteedCount(3)),
+                () -> assertEquals(5, topK.count(1))
+        );
+    }
+}
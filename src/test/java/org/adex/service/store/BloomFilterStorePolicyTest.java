@@ -0,0 +1,140 @@
+package org.adex.service.store;
+
+import org.adex.service.LRUCache;
+import org.adex.service.Node;
+import org.junit.jupiter.api.Test;
+
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterStorePolicyTest {
+
+    @Test
+    void givenUnknownKeys_whenLooked_thenDelegateIsNotConsulted() {
+        CountingStorePolicy<Integer> backing = new CountingStorePolicy<>();
+        try (BloomFilterStorePolicy<Integer> store = new BloomFilterStorePolicy<>(backing, 10_000, 0.01, 0, 0, 0)) {
+            IntStream.range(0, 1_000).forEach(i -> store.put(i, new Node<>(i)));
+
+            long misses = IntStream.range(1_000_000, 1_010_000).filter(i -> store.get(i) == null).count();
+
+            assertAll("Definitely absent keys should be answered by the filter",
+                    () -> assertEquals(10_000, misses),
+                    () -> assertTrue(backing.reads.get() < 300, "false positives: " + backing.reads.get()),
+                    () -> assertTrue(IntStream.range(0, 1_000).allMatch(i -> store.get(i) != null))
+            );
+        }
+    }
+
+    @Test
+    void givenRepeatedMiss_whenFilterMatches_thenNegativeCacheAnswersUntilPut() {
+        CountingStorePolicy<Integer> backing = new CountingStorePolicy<>();
+        try (BloomFilterStorePolicy<Integer> store = new BloomFilterStorePolicy<>(backing, 100, 0.01, 0, 64, 60_000)) {
+            store.put(7, new Node<>(7));
+            store.remove(7);
+
+            Node<Integer> first = store.get(7);
+            Node<Integer> second = store.get(7);
+            int readsBeforePut = backing.reads.get();
+            store.put(7, new Node<>(7));
+            Node<Integer> third = store.get(7);
+
+            assertAll("Repeated misses should hit the negative cache, and a put should invalidate it",
+                    () -> assertNull(first),
+                    () -> assertNull(second),
+                    () -> assertEquals(1, readsBeforePut),
+                    () -> assertEquals(1, store.negativeCacheHits()),
+                    () -> assertNotNull(third),
+                    () -> assertEquals(2, backing.reads.get())
+            );
+        }
+    }
+
+    @Test
+    void givenRemovedKeys_whenRebuilt_thenFilterForgetsThem() {
+        CountingStorePolicy<Integer> backing = new CountingStorePolicy<>();
+        try (BloomFilterStorePolicy<Integer> store = new BloomFilterStorePolicy<>(backing, 1_000, 0.01, 0, 0, 0)) {
+            IntStream.range(0, 1_000).forEach(i -> store.put(i, new Node<>(i)));
+            IntStream.range(0, 1_000).forEach(store::remove);
+            store.rebuild();
+            backing.reads.set(0);
+
+            IntStream.range(0, 1_000).forEach(store::get);
+
+            assertTrue(backing.reads.get() < 50, "false positives: " + backing.reads.get());
+        }
+    }
+
+    @Test
+    void givenPrepopulatedDelegate_whenWrapped_thenExistingKeysAreVisible() {
+        CountingStorePolicy<Integer> backing = new CountingStorePolicy<>();
+        IntStream.range(0, 100).forEach(i -> backing.put(i, new Node<>(i)));
+
+        try (BloomFilterStorePolicy<Integer> store = new BloomFilterStorePolicy<>(backing, 10)) {
+            assertAll("Construction should index keys already held by the delegate",
+                    () -> assertTrue(IntStream.range(0, 100).allMatch(i -> store.get(i) != null)),
+                    () -> assertThrows(IllegalArgumentException.class, () -> new BloomFilterStorePolicy<>(backing, 0))
+            );
+        }
+    }
+
+    @Test
+    void givenCacheBackedByFilter_whenMissing_thenCacheBehavesNormally() {
+        CountingStorePolicy<Integer> backing = new CountingStorePolicy<>();
+        try (BloomFilterStorePolicy<Integer> store = new BloomFilterStorePolicy<>(backing, 1_000)) {
+            LRUCache<Integer> cache = new LRUCache<>(100, 0);
+            cache.withStore(store);
+            IntStream.range(0, 150).forEach(cache::put);
+
+            assertAll("Evictions and lookups should work through the filter",
+                    () -> assertEquals(100, cache.size()),
+                    () -> assertNull(cache.get(0)),
+                    () -> assertEquals(149, cache.get(149)),
+                    () -> assertNull(cache.get(5_000))
+            );
+        }
+    }
+
+    @Test
+    void givenPutDuringRebuild_whenRebuilt_thenInsertionIsStillCounted() {
+        CountingStorePolicy<Integer> backing = new CountingStorePolicy<>();
+        try (BloomFilterStorePolicy<Integer> store = new BloomFilterStorePolicy<>(backing, 100, 0.01, 0, 0, 0)) {
+            IntStream.range(0, 10).forEach(i -> store.put(i, new Node<>(i)));
+            backing.onScan = () -> store.put(10, new Node<>(10));
+
+            store.rebuild();
+
+            assertAll("Only insertions covered by the rebuild should be cleared",
+                    () -> assertEquals(1, store.pendingInsertions()),
+                    () -> assertNotNull(store.get(10))
+            );
+        }
+    }
+
+    private static class CountingStorePolicy<T> extends InMemoryStorePolicy<T> {
+        private final AtomicInteger reads = new AtomicInteger();
+        private Runnable onScan;
+
+        CountingStorePolicy() {
+            super(16);
+        }
+
+        @Override
+        public Node<T> get(int key) {
+            reads.incrementAndGet();
+            return super.get(key);
+        }
+
+        @Override
+        public Spliterator<Node<T>> spliterator() {
+            Runnable action = onScan;
+            onScan = null;
+            if (action != null) {
+                action.run();
+            }
+            return super.spliterator();
+        }
+    }
+}
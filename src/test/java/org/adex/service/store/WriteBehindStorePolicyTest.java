@@ -0,0 +1,163 @@
+package org.adex.service.store;
+
+import org.adex.service.LRUCache;
+import org.adex.service.Node;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WriteBehindStorePolicyTest {
+    private static final int BATCH_SIZE = 4;
+    private static final long FLUSH_INTERVAL_MILLIS = 60_000;
+
+    private CountingStorePolicy<Integer> backing;
+    private WriteBehindStorePolicy<Integer> store;
+
+    @BeforeEach
+    void setUp() {
+        backing = new CountingStorePolicy<>();
+        store = new WriteBehindStorePolicy<>(new InMemoryStorePolicy<>(16), backing,
+                BATCH_SIZE, FLUSH_INTERVAL_MILLIS, 16);
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.close();
+    }
+
+    @Test
+    void givenRepeatedWritesToSameKey_whenFlushed_thenBackingStoreSeesOneWrite() {
+        store.put(1, new Node<>(1));
+        store.put(1, new Node<>(1));
+        store.put(1, new Node<>(1));
+
+        assertEquals(1, store.dirtySize());
+        store.flush();
+
+        assertAll("Writes should be coalesced",
+                () -> assertEquals(0, store.dirtySize()),
+                () -> assertEquals(1, backing.size()),
+                () -> assertEquals(1, backing.writes.get())
+        );
+    }
+
+    @Test
+    void givenFullBatch_whenWriting_thenFlushesInBackground() throws InterruptedException {
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            store.put(i, new Node<>(i));
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (backing.size() < BATCH_SIZE && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertEquals(BATCH_SIZE, backing.size());
+        assertEquals(1, backing.batches.get(), "Batch should be written in a single call");
+    }
+
+    @Test
+    void givenRemoval_whenFlushed_thenRemovedFromBackingStore() {
+        store.put(1, new Node<>(1));
+        store.flush();
+
+        store.remove(1);
+        store.flush();
+
+        assertTrue(backing.isEmpty());
+    }
+
+    @Test
+    void givenCacheEviction_whenFlushed_thenBackingStoreKeepsEntry() {
+        LRUCache<Integer> cache = new LRUCache<>(2);
+        cache.withStore(store);
+
+        cache.put(1);
+        cache.put(2);
+        cache.put(3);
+        store.flush();
+
+        assertAll("Evicted entries should still be written behind",
+                () -> assertEquals(2, cache.size()),
+                () -> assertEquals(3, backing.size()),
+                () -> assertNotNull(backing.get(1))
+        );
+    }
+
+    @Test
+    void givenFailingBackingStore_whenDirtyQueueIsFull_thenWritesAreRejectedBeforeMutating() {
+        InMemoryStorePolicy<Integer> failing = new InMemoryStorePolicy<>(16) {
+            @Override
+            public void putAll(Map<Integer, Node<Integer>> entries) {
+                throw new IllegalStateException("Backing store is down");
+            }
+        };
+        LRUCache<Integer> cache = new LRUCache<>(16);
+        WriteBehindStorePolicy<Integer> stalled = new WriteBehindStorePolicy<>(new InMemoryStorePolicy<>(16),
+                failing, BATCH_SIZE, 1, BATCH_SIZE, 5);
+        try {
+            cache.withStore(stalled);
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                cache.put(i);
+            }
+
+            long start = System.nanoTime();
+            IllegalStateException rejectedPut = assertThrows(IllegalStateException.class, () -> cache.put(BATCH_SIZE));
+            long elapsed = System.nanoTime() - start;
+            IllegalStateException rejectedRemove = assertThrows(IllegalStateException.class, () -> cache.remove(0));
+
+            assertAll("A stalled backing store should reject writes before they reach the cache",
+                    () -> assertTrue(elapsed < TimeUnit.SECONDS.toNanos(5)),
+                    () -> assertTrue(rejectedPut.getMessage().contains("queue is full")),
+                    () -> assertTrue(rejectedRemove.getMessage().contains("queue is full")),
+                    () -> assertNull(cache.get(BATCH_SIZE)),
+                    () -> assertEquals(Integer.valueOf(0), cache.get(0)),
+                    () -> assertEquals(BATCH_SIZE, cache.size()),
+                    () -> assertEquals(BATCH_SIZE, stalled.dirtySize()),
+                    () -> assertEquals(2, stalled.rejectedWrites()),
+                    () -> assertThrows(IllegalArgumentException.class, () -> new WriteBehindStorePolicy<>(
+                            new InMemoryStorePolicy<Integer>(16), failing, BATCH_SIZE, 1, BATCH_SIZE, -1))
+            );
+        } finally {
+            assertThrows(IllegalStateException.class, stalled::close);
+        }
+    }
+
+    private static class CountingStorePolicy<T> extends InMemoryStorePolicy<T> {
+        private final AtomicInteger writes = new AtomicInteger();
+        private final AtomicInteger batches = new AtomicInteger();
+
+        CountingStorePolicy() {
+            super(16);
+        }
+
+        @Override
+        public synchronized void put(int key, Node<T> value) {
+            writes.incrementAndGet();
+            super.put(key, value);
+        }
+
+        @Override
+        public synchronized void putAll(Map<Integer, Node<T>> entries) {
+            batches.incrementAndGet();
+            super.putAll(entries);
+        }
+
+        @Override
+        public synchronized void removeAll(Collection<Integer> keys) {
+            super.removeAll(keys);
+        }
+
+        @Override
+        public synchronized int size() {
+            return super.size();
+        }
+    }
+}
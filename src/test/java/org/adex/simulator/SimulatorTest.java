@@ -0,0 +1,97 @@
+package org.adex.simulator;
+
+import org.adex.service.eviction.EvictionPolicy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimulatorTest {
+    private Path trace;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        trace = Files.createTempFile("trace", ".txt");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(trace);
+    }
+
+    @Test
+    void givenArcTrace_whenRead_thenBlockRangesAreExpanded() throws IOException {
+        Files.writeString(trace, "10 3 0 1\n20 1 0 2\n");
+
+        assertEquals(List.of(10L, 11L, 12L, 20L), readAll(TraceFormat.ARC));
+    }
+
+    @Test
+    void givenCsvTraceWithHeader_whenRead_thenHeaderIsSkipped() throws IOException {
+        Files.writeString(trace, "key,size\n-5,100\n7,200\n7");
+
+        assertEquals(List.of(-5L, 7L, 7L), readAll(TraceFormat.CSV));
+    }
+
+    @Test
+    void givenWikipediaTrace_whenRead_thenSameUrlMapsToSameKey() throws IOException {
+        Files.writeString(trace, """
+                1 1190146243.326 http://en.wikipedia.org/wiki/Cache -
+                2 1190146243.327 http://en.wikipedia.org/wiki/Java -
+                3 1190146243.328 http://en.wikipedia.org/wiki/Cache -
+                """);
+
+        List<Long> keys = readAll(TraceFormat.WIKIPEDIA);
+        assertEquals(3, keys.size());
+        assertEquals(keys.get(0), keys.get(2));
+        assertNotEquals(keys.get(0), keys.get(1));
+    }
+
+    @Test
+    void givenLinesSpanningWindows_whenRead_thenNoLineIsSplit() throws IOException {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            content.append(i).append('\n');
+        }
+        Files.writeString(trace, content);
+
+        List<Long> keys = new ArrayList<>();
+        long requests = TraceReader.read(trace, TraceFormat.LIRS, keys::add, 64);
+
+        assertEquals(1000, requests);
+        assertEquals(999L, keys.get(999));
+    }
+
+    @Test
+    void givenLoopingTrace_whenSimulated_thenHitRatioDependsOnCapacity() throws IOException {
+        StringBuilder content = new StringBuilder();
+        for (int round = 0; round < 10; round++) {
+            for (int key = 0; key < 4; key++) {
+                content.append(key).append('\n');
+            }
+        }
+        Files.writeString(trace, content);
+        Simulator simulator = new Simulator(trace, TraceFormat.LIRS,
+                List.of(EvictionPolicy.PolicyType.LRU), List.of(3, 4));
+
+        List<SimulationResult> results = simulator.run(ForkJoinPool.commonPool());
+
+        assertEquals(0.0, results.get(0).hitRatio(), 1e-9);
+        assertEquals(36.0 / 40, results.get(1).hitRatio(), 1e-9);
+        assertEquals("capacity,LRU\n3,0.000000\n4,0.900000\n", Simulator.csv(results));
+    }
+
+    private List<Long> readAll(TraceFormat format) throws IOException {
+        List<Long> keys = new ArrayList<>();
+        TraceReader.read(trace, format, keys::add);
+        return keys;
+    }
+}